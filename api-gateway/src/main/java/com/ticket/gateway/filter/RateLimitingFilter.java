@@ -1,12 +1,16 @@
 package com.ticket.gateway.filter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -15,59 +19,195 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Token bucket rate limiting per client and route, shared by all gateway nodes
+ * through one atomic Lua script. Rates scale with the tenant's plan. Each node takes
+ * a small batch of tokens per Redis call and spends it locally for up to a second,
+ * so most requests do not wait for Redis.
+ */
 @Component
 public class RateLimitingFilter implements GlobalFilter, Ordered {
 
     private static final Logger logger = LoggerFactory.getLogger(RateLimitingFilter.class);
 
+    private static final String TENANT_KEY_PREFIX = "tenant:";
+    private static final Duration PLAN_CACHE_TTL = Duration.ofMinutes(1);
+    private static final Duration LOCAL_ALLOWANCE_TTL = Duration.ofSeconds(1);
+    // Both maps are keyed by request headers, so they are capped like the tenant registry's cache
+    static final int MAX_LOCAL_ALLOWANCES = 10_000;
+    static final int MAX_CACHED_PLANS = 1_000;
+
+    // Takes up to ARGV[3] tokens; returns {granted, tokens left, millis until the next token}
+    private static final String TOKEN_BUCKET_SCRIPT =
+        "local capacity = tonumber(ARGV[1]) " +
+        "local rate = tonumber(ARGV[2]) " +
+        "local requested = tonumber(ARGV[3]) " +
+        "local time = redis.call('TIME') " +
+        "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+        "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+        "local tokens = tonumber(bucket[1]) or capacity " +
+        "local ts = tonumber(bucket[2]) or now " +
+        "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000) " +
+        "local granted = math.min(requested, math.floor(tokens)) " +
+        "tokens = tokens - granted " +
+        "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now) " +
+        "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000) " +
+        "local wait = 0 " +
+        "if tokens < 1 then wait = math.ceil((1 - tokens) * 1000 / rate) end " +
+        "return {granted, math.floor(tokens), wait}";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>(TOKEN_BUCKET_SCRIPT, List.class);
+
     private final ReactiveStringRedisTemplate redisTemplate;
-    
-    // Rate limit configuration
-    private static final int DEFAULT_REQUESTS_PER_MINUTE = 60;
-    private static final int BOOKING_REQUESTS_PER_MINUTE = 20;
-    private static final Duration WINDOW_DURATION = Duration.ofMinutes(1);
+    private final ObjectMapper objectMapper;
+    private final Map<String, LocalAllowance> allowances = new ConcurrentHashMap<>();
+    private final Map<String, CachedPlan> plans = new ConcurrentHashMap<>();
+
+    @Value("${gateway.rate-limit.default-replenish-rate:10}")
+    private double defaultReplenishRate;
+
+    @Value("${gateway.rate-limit.default-burst-capacity:20}")
+    private int defaultBurstCapacity;
+
+    @Value("${gateway.rate-limit.booking-replenish-rate:1}")
+    private double bookingReplenishRate;
+
+    @Value("${gateway.rate-limit.booking-burst-capacity:5}")
+    private int bookingBurstCapacity;
+
+    @Value("${gateway.rate-limit.local-batch-fraction:0.1}")
+    private double localBatchFraction;
 
     @Autowired
-    public RateLimitingFilter(ReactiveStringRedisTemplate redisTemplate) {
+    public RateLimitingFilter(ReactiveStringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
         this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getPath().value();
-        
+
         // Get client identifier (prefer tenant + user, fallback to IP)
         String tenantId = request.getHeaders().getFirst("X-Tenant-Id");
         String userId = request.getHeaders().getFirst("X-User-Id");
         String clientIp = getClientIp(request);
-        
+
         String clientKey = buildClientKey(tenantId, userId, clientIp);
-        int limit = getLimit(path);
-        String rateLimitKey = String.format("rate_limit:%s:%s", path.split("/")[2], clientKey);
-
-        return checkRateLimit(rateLimitKey, limit)
-            .flatMap(allowed -> {
-                if (!allowed) {
-                    logger.warn("Rate limit exceeded for client: {} on path: {}", clientKey, path);
-                    return rateLimitExceededResponse(exchange);
-                }
-                return chain.filter(exchange);
-            });
+        String rateLimitKey = String.format("rate_limit:%s:%s", routeOf(path), clientKey);
+
+        return resolveWeight(tenantId)
+            .map(weight -> getLimit(path, weight))
+            .flatMap(limit -> checkRateLimit(rateLimitKey, limit)
+                .flatMap(decision -> {
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.getHeaders().set("X-RateLimit-Limit", String.valueOf(limit.capacity()));
+                    response.getHeaders().set("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+                    if (!decision.allowed()) {
+                        logger.warn("Rate limit exceeded for client: {} on path: {}", clientKey, path);
+                        return rateLimitExceededResponse(exchange, decision.retryAfterMillis());
+                    }
+                    return chain.filter(exchange);
+                }));
     }
 
-    private Mono<Boolean> checkRateLimit(String key, int limit) {
-        return redisTemplate.opsForValue().increment(key)
-            .flatMap(count -> {
-                if (count == 1L) {
-                    // First request - set expiration
-                    return redisTemplate.expire(key, WINDOW_DURATION)
-                        .thenReturn(true);
+    private Mono<Decision> checkRateLimit(String key, Limit limit) {
+        LocalAllowance allowance = allowances.get(key);
+        if (allowance != null) {
+            Decision local = allowance.take();
+            if (local != null) {
+                return Mono.just(local);
+            }
+        }
+
+        int batch = Math.max(1, (int) (limit.capacity() * localBatchFraction));
+        List<String> args = List.of(
+            String.valueOf(limit.capacity()),
+            String.valueOf(limit.replenishRate()),
+            String.valueOf(batch));
+        return redisTemplate.execute(TOKEN_BUCKET, List.of(key), args)
+            .reduce(new ArrayList<Long>(), (values, result) -> {
+                // The driver may emit the reply as one list or element by element
+                Object reply = result;
+                if (reply instanceof List<?> list) {
+                    list.forEach(value -> values.add((Long) value));
+                } else {
+                    values.add((Long) reply);
                 }
-                return Mono.just(count <= limit);
+                return values;
             })
-            .onErrorReturn(true); // Allow on Redis failure
+            .map(result -> {
+                long granted = result.get(0);
+                long remaining = result.get(1);
+                long retryAfterMillis = result.get(2);
+                if (granted == 0) {
+                    return new Decision(false, 0, retryAfterMillis);
+                }
+                if (granted > 1) {
+                    makeRoom(allowances, key, MAX_LOCAL_ALLOWANCES);
+                    allowances.put(key, new LocalAllowance((int) granted - 1, remaining,
+                        System.nanoTime() + LOCAL_ALLOWANCE_TTL.toNanos()));
+                } else {
+                    allowances.remove(key);
+                }
+                return new Decision(true, remaining + granted - 1, 0);
+            })
+            .onErrorResume(e -> {
+                logger.warn("Rate limiter unavailable, allowing request: {}", e.getMessage());
+                return Mono.just(new Decision(true, limit.capacity(), 0));
+            });
+    }
+
+    // Plan weight from the tenant registry entry, cached briefly so it is not a Redis hop per request
+    private Mono<Integer> resolveWeight(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return Mono.just(1);
+        }
+        CachedPlan cached = plans.get(tenantId);
+        if (cached != null && !cached.isExpired()) {
+            return Mono.just(cached.weight());
+        }
+        return redisTemplate.opsForValue().get(TENANT_KEY_PREFIX + tenantId)
+            .switchIfEmpty(redisTemplate.opsForValue().get(TENANT_KEY_PREFIX + "schema:" + tenantId))
+            .map(this::planWeight)
+            .defaultIfEmpty(1)
+            .onErrorReturn(1)
+            .doOnNext(weight -> {
+                makeRoom(plans, tenantId, MAX_CACHED_PLANS);
+                plans.put(tenantId, new CachedPlan(weight, System.nanoTime() + PLAN_CACHE_TTL.toNanos()));
+            });
+    }
+
+    // Called before inserting a new key: drops expired entries, and everything if that is not enough.
+    // Only floods of unknown tenants or clients fill a map; real ones reload on their next request
+    private static <V extends Expiring> void makeRoom(Map<String, V> cache, String key, int maxSize) {
+        if (cache.size() < maxSize || cache.containsKey(key)) {
+            return;
+        }
+        cache.values().removeIf(Expiring::isExpired);
+        if (cache.size() >= maxSize) {
+            cache.clear();
+        }
+    }
+
+    private int planWeight(String tenantJson) {
+        try {
+            JsonNode plan = objectMapper.readTree(tenantJson).path("plan");
+            return switch (plan.asText("").toUpperCase()) {
+                case "ENTERPRISE" -> 4;
+                case "PROFESSIONAL" -> 2;
+                default -> 1;
+            };
+        } catch (Exception e) {
+            return 1;
+        }
     }
 
     private String buildClientKey(String tenantId, String userId, String clientIp) {
@@ -84,24 +224,30 @@ public class RateLimitingFilter implements GlobalFilter, Ordered {
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
             return xForwardedFor.split(",")[0].trim();
         }
-        return request.getRemoteAddress() != null 
-            ? request.getRemoteAddress().getAddress().getHostAddress() 
+        return request.getRemoteAddress() != null
+            ? request.getRemoteAddress().getAddress().getHostAddress()
             : "unknown";
     }
 
-    private int getLimit(String path) {
+    private String routeOf(String path) {
+        String[] segments = path.split("/");
+        return segments.length > 2 ? segments[2] : "root";
+    }
+
+    private Limit getLimit(String path, int weight) {
         if (path.startsWith("/api/bookings")) {
-            return BOOKING_REQUESTS_PER_MINUTE; // Stricter limit for bookings
+            // Stricter limit for bookings
+            return new Limit(bookingBurstCapacity * weight, bookingReplenishRate * weight);
         }
-        return DEFAULT_REQUESTS_PER_MINUTE;
+        return new Limit(defaultBurstCapacity * weight, defaultReplenishRate * weight);
     }
 
-    private Mono<Void> rateLimitExceededResponse(ServerWebExchange exchange) {
+    private Mono<Void> rateLimitExceededResponse(ServerWebExchange exchange, long retryAfterMillis) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
         response.getHeaders().add("Content-Type", "application/json");
-        response.getHeaders().add("Retry-After", "60");
-        
+        response.getHeaders().set("Retry-After", String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)));
+
         String body = "{\"error\":\"Rate limit exceeded\",\"message\":\"Too many requests. Please try again later.\"}";
         return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes())));
     }
@@ -110,4 +256,48 @@ public class RateLimitingFilter implements GlobalFilter, Ordered {
     public int getOrder() {
         return -50; // Execute after authentication
     }
+
+    private record Limit(int capacity, double replenishRate) {
+    }
+
+    private record Decision(boolean allowed, long remaining, long retryAfterMillis) {
+    }
+
+    private interface Expiring {
+        boolean isExpired();
+    }
+
+    private record CachedPlan(int weight, long expiresAt) implements Expiring {
+
+        @Override
+        public boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+
+    // Tokens this node already took from the shared bucket
+    private static final class LocalAllowance implements Expiring {
+        private final long expiresAt;
+        private final long bucketRemaining;
+        private int tokens;
+
+        private LocalAllowance(int tokens, long bucketRemaining, long expiresAt) {
+            this.tokens = tokens;
+            this.bucketRemaining = bucketRemaining;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+
+        synchronized Decision take() {
+            if (tokens == 0 || isExpired()) {
+                return null;
+            }
+            tokens--;
+            return new Decision(true, bucketRemaining + tokens, 0);
+        }
+    }
 }
@@ -0,0 +1,178 @@
+package com.ticket.gateway.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Rate Limiting Filter Unit Tests")
+class RateLimitingFilterTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    @Mock
+    private GatewayFilterChain chain;
+
+    private RateLimitingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitingFilter(redisTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "defaultReplenishRate", 10.0);
+        ReflectionTestUtils.setField(filter, "defaultBurstCapacity", 20);
+        ReflectionTestUtils.setField(filter, "bookingReplenishRate", 1.0);
+        ReflectionTestUtils.setField(filter, "bookingBurstCapacity", 5);
+        ReflectionTestUtils.setField(filter, "localBatchFraction", 0.1);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.get(anyString())).thenReturn(Mono.empty());
+        lenient().when(chain.filter(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("Should spend a granted batch locally before asking Redis again")
+    void shouldSpendGrantedBatchLocally() {
+        bucketReplies(Flux.just(List.of(2L, 10L, 0L)));
+
+        MockServerWebExchange first = exchange("/api/events/1", null);
+        MockServerWebExchange second = exchange("/api/events/1", null);
+        MockServerWebExchange third = exchange("/api/events/1", null);
+        filter.filter(first, chain).block();
+        filter.filter(second, chain).block();
+        filter.filter(third, chain).block();
+
+        assertThat(first.getResponse().getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("11");
+        assertThat(second.getResponse().getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("10");
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+        verify(chain, times(3)).filter(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty bucket with 429 and Retry-After rounded up to seconds")
+    void shouldRejectEmptyBucket() {
+        bucketReplies(Flux.just(List.of(0L, 0L, 1500L)));
+
+        MockServerWebExchange exchange = exchange("/api/events/1", null);
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("2");
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    @DisplayName("Should scale capacity and refill rate with the tenant plan and cache the lookup")
+    @SuppressWarnings("unchecked")
+    void shouldScaleLimitsWithPlan() {
+        when(valueOperations.get("tenant:acme")).thenReturn(Mono.just("{\"plan\":\"ENTERPRISE\"}"));
+        bucketReplies(Flux.just(List.of(1L, 19L, 0L)));
+
+        MockServerWebExchange exchange = exchange("/api/bookings", "acme");
+        filter.filter(exchange, chain).block();
+        filter.filter(exchange("/api/bookings", "acme"), chain).block();
+
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), args.capture());
+        // Booking limits of 5 tokens and 1 per second, times 4 for ENTERPRISE, taken 2 at a time
+        assertThat(args.getValue()).containsExactly("20", "4.0", "2");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-RateLimit-Limit")).isEqualTo("20");
+        verify(valueOperations, times(1)).get("tenant:acme");
+    }
+
+    @Test
+    @DisplayName("Should find the plan under the schema key")
+    @SuppressWarnings("unchecked")
+    void shouldFallBackToSchemaKey() {
+        when(valueOperations.get("tenant:schema:tenant_acme")).thenReturn(Mono.just("{\"plan\":\"PROFESSIONAL\"}"));
+        bucketReplies(Flux.just(List.of(1L, 39L, 0L)));
+
+        filter.filter(exchange("/api/events/1", "tenant_acme"), chain).block();
+
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), args.capture());
+        assertThat(args.getValue()).containsExactly("40", "20.0", "4");
+    }
+
+    @Test
+    @DisplayName("Should let requests through while Redis is unavailable")
+    void shouldFailOpen() {
+        bucketReplies(Flux.error(new RuntimeException("Connection refused")));
+
+        MockServerWebExchange exchange = exchange("/api/events/1", null);
+        filter.filter(exchange, chain).block();
+
+        verify(chain).filter(exchange);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("20");
+    }
+
+    @Test
+    @DisplayName("Should keep the plan cache bounded when unknown tenant ids flood in")
+    void shouldBoundPlanCache() {
+        bucketReplies(Flux.just(List.of(1L, 0L, 0L)));
+
+        filter.filter(exchange("/api/events/1", "acme"), chain).block();
+        for (int i = 0; i < RateLimitingFilter.MAX_CACHED_PLANS; i++) {
+            filter.filter(exchange("/api/events/1", "unknown-" + i), chain).block();
+        }
+        filter.filter(exchange("/api/events/1", "acme"), chain).block();
+
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(filter, "plans"))
+            .hasSizeLessThanOrEqualTo(RateLimitingFilter.MAX_CACHED_PLANS);
+        // The flood cleared the cache, so acme was looked up again
+        verify(valueOperations, times(2)).get("tenant:acme");
+    }
+
+    @Test
+    @DisplayName("Should never hold more local allowances than the cap")
+    void shouldBoundLocalAllowances() {
+        bucketReplies(Flux.just(List.of(2L, 10L, 0L)));
+
+        for (int i = 0; i <= RateLimitingFilter.MAX_LOCAL_ALLOWANCES; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/events/1").header("X-Forwarded-For", "10.0." + (i / 256) + "." + (i % 256)));
+            filter.filter(exchange, chain).block();
+        }
+
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(filter, "allowances"))
+            .hasSizeLessThanOrEqualTo(RateLimitingFilter.MAX_LOCAL_ALLOWANCES);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void bucketReplies(Flux reply) {
+        doReturn(reply).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    private static MockServerWebExchange exchange(String path, String tenantId) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path)
+                .header("X-User-Id", "7");
+        if (tenantId != null) {
+            request.header("X-Tenant-Id", tenantId);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
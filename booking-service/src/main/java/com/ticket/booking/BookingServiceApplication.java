@@ -2,6 +2,7 @@ package com.ticket.booking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
@@ -14,6 +15,7 @@ import java.util.TimeZone;
 @EnableFeignClients
 @EnableScheduling
 @ComponentScan(basePackages = {"com.ticket.booking", "com.ticket.common"})
+@EntityScan(basePackages = {"com.ticket.booking", "com.ticket.common.entity"})
 public class BookingServiceApplication {
     static {
         TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
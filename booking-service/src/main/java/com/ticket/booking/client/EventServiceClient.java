@@ -1,5 +1,7 @@
 package com.ticket.booking.client;
 
+import com.ticket.booking.dto.BookingContextData;
+import com.ticket.booking.dto.BulkSeatBookingResult;
 import com.ticket.booking.dto.EventData;
 import com.ticket.booking.dto.SeatData;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -17,12 +19,21 @@ public interface EventServiceClient {
     @GetMapping("/{eventId}/seats")
     List<SeatData> getSeats(@PathVariable("eventId") Long eventId);
 
+    @PostMapping("/booking-context")
+    BookingContextData getBookingContext(@RequestBody Map<String, Object> request);
+
     @PostMapping("/seats/book")
     void bookSeats(@RequestBody Map<String, Object> request);
 
+    @PostMapping("/seats/book/bulk")
+    BulkSeatBookingResult bookSeatsBulk(@RequestBody Map<String, Object> request);
+
     @PostMapping("/seats/release")
     void releaseSeats(@RequestBody Map<String, Object> request);
 
+    @PostMapping("/seats/release/bulk")
+    void releaseSeatsBulk(@RequestBody Map<String, Object> request);
+
     @PostMapping("/seats/lock/validate")
     Map<String, Boolean> validateLock(@RequestBody Map<String, Object> request);
 
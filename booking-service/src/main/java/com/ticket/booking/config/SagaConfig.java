@@ -0,0 +1,26 @@
+package com.ticket.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class SagaConfig {
+
+    // Releases compensated seats once a saga page has committed and given back its connection
+    @Bean(name = "sagaReleaseExecutor")
+    public Executor sagaReleaseExecutor(
+            @Value("${saga.orchestrator.release-threads:2}") int threads,
+            @Value("${saga.orchestrator.release-queue:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("saga-release-");
+        executor.initialize();
+        return executor;
+    }
+}
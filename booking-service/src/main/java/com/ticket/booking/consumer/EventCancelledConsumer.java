@@ -0,0 +1,35 @@
+package com.ticket.booking.consumer;
+
+import com.ticket.booking.service.RefundEngine;
+import com.ticket.common.event.EventCancelledEvent;
+import com.ticket.common.kafka.KafkaTopics;
+import com.ticket.common.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EventCancelledConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventCancelledConsumer.class);
+
+    private final RefundEngine refundEngine;
+
+    public EventCancelledConsumer(RefundEngine refundEngine) {
+        this.refundEngine = refundEngine;
+    }
+
+    // Only records the job; RefundEngine works through the bookings in the background
+    @KafkaListener(topics = KafkaTopics.EVENT_CANCELLED, groupId = "booking-service-group")
+    public void handleEventCancelled(EventCancelledEvent event) {
+        logger.info("Received EventCancelled event for event {}", event.getEventEntityId());
+
+        TenantContext.setCurrentTenant(event.getTenantId());
+        try {
+            refundEngine.start(event);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ticket.booking.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the booking context from Event Service: lock validity, event and the requested seats
+ */
+public record BookingContextData(
+    boolean lockValid,
+    EventData event,
+    List<SeatData> seats
+) {}
@@ -0,0 +1,10 @@
+package com.ticket.booking.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a bulk seat booking result from Event Service: bookings whose seats were not all bookable
+ */
+public record BulkSeatBookingResult(
+    List<Long> rejectedBookingIds
+) {}
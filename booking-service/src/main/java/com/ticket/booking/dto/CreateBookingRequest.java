@@ -10,9 +10,13 @@ public record CreateBookingRequest(
     @NotBlank(message = "Lock ID is required")
     String lockId,
 
-    @NotEmpty(message = "At least one seat must be selected")
     @Size(max = 10, message = "Cannot book more than 10 seats at once")
     List<Long> seatIds,
 
+    // General-admission bookings give the held quantity instead of seat IDs
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 10, message = "Cannot book more than 10 tickets at once")
+    Integer quantity,
+
     String promoCode
 ) {}
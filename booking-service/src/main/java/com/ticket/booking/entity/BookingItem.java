@@ -16,7 +16,8 @@ public class BookingItem extends BaseEntity {
     @JoinColumn(name = "booking_id", nullable = false)
     private Booking booking;
 
-    @Column(name = "seat_id", nullable = false)
+    // Null for general-admission tickets, which have no seat
+    @Column(name = "seat_id")
     private Long seatId;
 
     @Column(name = "seat_section")
@@ -135,6 +136,9 @@ public class BookingItem extends BaseEntity {
     }
 
     public String getSeatIdentifier() {
+        if (seatId == null) {
+            return seatSection;
+        }
         return String.format("%s-%s-%s", seatSection, seatRow, seatNumber);
     }
 }
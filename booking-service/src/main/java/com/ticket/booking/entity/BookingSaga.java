@@ -7,7 +7,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "saga_state", indexes = {
     @Index(name = "idx_saga_booking", columnList = "booking_id"),
-    @Index(name = "idx_saga_status", columnList = "status")
+    @Index(name = "idx_saga_status_expires", columnList = "status, expires_at")
 })
 public class BookingSaga extends BaseEntity {
 
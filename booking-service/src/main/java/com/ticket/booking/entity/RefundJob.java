@@ -0,0 +1,115 @@
+package com.ticket.booking.entity;
+
+import com.ticket.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of cancelling and refunding the bookings of one cancelled event.
+ * lastBookingId is the checkpoint: bookings up to it have been handled.
+ */
+@Entity
+@Table(name = "refund_jobs")
+public class RefundJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private Long eventId;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "refunds_required", nullable = false)
+    private Boolean refundsRequired = true;
+
+    @Column(name = "last_booking_id", nullable = false)
+    private Long lastBookingId = 0L;
+
+    @Column(name = "cancelled_bookings", nullable = false)
+    private Integer cancelledBookings = 0;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public RefundJob() {}
+
+    public RefundJob(Long eventId, String reason, Boolean refundsRequired) {
+        this.eventId = eventId;
+        this.reason = reason;
+        this.refundsRequired = refundsRequired;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Boolean getRefundsRequired() {
+        return refundsRequired;
+    }
+
+    public void setRefundsRequired(Boolean refundsRequired) {
+        this.refundsRequired = refundsRequired;
+    }
+
+    public Long getLastBookingId() {
+        return lastBookingId;
+    }
+
+    public void setLastBookingId(Long lastBookingId) {
+        this.lastBookingId = lastBookingId;
+    }
+
+    public Integer getCancelledBookings() {
+        return cancelledBookings;
+    }
+
+    public void setCancelledBookings(Integer cancelledBookings) {
+        this.cancelledBookings = cancelledBookings;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    // Business methods
+    public void recordPage(Long lastBookingId, int cancelled) {
+        this.lastBookingId = lastBookingId;
+        this.cancelledBookings += cancelled;
+    }
+
+    public void complete() {
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,18 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.id = :id")
     Optional<Booking> findByIdWithLock(@Param("id") Long id);
 
+    // Locks in id order so concurrent batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
+    // Bookings a payment consumer is working on are left for a later pass
+    @Query(value = "SELECT * FROM bookings WHERE id IN (:ids) ORDER BY id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Booking> findAllByIdSkipLocked(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT b FROM Booking b WHERE b.confirmationNumber = :confirmationNumber")
     Optional<Booking> findByConfirmationNumberWithLock(@Param("confirmationNumber") String confirmationNumber);
@@ -38,11 +51,15 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.eventId = :eventId")
     Page<Booking> findByEventId(@Param("eventId") Long eventId, Pageable pageable);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.eventId = :eventId AND b.status = 'CONFIRMED' AND b.id > :afterId ORDER BY b.id")
+    List<Booking> findConfirmedForEventWithLock(@Param("eventId") Long eventId, @Param("afterId") Long afterId, Pageable pageable);
+
     @Query("SELECT b FROM Booking b WHERE b.eventId = :eventId AND b.status = :status")
     List<Booking> findByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") BookingStatus status);
 
-    @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' AND b.expiresAt < :now")
-    List<Booking> findExpiredBookings(@Param("now") LocalDateTime now);
+    @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' AND b.expiresAt < :now AND b.id > :afterId ORDER BY b.id")
+    List<Booking> findExpiredBookings(@Param("now") LocalDateTime now, @Param("afterId") Long afterId, Pageable pageable);
 
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.userId = :userId AND b.eventId = :eventId AND b.status IN ('PENDING', 'CONFIRMED')")
     long countActiveBookingsByUserAndEvent(@Param("userId") Long userId, @Param("eventId") Long eventId);
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,14 +23,21 @@ public interface BookingSagaRepository extends JpaRepository<BookingSaga, Long>
     @Query("SELECT s FROM BookingSaga s WHERE s.bookingId = :bookingId")
     Optional<BookingSaga> findByBookingIdWithLock(@Param("bookingId") Long bookingId);
 
-    List<BookingSaga> findByStatus(SagaStatus status);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookingSaga s WHERE s.bookingId IN :bookingIds ORDER BY s.bookingId")
+    List<BookingSaga> findAllByBookingIdWithLock(@Param("bookingIds") Collection<Long> bookingIds);
 
-    @Query("SELECT s FROM BookingSaga s WHERE s.status = 'STARTED' AND s.expiresAt < :now")
-    List<BookingSaga> findExpiredSagas(@Param("now") LocalDateTime now);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookingSaga s WHERE s.id IN :ids ORDER BY s.id")
+    List<BookingSaga> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT s FROM BookingSaga s WHERE s.status IN ('STARTED', 'IN_PROGRESS') AND s.retryCount < :maxRetries")
-    List<BookingSaga> findSagasForRetry(@Param("maxRetries") int maxRetries);
+    List<BookingSaga> findByStatus(SagaStatus status);
 
-    @Query("SELECT s FROM BookingSaga s WHERE s.status = 'COMPENSATING'")
-    List<BookingSaga> findCompensatingSagas();
+    // Served by idx_saga_status_expires; rows another replica holds are skipped, not waited on
+    @Query(value = "SELECT * FROM saga_state WHERE status IN ('STARTED', 'IN_PROGRESS', 'COMPENSATING') " +
+                   "AND expires_at <= :now AND id > :afterId ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<BookingSaga> lockDueSagas(@Param("now") LocalDateTime now,
+                                   @Param("afterId") long afterId,
+                                   @Param("limit") int limit);
 }
@@ -0,0 +1,29 @@
+package com.ticket.booking.repository;
+
+import com.ticket.booking.entity.RefundJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RefundJobRepository extends JpaRepository<RefundJob, Long> {
+
+    // Redelivered cancellations find the job already there
+    @Modifying
+    @Query(value = "INSERT INTO refund_jobs (event_id, reason, refunds_required, last_booking_id, cancelled_bookings, " +
+                   "created_at, updated_at) VALUES (:eventId, :reason, :refundsRequired, 0, 0, now(), now()) " +
+                   "ON CONFLICT (event_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId,
+                       @Param("reason") String reason,
+                       @Param("refundsRequired") boolean refundsRequired);
+
+    @Query(value = "SELECT * FROM refund_jobs WHERE completed_at IS NULL AND id > :afterId " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<RefundJob> lockRunnableJobs(@Param("afterId") long afterId, @Param("limit") int limit);
+}
@@ -0,0 +1,237 @@
+package com.ticket.booking.service;
+
+import com.ticket.booking.client.EventServiceClient;
+import com.ticket.booking.entity.Booking;
+import com.ticket.booking.entity.BookingSaga;
+import com.ticket.booking.entity.SagaStatus;
+import com.ticket.booking.repository.BookingRepository;
+import com.ticket.booking.repository.BookingSagaRepository;
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drives booking sagas whose deadline has passed. A saga's expires_at is its next
+ * deadline: the payment timeout while in progress, the next retry while compensating.
+ * Due sagas are claimed with FOR UPDATE SKIP LOCKED, so every replica can work on
+ * every tenant at once. Each page releases its seats with one bulk call, handed to the
+ * release executor once the page has committed, so neither the claimed rows nor the
+ * page's connection are held across the network call; until the outcome is recorded
+ * the sagas stay COMPENSATING with a retry deadline.
+ */
+@Service
+public class BookingSagaOrchestrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSagaOrchestrator.class);
+
+    private final BookingSagaRepository sagaRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final EventServiceClient eventServiceClient;
+    private final TenantSweeper tenantSweeper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate recordTemplate;
+    private final Executor releaseExecutor;
+
+    @Value("${saga.orchestrator.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${saga.orchestrator.retry-backoff-seconds:5}")
+    private long retryBackoffSeconds;
+
+    public BookingSagaOrchestrator(BookingSagaRepository sagaRepository,
+                                   BookingRepository bookingRepository,
+                                   BookingService bookingService,
+                                   EventServiceClient eventServiceClient,
+                                   TenantSweeper tenantSweeper,
+                                   MeterRegistry meterRegistry,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("sagaReleaseExecutor") Executor releaseExecutor) {
+        this.sagaRepository = sagaRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.eventServiceClient = eventServiceClient;
+        this.tenantSweeper = tenantSweeper;
+        this.meterRegistry = meterRegistry;
+        this.recordTemplate = new TransactionTemplate(transactionManager);
+        this.releaseExecutor = releaseExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${saga.orchestrator.interval-ms:1000}")
+    public void advanceDueSagas() {
+        tenantSweeper.sweepConcurrently("saga-orchestrator", this::advanceDueSagas);
+    }
+
+    // One page; TenantSweeper sets the tenant and wraps it in a transaction
+    SweepPage advanceDueSagas(long afterId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingSaga> due = sagaRepository.lockDueSagas(now, afterId, limit);
+        if (due.isEmpty()) {
+            return SweepPage.of(due, BookingSaga::getId);
+        }
+
+        Map<Long, Booking> bookings = bookingRepository
+                .findAllByIdSkipLocked(due.stream().map(BookingSaga::getBookingId).toList()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Set<Long> missing = missingBookings(due, bookings);
+
+        List<BookingSaga> toRelease = new ArrayList<>();
+        for (BookingSaga saga : due) {
+            Booking booking = bookings.get(saga.getBookingId());
+            if (booking == null) {
+                if (missing.contains(saga.getBookingId())) {
+                    saga.fail("Booking " + saga.getBookingId() + " not found");
+                    record("failed");
+                }
+                // Otherwise held by a payment consumer right now; the saga stays due for the next pass
+                continue;
+            }
+
+            switch (booking.getStatus()) {
+                case CONFIRMED -> {
+                    saga.complete();
+                    record("completed");
+                }
+                case PENDING, PAYMENT_PROCESSING -> {
+                    if (booking.getExpiresAt() != null && booking.getExpiresAt().isAfter(now)) {
+                        saga.setExpiresAt(booking.getExpiresAt());
+                        continue;
+                    }
+                    bookingService.expireBooking(booking);
+                    saga.compensate();
+                    toRelease.add(saga);
+                }
+                default -> {
+                    if (saga.getStatus() == SagaStatus.COMPENSATING) {
+                        toRelease.add(saga);
+                    } else {
+                        // Failed, cancelled or expired elsewhere, which already released the seats
+                        saga.compensated();
+                        record("compensated");
+                    }
+                }
+            }
+        }
+
+        // Due again after the backoff if the release below never gets recorded
+        toRelease.forEach(saga -> saga.setExpiresAt(now.plusSeconds(retryBackoffSeconds * (saga.getRetryCount() + 1))));
+        sagaRepository.saveAll(due);
+        releaseSeatsAfterCommit(toRelease);
+        return SweepPage.of(due, BookingSaga::getId);
+    }
+
+    // Bookings that were not returned because they do not exist, rather than because they are locked
+    private Set<Long> missingBookings(List<BookingSaga> due, Map<Long, Booking> bookings) {
+        List<Long> unresolved = due.stream()
+                .map(BookingSaga::getBookingId)
+                .filter(bookingId -> !bookings.containsKey(bookingId))
+                .toList();
+        if (unresolved.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> missing = new HashSet<>(unresolved);
+        bookingRepository.findExistingIds(unresolved).forEach(missing::remove);
+        return missing;
+    }
+
+    private void releaseSeatsAfterCommit(List<BookingSaga> sagas) {
+        if (sagas.isEmpty()) {
+            return;
+        }
+        String tenantId = TenantContext.getTenantId();
+        List<Long> sagaIds = sagas.stream().map(BookingSaga::getId).toList();
+        List<Long> bookingIds = sagas.stream().map(BookingSaga::getBookingId).toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    releaseExecutor.execute(() -> releaseSeats(tenantId, sagaIds, bookingIds));
+                } catch (RejectedExecutionException e) {
+                    logger.warn("Release queue is full, {} sagas retry after their backoff", sagaIds.size());
+                }
+            }
+        });
+    }
+
+    void releaseSeats(String tenantId, List<Long> sagaIds, List<Long> bookingIds) {
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            releaseSeats(sagaIds, bookingIds);
+        } catch (Exception e) {
+            logger.error("Failed to record seat release for {} sagas: {}", sagaIds.size(), e.getMessage(), e);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void releaseSeats(List<Long> sagaIds, List<Long> bookingIds) {
+        Exception failure = null;
+        try {
+            eventServiceClient.releaseSeatsBulk(Map.of("bookingIds", bookingIds));
+        } catch (Exception e) {
+            logger.warn("Failed to release seats for {} sagas, will retry: {}", sagaIds.size(), e.getMessage());
+            failure = e;
+        }
+        Exception outcome = failure;
+        recordTemplate.executeWithoutResult(status -> recordRelease(sagaIds, outcome));
+    }
+
+    private void recordRelease(List<Long> sagaIds, Exception failure) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingSaga> sagas = sagaRepository.findAllByIdWithLock(sagaIds).stream()
+                .filter(saga -> saga.getStatus() == SagaStatus.COMPENSATING)
+                .toList();
+        for (BookingSaga saga : sagas) {
+            if (failure == null) {
+                saga.compensated();
+                continue;
+            }
+            saga.incrementRetry();
+            if (saga.getRetryCount() >= maxRetries) {
+                saga.fail("Seat release failed after " + saga.getRetryCount() + " attempts: " + failure.getMessage());
+                record("failed");
+            } else {
+                saga.setLastError(failure.getMessage());
+                saga.setExpiresAt(now.plusSeconds(retryBackoffSeconds * saga.getRetryCount()));
+            }
+        }
+        if (failure == null) {
+            record("compensated", sagas.size());
+        }
+        sagaRepository.saveAll(sagas);
+    }
+
+    private void record(String outcome) {
+        record(outcome, 1);
+    }
+
+    private void record(String outcome, int count) {
+        meterRegistry.counter("booking.saga.advanced", "outcome", outcome).increment(count);
+    }
+}
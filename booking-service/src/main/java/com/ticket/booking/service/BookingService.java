@@ -8,25 +8,35 @@ import com.ticket.booking.repository.BookingSagaRepository;
 import com.ticket.common.event.BookingRequestedEvent;
 import com.ticket.common.event.BookingConfirmedEvent;
 import com.ticket.common.event.BookingCancelledEvent;
+import com.ticket.common.event.PaymentCompletedEvent;
+import com.ticket.common.event.PaymentFailedEvent;
 import com.ticket.common.exception.BusinessException;
 import com.ticket.common.exception.ResourceNotFoundException;
-import com.ticket.common.kafka.EventPublisher;
+import com.ticket.common.kafka.OutboxPublisher;
 import com.ticket.common.kafka.KafkaTopics;
+import com.ticket.common.tenant.SweepPage;
 import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
@@ -36,7 +46,10 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final BookingSagaRepository sagaRepository;
     private final EventServiceClient eventServiceClient;
-    private final EventPublisher eventPublisher;
+    private final OutboxPublisher outboxPublisher;
+    private final TenantSweeper tenantSweeper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${booking.payment-timeout-seconds:300}")
     private int paymentTimeoutSeconds;
@@ -44,17 +57,32 @@ public class BookingService {
     @Value("${booking.max-retries:3}")
     private int maxRetries;
 
+    // Customer cancellations only ask payment-service to refund when this is on
+    @Value("${booking.cancellation.auto-refund:false}")
+    private boolean autoRefundCancellations;
+
     public BookingService(BookingRepository bookingRepository,
                          BookingSagaRepository sagaRepository,
                          EventServiceClient eventServiceClient,
-                         EventPublisher eventPublisher) {
+                         OutboxPublisher outboxPublisher,
+                         TenantSweeper tenantSweeper,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
         this.bookingRepository = bookingRepository;
         this.sagaRepository = sagaRepository;
         this.eventServiceClient = eventServiceClient;
-        this.eventPublisher = eventPublisher;
+        this.outboxPublisher = outboxPublisher;
+        this.tenantSweeper = tenantSweeper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
     }
 
-    @Transactional
+    /**
+     * Validation and pricing run without a transaction, so no pooled connection is
+     * held while event-service is called, and a retry starts from scratch. Only the
+     * Booking, BookingSaga and outbox inserts share a short write transaction, and
+     * the outbox relay sends BookingRequested once it commits.
+     */
     @CircuitBreaker(name = "eventService", fallbackMethod = "createBookingFallback")
     @Retry(name = "eventService")
     public BookingResponse createBooking(CreateBookingRequest request, Long userId, 
@@ -66,19 +94,26 @@ public class BookingService {
             throw new BusinessException("A booking already exists for this lock");
         }
 
-        // Validate lock with event service
-        Map<String, Object> lockValidation = new HashMap<>();
-        lockValidation.put("lockId", request.lockId());
-        lockValidation.put("userId", userId);
-        lockValidation.put("seatIds", request.seatIds());
-        
-        Map<String, Boolean> validationResult = eventServiceClient.validateLock(lockValidation);
-        if (!validationResult.getOrDefault("valid", false)) {
+        boolean generalAdmission = request.seatIds() == null || request.seatIds().isEmpty();
+        if (generalAdmission && request.quantity() == null) {
+            throw new BusinessException("Select seats or a general admission quantity");
+        }
+        int ticketCount = generalAdmission ? request.quantity() : request.seatIds().size();
+
+        // Validate lock and fetch the event and requested seats in one call
+        Map<String, Object> contextRequest = new HashMap<>();
+        contextRequest.put("lockId", request.lockId());
+        contextRequest.put("userId", userId);
+        contextRequest.put("eventId", request.eventId());
+        contextRequest.put("seatIds", generalAdmission ? List.of() : request.seatIds());
+        contextRequest.put("quantity", generalAdmission ? request.quantity() : null);
+
+        BookingContextData context = eventServiceClient.getBookingContext(contextRequest);
+        if (!context.lockValid()) {
             throw new BusinessException("Seat lock is invalid or expired. Please select seats again.");
         }
 
-        // Get event data
-        EventData event = eventServiceClient.getEvent(request.eventId());
+        EventData event = context.event();
         if (!"PUBLISHED".equals(event.status())) {
             throw new BusinessException("Event is not available for booking");
         }
@@ -86,32 +121,26 @@ public class BookingService {
         // Check max tickets per user
         Long existingTickets = bookingRepository.countTicketsByUserAndEvent(userId, request.eventId());
         if (existingTickets == null) existingTickets = 0L;
-        if (existingTickets + request.seatIds().size() > event.maxTicketsPerUser()) {
+        if (existingTickets + ticketCount > event.maxTicketsPerUser()) {
             throw new BusinessException(String.format(
                 "You can only book up to %d tickets for this event. You already have %d.",
                 event.maxTicketsPerUser(), existingTickets
             ));
         }
 
-        // Get seat details
-        List<SeatData> allSeats = eventServiceClient.getSeats(request.eventId());
-        Map<Long, SeatData> seatMap = new HashMap<>();
-        for (SeatData seat : allSeats) {
-            seatMap.put(seat.id(), seat);
+        // General-admission context carries one ticket line per held unit
+        List<SeatData> tickets = generalAdmission ? context.seats() : requestedSeats(request.seatIds(), context.seats());
+        if (tickets.size() != ticketCount) {
+            throw new BusinessException("Held quantity does not match the requested " + ticketCount + " tickets");
         }
 
         // Calculate totals and create booking items
         BigDecimal totalAmount = BigDecimal.ZERO;
         List<BookingItem> items = new ArrayList<>();
 
-        for (Long seatId : request.seatIds()) {
-            SeatData seat = seatMap.get(seatId);
-            if (seat == null) {
-                throw new BusinessException("Seat " + seatId + " not found");
-            }
-
+        for (SeatData seat : tickets) {
             BookingItem item = new BookingItem(
-                seatId,
+                seat.id(),
                 seat.section(),
                 seat.rowNumber(),
                 seat.seatNumber(),
@@ -152,20 +181,47 @@ public class BookingService {
             booking.addItem(item);
         }
 
-        booking = bookingRepository.save(booking);
-
-        // Create saga
-        BookingSaga saga = new BookingSaga(booking.getId(), booking.getExpiresAt());
-        saga.setStatus(SagaStatus.IN_PROGRESS);
-        sagaRepository.save(saga);
-
-        // Publish BookingRequested event for payment service
-        publishBookingRequested(booking);
+        booking = persistBooking(booking);
 
         logger.info("Booking created with confirmation number: {}", booking.getConfirmationNumber());
         return BookingMapper.toResponse(booking);
     }
 
+    private List<SeatData> requestedSeats(List<Long> seatIds, List<SeatData> seats) {
+        Map<Long, SeatData> seatMap = new HashMap<>();
+        for (SeatData seat : seats) {
+            seatMap.put(seat.id(), seat);
+        }
+
+        List<SeatData> requested = new ArrayList<>();
+        for (Long seatId : seatIds) {
+            SeatData seat = seatMap.get(seatId);
+            if (seat == null) {
+                throw new BusinessException("Seat " + seatId + " not found");
+            }
+            requested.add(seat);
+        }
+        return requested;
+    }
+
+    private Booking persistBooking(Booking booking) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return transactionTemplate.execute(status -> {
+                Booking saved = bookingRepository.save(booking);
+                BookingSaga saga = new BookingSaga(saved.getId(), saved.getExpiresAt());
+                saga.setStatus(SagaStatus.IN_PROGRESS);
+                sagaRepository.save(saga);
+
+                // Publish BookingRequested event for payment service
+                publishBookingRequested(saved);
+                return saved;
+            });
+        } finally {
+            sample.stop(meterRegistry.timer("booking.connection.hold", "operation", "create"));
+        }
+    }
+
     public BookingResponse createBookingFallback(CreateBookingRequest request, Long userId, 
                                                   String userEmail, String userName, Throwable t) {
         logger.error("Circuit breaker fallback for createBooking: {}", t.getMessage());
@@ -175,6 +231,7 @@ public class BookingService {
     private void publishBookingRequested(Booking booking) {
         List<Long> seatIds = booking.getItems().stream()
                 .map(BookingItem::getSeatId)
+                .filter(Objects::nonNull)
                 .toList();
 
         BookingRequestedEvent event = new BookingRequestedEvent(
@@ -188,8 +245,8 @@ public class BookingService {
             booking.getConfirmationNumber(),
             java.time.Instant.now().plusSeconds(900)  // 15 min expiry
         );
-        eventPublisher.publish(KafkaTopics.BOOKING_REQUESTED, 
-                              booking.getId().toString(), event);
+        outboxPublisher.publish(KafkaTopics.BOOKING_REQUESTED, 
+                               booking.getId().toString(), event);
         
         // Update saga
         sagaRepository.findByBookingId(booking.getId())
@@ -199,88 +256,143 @@ public class BookingService {
                 });
     }
 
+    /**
+     * Confirm a batch of paid bookings of the current tenant in one transaction.
+     * The bookings are locked together and each event's seats are booked with one
+     * bulk call; bookings whose seats could not be booked are compensated.
+     */
     @Transactional
-    public void handlePaymentCompleted(Long bookingId, Long paymentId, String paymentReference) {
-        logger.info("Handling payment completed for booking {}", bookingId);
-
-        Booking booking = bookingRepository.findByIdWithLock(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+    public void handlePaymentsCompleted(List<PaymentCompletedEvent> payments) {
+        Map<Long, PaymentCompletedEvent> paymentsByBooking = new LinkedHashMap<>();
+        payments.forEach(payment -> paymentsByBooking.putIfAbsent(Long.valueOf(payment.getBookingId()), payment));
 
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            logger.warn("Booking {} is not in PENDING status, current: {}", bookingId, booking.getStatus());
+        List<Booking> pending = lockPendingBookings(paymentsByBooking.keySet());
+        if (pending.isEmpty()) {
             return;
         }
 
-        // Book seats in event service
-        Map<String, Object> bookRequest = new HashMap<>();
-        bookRequest.put("seatIds", booking.getItems().stream()
-                .map(BookingItem::getSeatId).toList());
-        bookRequest.put("bookingId", bookingId);
-        
-        try {
-            eventServiceClient.bookSeats(bookRequest);
-        } catch (Exception e) {
-            logger.error("Failed to book seats for booking {}: {}", bookingId, e.getMessage());
-            // Start compensation
-            compensateBooking(bookingId, "Failed to confirm seats: " + e.getMessage());
-            return;
-        }
+        Map<Long, String> rejected = new HashMap<>();
+        pending.stream()
+                .collect(Collectors.groupingBy(Booking::getEventId, LinkedHashMap::new, Collectors.toList()))
+                .forEach((eventId, bookings) -> rejected.putAll(bookSeatsForEvent(eventId, bookings)));
+
+        Map<Long, BookingSaga> sagas = lockSagas(pending);
+        for (Booking booking : pending) {
+            String reason = rejected.get(booking.getId());
+            if (reason != null) {
+                compensateBooking(booking.getId(), reason);
+                continue;
+            }
 
-        // Confirm booking
-        booking.confirm(paymentId, paymentReference);
-        bookingRepository.save(booking);
+            PaymentCompletedEvent payment = paymentsByBooking.get(booking.getId());
+            booking.confirm(Long.valueOf(payment.getPaymentId()), payment.getTransactionRef());
+            bookingRepository.save(booking);
 
-        // Update saga
-        BookingSaga saga = sagaRepository.findByBookingIdWithLock(bookingId).orElse(null);
-        if (saga != null) {
-            saga.markPaymentCompleted();
-            saga.markSeatsBooked();
-            saga.complete();
-            sagaRepository.save(saga);
-        }
+            BookingSaga saga = sagas.get(booking.getId());
+            if (saga != null) {
+                saga.markPaymentCompleted();
+                saga.markSeatsBooked();
+                saga.complete();
+                sagaRepository.save(saga);
+            }
 
-        // Publish confirmation event
-        publishBookingConfirmed(booking);
+            publishBookingConfirmed(booking);
+        }
 
-        logger.info("Booking {} confirmed with payment {}", booking.getConfirmationNumber(), paymentReference);
+        logger.info("Confirmed {} of {} bookings from a payment batch", pending.size() - rejected.size(), payments.size());
     }
 
     @Transactional
-    public void handlePaymentFailed(Long bookingId, String reason) {
-        logger.info("Handling payment failed for booking {}: {}", bookingId, reason);
+    public void handlePaymentsFailed(List<PaymentFailedEvent> failures) {
+        Map<Long, String> reasonsByBooking = new LinkedHashMap<>();
+        failures.forEach(failure -> reasonsByBooking.putIfAbsent(Long.valueOf(failure.getBookingId()),
+                failure.getFailureReason()));
+
+        List<Booking> pending = lockPendingBookings(reasonsByBooking.keySet());
+        Map<Long, BookingSaga> sagas = lockSagas(pending);
+        for (Booking booking : pending) {
+            String reason = reasonsByBooking.get(booking.getId());
+            booking.setStatus(BookingStatus.FAILED);
+            booking.setCancellationReason("Payment failed: " + reason);
+            booking.setCancelledAt(LocalDateTime.now());
+            bookingRepository.save(booking);
 
-        Booking booking = bookingRepository.findByIdWithLock(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+            BookingSaga saga = sagas.get(booking.getId());
+            if (saga != null) {
+                saga.fail(reason);
+                sagaRepository.save(saga);
+            }
 
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            return;
+            publishBookingCancelled(booking);
         }
 
-        booking.setStatus(BookingStatus.FAILED);
-        booking.setCancellationReason("Payment failed: " + reason);
-        booking.setCancelledAt(LocalDateTime.now());
-        bookingRepository.save(booking);
+        releaseSeats(pending);
+    }
 
-        // Release seats
-        releaseSeats(booking);
+    private List<Booking> lockPendingBookings(Collection<Long> bookingIds) {
+        List<Booking> bookings = bookingRepository.findAllByIdWithLock(bookingIds);
+        if (bookings.size() < bookingIds.size()) {
+            logger.warn("{} of {} bookings in payment batch not found", bookingIds.size() - bookings.size(), bookingIds.size());
+        }
+        return bookings.stream()
+                .filter(booking -> {
+                    if (booking.getStatus() != BookingStatus.PENDING) {
+                        logger.warn("Booking {} is not in PENDING status, current: {}", booking.getId(), booking.getStatus());
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+    }
 
-        // Update saga
-        sagaRepository.findByBookingId(bookingId).ifPresent(saga -> {
-            saga.fail(reason);
-            sagaRepository.save(saga);
-        });
+    private Map<Long, BookingSaga> lockSagas(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return Map.of();
+        }
+        return sagaRepository.findAllByBookingIdWithLock(bookings.stream().map(Booking::getId).toList()).stream()
+                .collect(Collectors.toMap(BookingSaga::getBookingId, saga -> saga, (first, second) -> first));
+    }
 
-        // Publish cancellation
-        publishBookingCancelled(booking);
+    // Returns the rejected bookings of this event with the reason to record on them
+    private Map<Long, String> bookSeatsForEvent(Long eventId, List<Booking> bookings) {
+        List<Map<String, Object>> entries = bookings.stream()
+                .map(this::toSeatBookingEntry)
+                .toList();
+
+        Map<Long, String> rejected = new HashMap<>();
+        try {
+            BulkSeatBookingResult result = eventServiceClient.bookSeatsBulk(Map.of("bookings", entries));
+            result.rejectedBookingIds().forEach(bookingId ->
+                    rejected.put(bookingId, "Failed to confirm seats: seats are no longer available"));
+        } catch (Exception e) {
+            logger.error("Failed to book seats for {} bookings of event {}: {}", bookings.size(), eventId, e.getMessage());
+            bookings.forEach(booking -> rejected.put(booking.getId(), "Failed to confirm seats: " + e.getMessage()));
+        }
+        return rejected;
+    }
+
+    // General-admission bookings are booked by their hold's lock ID and quantity
+    private Map<String, Object> toSeatBookingEntry(Booking booking) {
+        List<BookingItem> items = booking.getItems();
+        if (!items.isEmpty() && items.stream().allMatch(item -> item.getSeatId() == null)) {
+            return Map.of("bookingId", booking.getId(),
+                    "lockId", booking.getLockId(),
+                    "quantity", items.size());
+        }
+        return Map.of("bookingId", booking.getId(),
+                "userId", booking.getUserId(),
+                "seatIds", items.stream().map(BookingItem::getSeatId).toList());
     }
 
     private void publishBookingConfirmed(Booking booking) {
         List<Long> seatIds = booking.getItems().stream()
                 .map(BookingItem::getSeatId)
+                .filter(Objects::nonNull)
                 .toList();
 
         String seatInfo = booking.getItems().stream()
-                .map(item -> item.getSeatSection() + " " + item.getSeatRow() + " " + item.getSeatNumber())
+                .map(item -> item.getSeatId() == null ? item.getSeatSection()
+                        : item.getSeatSection() + " " + item.getSeatRow() + " " + item.getSeatNumber())
                 .findFirst().orElse("");
 
         BookingConfirmedEvent event = new BookingConfirmedEvent(
@@ -295,13 +407,18 @@ public class BookingService {
             booking.getFinalAmount(),
             booking.getConfirmationNumber()
         );
-        eventPublisher.publish(KafkaTopics.BOOKING_CONFIRMED, 
-                              booking.getId().toString(), event);
+        outboxPublisher.publish(KafkaTopics.BOOKING_CONFIRMED, 
+                               booking.getId().toString(), event);
     }
 
     private void publishBookingCancelled(Booking booking) {
+        publishBookingCancelled(booking, false);
+    }
+
+    private void publishBookingCancelled(Booking booking, boolean refundRequired) {
         List<Long> seatIds = booking.getItems().stream()
                 .map(BookingItem::getSeatId)
+                .filter(Objects::nonNull)
                 .toList();
 
         BookingCancelledEvent event = new BookingCancelledEvent(
@@ -312,10 +429,10 @@ public class BookingService {
             booking.getEventId().toString(),
             seatIds.isEmpty() ? "" : seatIds.get(0).toString(),
             booking.getCancellationReason(),
-            booking.getStatus() == BookingStatus.CONFIRMED  // refund required if was confirmed
+            refundRequired && booking.getRefundStatus() == RefundStatus.PENDING
         );
-        eventPublisher.publish(KafkaTopics.BOOKING_CANCELLED, 
-                              booking.getId().toString(), event);
+        outboxPublisher.publish(KafkaTopics.BOOKING_CANCELLED, 
+                               booking.getId().toString(), event);
     }
 
     @Transactional
@@ -341,7 +458,7 @@ public class BookingService {
         }
 
         bookingRepository.save(booking);
-        publishBookingCancelled(booking);
+        publishBookingCancelled(booking, autoRefundCancellations);
 
         logger.info("Booking {} cancelled by user {}", booking.getConfirmationNumber(), userId);
         return BookingMapper.toResponse(booking);
@@ -370,6 +487,19 @@ public class BookingService {
         });
     }
 
+    // One call for the whole batch; a failure is only logged, as for a single booking
+    private void releaseSeats(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        List<Long> bookingIds = bookings.stream().map(Booking::getId).toList();
+        try {
+            eventServiceClient.releaseSeatsBulk(Map.of("bookingIds", bookingIds));
+        } catch (Exception e) {
+            logger.error("Failed to release seats for bookings {}: {}", bookingIds, e.getMessage());
+        }
+    }
+
     private void releaseSeats(Booking booking) {
         try {
             Map<String, Object> releaseRequest = new HashMap<>();
@@ -417,23 +547,41 @@ public class BookingService {
                 .map(BookingMapper::toResponse);
     }
 
-    // Scheduled task to expire pending bookings
+    // Scheduled task to expire pending bookings in every tenant
     @Scheduled(fixedRate = 60000)
-    @Transactional
     public void expirePendingBookings() {
-        List<Booking> expiredBookings = bookingRepository.findExpiredBookings(LocalDateTime.now());
+        tenantSweeper.sweep("booking-expiry", this::expirePendingBookings);
+    }
+
+    // One page of the sweep; TenantSweeper sets the tenant and wraps it in a transaction
+    SweepPage expirePendingBookings(long afterId, int limit) {
+        List<Booking> expiredBookings = bookingRepository.findExpiredBookings(
+                LocalDateTime.now(), afterId, PageRequest.of(0, limit));
         
         for (Booking booking : expiredBookings) {
-            logger.info("Expiring booking {}", booking.getConfirmationNumber());
-            booking.expire();
-            bookingRepository.save(booking);
+            expireBooking(booking);
             releaseSeats(booking);
-            publishBookingCancelled(booking);
         }
 
-        if (!expiredBookings.isEmpty()) {
-            logger.info("Expired {} pending bookings", expiredBookings.size());
+        return SweepPage.of(expiredBookings, Booking::getId);
+    }
+
+    // Marks an unpaid booking expired and announces it; the caller releases the seats
+    void expireBooking(Booking booking) {
+        logger.info("Expiring booking {}", booking.getConfirmationNumber());
+        booking.expire();
+        bookingRepository.save(booking);
+        publishBookingCancelled(booking);
+    }
+
+    // Cancels a confirmed booking of a cancelled event; its seats went back with the event
+    void cancelForEvent(Booking booking, String reason, boolean refund) {
+        booking.cancel(reason);
+        if (refund) {
+            booking.setRefundStatus(RefundStatus.PENDING);
         }
+        bookingRepository.save(booking);
+        publishBookingCancelled(booking, refund);
     }
 
     private String generateConfirmationNumber() {
@@ -0,0 +1,89 @@
+package com.ticket.booking.service;
+
+import com.ticket.booking.entity.Booking;
+import com.ticket.booking.entity.RefundJob;
+import com.ticket.booking.repository.BookingRepository;
+import com.ticket.booking.repository.RefundJobRepository;
+import com.ticket.common.event.EventCancelledEvent;
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantSweeper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Cancels the confirmed bookings of cancelled events and requests their refunds. Each event
+ * has a job whose checkpoint is the last booking handled; a page of bookings, their
+ * BookingCancelled events and the checkpoint commit together, so a
+ * crashed run resumes where it stopped and the outbox relay sends each page as a batch.
+ * Jobs are claimed with SKIP LOCKED, letting replicas work on different events at once.
+ */
+@Service
+public class RefundEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefundEngine.class);
+
+    private final RefundJobRepository refundJobRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final TenantSweeper tenantSweeper;
+
+    public RefundEngine(RefundJobRepository refundJobRepository,
+                        BookingRepository bookingRepository,
+                        BookingService bookingService,
+                        TenantSweeper tenantSweeper) {
+        this.refundJobRepository = refundJobRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.tenantSweeper = tenantSweeper;
+    }
+
+    @Transactional
+    public void start(EventCancelledEvent event) {
+        Long eventId = Long.valueOf(event.getEventEntityId());
+        if (refundJobRepository.insertIfAbsent(eventId, event.getCancellationReason(), event.isRefundsRequired()) > 0) {
+            logger.info("Started refund job for event {} with {} affected bookings",
+                       eventId, event.getAffectedBookings());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${refund.engine.interval-ms:1000}")
+    public void advanceJobs() {
+        tenantSweeper.sweepConcurrently("refund-engine", this::advanceJobs);
+    }
+
+    // One page of one job; a full page revisits the same job in the next chunk
+    SweepPage advanceJobs(long afterId, int limit) {
+        List<RefundJob> jobs = refundJobRepository.lockRunnableJobs(afterId, 1);
+        if (jobs.isEmpty()) {
+            return SweepPage.of(jobs, RefundJob::getId);
+        }
+
+        RefundJob job = jobs.get(0);
+        List<Booking> bookings = bookingRepository.findConfirmedForEventWithLock(
+                job.getEventId(), job.getLastBookingId(), PageRequest.of(0, limit));
+
+        String reason = "Event cancelled" + (job.getReason() != null ? ": " + job.getReason() : "");
+        boolean refund = Boolean.TRUE.equals(job.getRefundsRequired());
+        bookings.forEach(booking -> bookingService.cancelForEvent(booking, reason, refund));
+
+        if (!bookings.isEmpty()) {
+            job.recordPage(bookings.get(bookings.size() - 1).getId(), bookings.size());
+        }
+        if (bookings.size() < limit) {
+            job.complete();
+            logger.info("Refund job for event {} finished after {} bookings",
+                       job.getEventId(), job.getCancelledBookings());
+        }
+        refundJobRepository.save(job);
+
+        return job.isCompleted()
+                ? new SweepPage(bookings.size(), job.getId())
+                : SweepPage.continueAt(bookings.size(), afterId);
+    }
+}
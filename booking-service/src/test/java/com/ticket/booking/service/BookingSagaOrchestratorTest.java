@@ -0,0 +1,181 @@
+package com.ticket.booking.service;
+
+import com.ticket.booking.client.EventServiceClient;
+import com.ticket.booking.entity.Booking;
+import com.ticket.booking.entity.BookingSaga;
+import com.ticket.booking.entity.BookingStatus;
+import com.ticket.booking.entity.SagaStatus;
+import com.ticket.booking.repository.BookingRepository;
+import com.ticket.booking.repository.BookingSagaRepository;
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantSweeper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Booking Saga Orchestrator Unit Tests")
+class BookingSagaOrchestratorTest {
+
+    @Mock
+    private BookingSagaRepository sagaRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private EventServiceClient eventServiceClient;
+
+    @Mock
+    private TenantSweeper tenantSweeper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BookingSagaOrchestrator orchestrator;
+
+    @BeforeEach
+    void setUp() {
+        orchestrator = new BookingSagaOrchestrator(sagaRepository, bookingRepository, bookingService,
+                eventServiceClient, tenantSweeper, meterRegistry, transactionManager, Runnable::run);
+        ReflectionTestUtils.setField(orchestrator, "maxRetries", 2);
+        ReflectionTestUtils.setField(orchestrator, "retryBackoffSeconds", 5L);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should complete confirmed sagas and compensate expired ones in one release call")
+    void shouldAdvanceDueSagasInOneBatch() {
+        BookingSaga confirmedSaga = saga(1L, 10L);
+        BookingSaga expiredSaga = saga(2L, 20L);
+        Booking confirmed = booking(10L, BookingStatus.CONFIRMED);
+        Booking expired = booking(20L, BookingStatus.PENDING);
+
+        when(sagaRepository.lockDueSagas(any(LocalDateTime.class), eq(0L), eq(100)))
+                .thenReturn(List.of(confirmedSaga, expiredSaga));
+        when(bookingRepository.findAllByIdSkipLocked(List.of(10L, 20L))).thenReturn(List.of(confirmed, expired));
+        when(sagaRepository.findAllByIdWithLock(List.of(2L))).thenReturn(List.of(expiredSaga));
+
+        SweepPage page = orchestrator.advanceDueSagas(0L, 100);
+
+        assertThat(page.rows()).isEqualTo(2);
+        assertThat(page.lastId()).isEqualTo(2L);
+        assertThat(confirmedSaga.getStatus()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(expiredSaga.getStatus()).isEqualTo(SagaStatus.COMPENSATING);
+        verify(bookingService).expireBooking(expired);
+        verify(bookingService, never()).expireBooking(confirmed);
+        verify(sagaRepository).saveAll(List.of(confirmedSaga, expiredSaga));
+        verifyNoInteractions(eventServiceClient);
+
+        commit();
+
+        verify(eventServiceClient).releaseSeatsBulk(Map.of("bookingIds", List.of(20L)));
+        assertThat(expiredSaga.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+    }
+
+    @Test
+    @DisplayName("Should leave sagas whose booking is locked elsewhere for the next pass")
+    void shouldSkipSagasWithLockedBookings() {
+        BookingSaga saga = saga(1L, 10L);
+
+        when(sagaRepository.lockDueSagas(any(LocalDateTime.class), eq(0L), eq(100))).thenReturn(List.of(saga));
+        when(bookingRepository.findAllByIdSkipLocked(List.of(10L))).thenReturn(List.of());
+        when(bookingRepository.findExistingIds(List.of(10L))).thenReturn(List.of(10L));
+
+        orchestrator.advanceDueSagas(0L, 100);
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.STARTED);
+        verifyNoInteractions(bookingService, eventServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should fail sagas whose booking no longer exists")
+    void shouldFailSagasWithMissingBookings() {
+        BookingSaga saga = saga(1L, 10L);
+
+        when(sagaRepository.lockDueSagas(any(LocalDateTime.class), eq(0L), eq(100))).thenReturn(List.of(saga));
+        when(bookingRepository.findAllByIdSkipLocked(List.of(10L))).thenReturn(List.of());
+        when(bookingRepository.findExistingIds(List.of(10L))).thenReturn(List.of());
+
+        orchestrator.advanceDueSagas(0L, 100);
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.FAILED);
+        assertThat(saga.getLastError()).contains("not found");
+        verifyNoInteractions(bookingService, eventServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should back off and eventually fail sagas whose seat release keeps failing")
+    void shouldRetryFailedReleases() {
+        BookingSaga saga = saga(1L, 10L);
+        saga.compensate();
+        Booking expired = booking(10L, BookingStatus.EXPIRED);
+
+        when(sagaRepository.lockDueSagas(any(LocalDateTime.class), anyLong(), anyInt())).thenReturn(List.of(saga));
+        when(bookingRepository.findAllByIdSkipLocked(List.of(10L))).thenReturn(List.of(expired));
+        when(sagaRepository.findAllByIdWithLock(List.of(1L))).thenReturn(List.of(saga));
+        doThrow(new RuntimeException("event-service unavailable"))
+                .when(eventServiceClient).releaseSeatsBulk(anyMap());
+
+        orchestrator.advanceDueSagas(0L, 100);
+        commit();
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.COMPENSATING);
+        assertThat(saga.getRetryCount()).isEqualTo(1);
+        assertThat(saga.getExpiresAt()).isAfter(LocalDateTime.now());
+
+        orchestrator.advanceDueSagas(0L, 100);
+        commit();
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.FAILED);
+        assertThat(saga.getLastError()).contains("event-service unavailable");
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static BookingSaga saga(Long id, Long bookingId) {
+        BookingSaga saga = new BookingSaga(bookingId, LocalDateTime.now().minusMinutes(1));
+        saga.setId(id);
+        return saga;
+    }
+
+    private static Booking booking(Long id, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStatus(status);
+        booking.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        return booking;
+    }
+}
@@ -1,20 +1,38 @@
 package com.ticket.booking.service;
 
 import com.ticket.booking.client.EventServiceClient;
+import com.ticket.booking.dto.BookingContextData;
+import com.ticket.booking.dto.BookingResponse;
+import com.ticket.booking.dto.BulkSeatBookingResult;
+import com.ticket.booking.dto.CreateBookingRequest;
+import com.ticket.booking.dto.EventData;
+import com.ticket.booking.dto.SeatData;
 import com.ticket.booking.entity.Booking;
 import com.ticket.booking.entity.BookingItem;
 import com.ticket.booking.entity.BookingStatus;
+import com.ticket.booking.entity.RefundStatus;
 import com.ticket.booking.repository.BookingRepository;
 import com.ticket.booking.repository.BookingSagaRepository;
-import com.ticket.common.kafka.EventPublisher;
+import com.ticket.common.event.BookingCancelledEvent;
+import com.ticket.common.event.PaymentCompletedEvent;
+import com.ticket.common.event.PaymentFailedEvent;
+import com.ticket.common.exception.BusinessException;
+import com.ticket.common.kafka.OutboxPublisher;
+import com.ticket.common.kafka.KafkaTopics;
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -35,7 +53,16 @@ class BookingServiceTest {
     private EventServiceClient eventServiceClient;
 
     @Mock
-    private EventPublisher eventPublisher;
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private TenantSweeper tenantSweeper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private BookingService bookingService;
@@ -131,4 +158,253 @@ class BookingServiceTest {
             .isInstanceOf(IllegalStateException.class)
             .hasMessageContaining("Cannot transition");
     }
+
+    @Test
+    @DisplayName("Should expire one page of pending bookings and continue after the last id")
+    void shouldExpirePendingBookingsPage() {
+        when(bookingRepository.findExpiredBookings(any(LocalDateTime.class), eq(0L), any()))
+            .thenReturn(List.of(testBooking));
+
+        SweepPage page = bookingService.expirePendingBookings(0L, 100);
+
+        assertThat(page).isEqualTo(new SweepPage(1, 1L));
+        assertThat(testBooking.getStatus()).isEqualTo(BookingStatus.EXPIRED);
+        verify(eventServiceClient).releaseSeats(anyMap());
+        verify(outboxPublisher).publish(eq(KafkaTopics.BOOKING_CANCELLED), eq("1"), any());
+    }
+
+    @Test
+    @DisplayName("Should sweep pending bookings through the tenant sweeper")
+    void shouldSweepPendingBookingsPerTenant() {
+        bookingService.expirePendingBookings();
+
+        verify(tenantSweeper).sweep(eq("booking-expiry"), any());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    @DisplayName("Should create a booking from a single booking-context call")
+    void shouldCreateBookingFromBookingContext() {
+        CreateBookingRequest request = new CreateBookingRequest(200L, "lock-1", List.of(11L, 12L), null, null);
+        EventData event = new EventData(200L, "Concert", null, "Arena", LocalDateTime.now().plusDays(7),
+            100, 50, new BigDecimal("50.00"), "PUBLISHED", 4, true, true, 100);
+        BookingContextData context = new BookingContextData(true, event, List.of(seat(11L), seat(12L)));
+        when(eventServiceClient.getBookingContext(anyMap())).thenReturn(context);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> {
+            Booking saved = i.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        BookingResponse response = bookingService.createBooking(request, 100L, "user@example.com", "User");
+
+        assertThat(response.totalAmount()).isEqualByComparingTo(new BigDecimal("150.00"));
+        verify(eventServiceClient, never()).getSeats(anyLong());
+        verify(eventServiceClient, never()).getEvent(anyLong());
+        verify(eventServiceClient, never()).validateLock(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should create a general-admission booking from a held quantity")
+    @SuppressWarnings("unchecked")
+    void shouldCreateGeneralAdmissionBooking() {
+        CreateBookingRequest request = new CreateBookingRequest(200L, "ga-lock", null, 3, null);
+        EventData event = new EventData(200L, "Festival", null, "Field", LocalDateTime.now().plusDays(7),
+            100, 50, new BigDecimal("50.00"), "PUBLISHED", 4, true, true, 100);
+        SeatData ticket = new SeatData(null, 200L, "GENERAL", null, null, "REGULAR", "LOCKED",
+            new BigDecimal("50.00"), BigDecimal.ONE, new BigDecimal("50.00"), "GENERAL", false);
+        when(eventServiceClient.getBookingContext(anyMap()))
+            .thenReturn(new BookingContextData(true, event, List.of(ticket, ticket, ticket)));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> {
+            Booking saved = i.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        BookingResponse response = bookingService.createBooking(request, 100L, "user@example.com", "User");
+
+        ArgumentCaptor<Map<String, Object>> context = ArgumentCaptor.forClass(Map.class);
+        verify(eventServiceClient).getBookingContext(context.capture());
+        assertThat(context.getValue()).containsEntry("quantity", 3).containsEntry("seatIds", List.of());
+        assertThat(response.totalAmount()).isEqualByComparingTo(new BigDecimal("150.00"));
+        assertThat(response.items()).hasSize(3).allSatisfy(item -> assertThat(item.seatId()).isNull());
+    }
+
+    @Test
+    @DisplayName("Should reject a booking with neither seats nor a quantity")
+    void shouldRejectBookingWithoutSeatsOrQuantity() {
+        CreateBookingRequest request = new CreateBookingRequest(200L, "lock-1", List.of(), null, null);
+
+        assertThatThrownBy(() -> bookingService.createBooking(request, 100L, "user@example.com", "User"))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("general admission quantity");
+        verifyNoInteractions(eventServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should call event-service before the write transaction and queue the event inside it")
+    void shouldKeepRemoteCallsOutsideTheWriteTransaction() {
+        CreateBookingRequest request = new CreateBookingRequest(200L, "lock-1", List.of(11L), null, null);
+        EventData event = new EventData(200L, "Concert", null, "Arena", LocalDateTime.now().plusDays(7),
+            100, 50, new BigDecimal("50.00"), "PUBLISHED", 4, true, true, 100);
+        when(eventServiceClient.getBookingContext(anyMap()))
+            .thenReturn(new BookingContextData(true, event, List.of(seat(11L))));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> {
+            Booking saved = i.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        bookingService.createBooking(request, 100L, "user@example.com", "User");
+
+        InOrder inOrder = inOrder(eventServiceClient, transactionManager, bookingRepository, sagaRepository, outboxPublisher);
+        inOrder.verify(eventServiceClient).getBookingContext(anyMap());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(bookingRepository).save(any(Booking.class));
+        inOrder.verify(sagaRepository).save(any());
+        inOrder.verify(outboxPublisher).publish(eq(KafkaTopics.BOOKING_REQUESTED), eq("1"), any());
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(meterRegistry.timer("booking.connection.hold", "operation", "create").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a booking when the booking context reports an invalid lock")
+    void shouldRejectBookingWithInvalidLock() {
+        CreateBookingRequest request = new CreateBookingRequest(200L, "lock-1", List.of(11L), null, null);
+        when(eventServiceClient.getBookingContext(anyMap()))
+            .thenReturn(new BookingContextData(false, null, List.of()));
+
+        assertThatThrownBy(() -> bookingService.createBooking(request, 100L, "user@example.com", "User"))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("invalid or expired");
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should confirm a payment batch with one bulk seat call per event")
+    @SuppressWarnings("unchecked")
+    void shouldHandlePaymentBatchPerEvent() {
+        Booking rejectedBooking = pendingBooking(2L, 200L);
+        Booking otherEvent = pendingBooking(3L, 300L);
+        testBooking.addItem(new BookingItem(1L, "A", "1", "1", "REGULAR", new BigDecimal("50.00")));
+        when(bookingRepository.findAllByIdWithLock(anyCollection()))
+            .thenReturn(List.of(testBooking, rejectedBooking, otherEvent));
+        when(sagaRepository.findAllByBookingIdWithLock(anyCollection())).thenReturn(List.of());
+        when(eventServiceClient.bookSeatsBulk(anyMap()))
+            .thenReturn(new BulkSeatBookingResult(List.of(2L)), new BulkSeatBookingResult(List.of()));
+        when(bookingRepository.findByIdWithLock(2L)).thenReturn(Optional.of(rejectedBooking));
+
+        bookingService.handlePaymentsCompleted(List.of(
+            paymentCompleted(1L), paymentCompleted(2L), paymentCompleted(3L), paymentCompleted(1L)));
+
+        ArgumentCaptor<Map<String, Object>> bulkCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(eventServiceClient, times(2)).bookSeatsBulk(bulkCaptor.capture());
+        assertThat((List<Object>) bulkCaptor.getAllValues().get(0).get("bookings")).hasSize(2)
+            .contains(Map.<String, Object>of("bookingId", 1L, "userId", 100L, "seatIds", List.of(1L)));
+        assertThat((List<?>) bulkCaptor.getAllValues().get(1).get("bookings")).hasSize(1);
+        assertThat(testBooking.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(otherEvent.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(rejectedBooking.getStatus()).isEqualTo(BookingStatus.FAILED);
+        verify(outboxPublisher, times(2)).publish(eq(KafkaTopics.BOOKING_CONFIRMED), anyString(), any());
+        verify(eventServiceClient).releaseSeats(Map.of("bookingId", 2L));
+    }
+
+    @Test
+    @DisplayName("Should book a paid general-admission booking by its lock ID and quantity")
+    @SuppressWarnings("unchecked")
+    void shouldBookGeneralAdmissionByQuantity() {
+        testBooking.setLockId("ga-lock");
+        testBooking.addItem(new BookingItem(null, "GENERAL", null, null, "REGULAR", new BigDecimal("50.00")));
+        testBooking.addItem(new BookingItem(null, "GENERAL", null, null, "REGULAR", new BigDecimal("50.00")));
+        when(bookingRepository.findAllByIdWithLock(anyCollection())).thenReturn(List.of(testBooking));
+        when(sagaRepository.findAllByBookingIdWithLock(anyCollection())).thenReturn(List.of());
+        when(eventServiceClient.bookSeatsBulk(anyMap())).thenReturn(new BulkSeatBookingResult(List.of()));
+
+        bookingService.handlePaymentsCompleted(List.of(paymentCompleted(1L)));
+
+        ArgumentCaptor<Map<String, Object>> bulkCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(eventServiceClient).bookSeatsBulk(bulkCaptor.capture());
+        assertThat((List<Object>) bulkCaptor.getValue().get("bookings"))
+            .containsExactly(Map.<String, Object>of("bookingId", 1L, "lockId", "ga-lock", "quantity", 2));
+        assertThat(testBooking.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should fail pending bookings of a payment-failed batch and skip the rest")
+    void shouldHandlePaymentFailedBatch() {
+        Booking confirmed = pendingBooking(2L, 200L);
+        confirmed.setStatus(BookingStatus.CONFIRMED);
+        when(bookingRepository.findAllByIdWithLock(anyCollection())).thenReturn(List.of(testBooking, confirmed));
+        when(sagaRepository.findAllByBookingIdWithLock(List.of(1L))).thenReturn(List.of());
+
+        bookingService.handlePaymentsFailed(List.of(paymentFailed(1L), paymentFailed(2L)));
+
+        assertThat(testBooking.getStatus()).isEqualTo(BookingStatus.FAILED);
+        assertThat(testBooking.getCancellationReason()).isEqualTo("Payment failed: Card declined");
+        assertThat(confirmed.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        verify(eventServiceClient).releaseSeatsBulk(Map.of("bookingIds", List.of(1L)));
+        verify(eventServiceClient, never()).releaseSeats(anyMap());
+        verify(outboxPublisher).publish(eq(KafkaTopics.BOOKING_CANCELLED), eq("1"), any());
+    }
+
+    @Test
+    @DisplayName("Should cancel a booking of a cancelled event and request its refund")
+    void shouldCancelBookingForCancelledEvent() {
+        testBooking.setStatus(BookingStatus.CONFIRMED);
+
+        try (MockedStatic<TenantContext> tenant = mockStatic(TenantContext.class)) {
+            tenant.when(TenantContext::getTenantId).thenReturn("tenant1");
+            bookingService.cancelForEvent(testBooking, "Event cancelled: Weather", true);
+        }
+
+        assertThat(testBooking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(testBooking.getRefundStatus()).isEqualTo(RefundStatus.PENDING);
+        ArgumentCaptor<BookingCancelledEvent> event = ArgumentCaptor.forClass(BookingCancelledEvent.class);
+        verify(outboxPublisher).publish(eq(KafkaTopics.BOOKING_CANCELLED), eq("1"), event.capture());
+        assertThat(event.getValue().isRefundRequired()).isTrue();
+        verify(bookingRepository).save(testBooking);
+    }
+
+    @Test
+    @DisplayName("Should not request a refund for a customer cancellation unless auto-refund is on")
+    void shouldNotRefundCustomerCancellationByDefault() {
+        testBooking.setStatus(BookingStatus.CONFIRMED);
+        testBooking.setPaymentId(500L);
+        when(bookingRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testBooking));
+
+        try (MockedStatic<TenantContext> tenant = mockStatic(TenantContext.class)) {
+            tenant.when(TenantContext::getTenantId).thenReturn("tenant1");
+            bookingService.cancelBooking(1L, testBooking.getUserId(), "Changed plans");
+        }
+
+        assertThat(testBooking.getRefundStatus()).isEqualTo(RefundStatus.PENDING);
+        ArgumentCaptor<BookingCancelledEvent> event = ArgumentCaptor.forClass(BookingCancelledEvent.class);
+        verify(outboxPublisher).publish(eq(KafkaTopics.BOOKING_CANCELLED), eq("1"), event.capture());
+        assertThat(event.getValue().isRefundRequired()).isFalse();
+    }
+
+    private static Booking pendingBooking(Long id, Long eventId) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setUserId(100L);
+        booking.setEventId(eventId);
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setConfirmationNumber("BK-TEST-00" + id);
+        return booking;
+    }
+
+    private static PaymentCompletedEvent paymentCompleted(Long bookingId) {
+        return new PaymentCompletedEvent("tenant1", "corr-" + bookingId, "9" + bookingId, bookingId.toString(),
+            new BigDecimal("150.00"), "TXN-" + bookingId, "CARD");
+    }
+
+    private static PaymentFailedEvent paymentFailed(Long bookingId) {
+        return new PaymentFailedEvent("tenant1", "corr-" + bookingId, "9" + bookingId, bookingId.toString(),
+            new BigDecimal("150.00"), "Card declined", "DECLINED");
+    }
+
+    private static SeatData seat(Long id) {
+        return new SeatData(id, 200L, "A", "1", id.toString(), "REGULAR", "LOCKED",
+            new BigDecimal("50.00"), new BigDecimal("1.5"), new BigDecimal("75.00"), "A-1-" + id, false);
+    }
 }
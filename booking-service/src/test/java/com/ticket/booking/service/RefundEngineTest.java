@@ -0,0 +1,112 @@
+package com.ticket.booking.service;
+
+import com.ticket.booking.entity.Booking;
+import com.ticket.booking.entity.BookingStatus;
+import com.ticket.booking.entity.RefundJob;
+import com.ticket.booking.repository.BookingRepository;
+import com.ticket.booking.repository.RefundJobRepository;
+import com.ticket.common.event.EventCancelledEvent;
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantSweeper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refund Engine Unit Tests")
+class RefundEngineTest {
+
+    @Mock
+    private RefundJobRepository refundJobRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private TenantSweeper tenantSweeper;
+
+    @InjectMocks
+    private RefundEngine refundEngine;
+
+    @Test
+    @DisplayName("Should record a refund job for a cancelled event")
+    void shouldStartJob() {
+        EventCancelledEvent event = new EventCancelledEvent("tenant1", "corr-1", "200", "Concert", "Weather", true, 3);
+
+        refundEngine.start(event);
+
+        verify(refundJobRepository).insertIfAbsent(200L, "Weather", true);
+    }
+
+    @Test
+    @DisplayName("Should cancel a full page, checkpoint it and revisit the same job")
+    void shouldCheckpointFullPage() {
+        RefundJob job = job(7L, 10L);
+        when(refundJobRepository.lockRunnableJobs(0L, 1)).thenReturn(List.of(job));
+        when(bookingRepository.findConfirmedForEventWithLock(200L, 10L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking(11L), booking(15L)));
+
+        SweepPage page = refundEngine.advanceJobs(0L, 2);
+
+        assertThat(page).isEqualTo(SweepPage.continueAt(2, 0L));
+        assertThat(job.getLastBookingId()).isEqualTo(15L);
+        assertThat(job.getCancelledBookings()).isEqualTo(2);
+        assertThat(job.isCompleted()).isFalse();
+        verify(bookingService, times(2)).cancelForEvent(any(Booking.class), eq("Event cancelled: Weather"), eq(true));
+        verify(refundJobRepository).save(job);
+    }
+
+    @Test
+    @DisplayName("Should complete the job on a short page")
+    void shouldCompleteJobOnShortPage() {
+        RefundJob job = job(7L, 15L);
+        when(refundJobRepository.lockRunnableJobs(6L, 1)).thenReturn(List.of(job));
+        when(bookingRepository.findConfirmedForEventWithLock(200L, 15L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking(20L)));
+
+        SweepPage page = refundEngine.advanceJobs(6L, 2);
+
+        assertThat(page).isEqualTo(new SweepPage(1, 7L));
+        assertThat(job.getLastBookingId()).isEqualTo(20L);
+        assertThat(job.isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stop when no job is runnable")
+    void shouldStopWithoutJobs() {
+        when(refundJobRepository.lockRunnableJobs(0L, 1)).thenReturn(List.of());
+
+        SweepPage page = refundEngine.advanceJobs(0L, 500);
+
+        assertThat(page.rows()).isZero();
+        verifyNoInteractions(bookingRepository, bookingService);
+    }
+
+    private static RefundJob job(Long id, Long lastBookingId) {
+        RefundJob job = new RefundJob(200L, "Weather", true);
+        job.setId(id);
+        job.setLastBookingId(lastBookingId);
+        return job;
+    }
+
+    private static Booking booking(Long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setEventId(200L);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ticket.common.config;
+
+import com.ticket.common.tenant.TenantBulkhead;
+import com.ticket.common.tenant.TenantRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TenantBulkheadConfig {
+
+    // Requests in flight per tenant; the capacity matches Tomcat's default worker threads
+    @Bean(name = "requestBulkhead")
+    public TenantBulkhead requestBulkhead(
+            @Value("${tenant.bulkhead.requests.capacity:200}") int capacity,
+            @Value("${tenant.bulkhead.requests.base-permits:50}") int basePermits,
+            @Value("${tenant.bulkhead.requests.max-queued:500}") int maxQueued,
+            @Value("${tenant.bulkhead.requests.max-wait-ms:1000}") long maxWaitMs,
+            TenantRegistry tenantRegistry,
+            MeterRegistry meterRegistry) {
+        return new TenantBulkhead("requests", capacity, basePermits, maxQueued, maxWaitMs,
+                tenantRegistry, meterRegistry);
+    }
+
+    // Connections checked out per tenant; callers queue here fairly instead of in Hikari's FIFO
+    @Bean(name = "connectionBulkhead")
+    public TenantBulkhead connectionBulkhead(
+            @Value("${tenant.bulkhead.connections.capacity:${spring.datasource.hikari.maximum-pool-size:10}}") int capacity,
+            @Value("${tenant.bulkhead.connections.base-permits:5}") int basePermits,
+            @Value("${tenant.bulkhead.connections.max-queued:500}") int maxQueued,
+            @Value("${tenant.bulkhead.connections.max-wait-ms:5000}") long maxWaitMs,
+            TenantRegistry tenantRegistry,
+            MeterRegistry meterRegistry) {
+        return new TenantBulkhead("connections", capacity, basePermits, maxQueued, maxWaitMs,
+                tenantRegistry, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ticket.common.config;
+
+import com.ticket.common.tenant.RedisTenantRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class TenantCacheConfig {
+
+    // Drops each instance's local tenant cache when any instance changes a tenant
+    @Bean
+    public RedisMessageListenerContainer tenantInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                             RedisTenantRegistry tenantRegistry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(tenantRegistry, new ChannelTopic(RedisTenantRegistry.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
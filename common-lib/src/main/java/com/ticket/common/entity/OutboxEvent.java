@@ -0,0 +1,93 @@
+package com.ticket.common.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Domain event waiting in the tenant's outbox to be relayed to Kafka.
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String topic;
+    
+    @Column(name = "message_key")
+    private String messageKey;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "tenant_id", length = 100)
+    private String tenantId;
+    
+    @Column(name = "correlation_id", length = 100)
+    private String correlationId;
+    
+    @Column(name = "event_type", length = 100)
+    private String eventType;
+    
+    @Column(name = "event_id")
+    private String eventId;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    
+    public OutboxEvent() {
+        this.createdAt = Instant.now();
+    }
+    
+    public OutboxEvent(String topic, String messageKey, String payload, String tenantId,
+                       String correlationId, String eventType, String eventId) {
+        this();
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+        this.tenantId = tenantId;
+        this.correlationId = correlationId;
+        this.eventType = eventType;
+        this.eventId = eventId;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTopic() {
+        return topic;
+    }
+    
+    public String getMessageKey() {
+        return messageKey;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public String getTenantId() {
+        return tenantId;
+    }
+    
+    public String getCorrelationId() {
+        return correlationId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getEventId() {
+        return eventId;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ticket.common.exception;
 
 import com.ticket.common.dto.ErrorResponse;
+import com.ticket.common.tenant.TenantConnectionLimitException;
 import com.ticket.common.tenant.TenantContext;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -87,6 +89,13 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
         
+        // JPA and Spring wrap a failed connection checkout, so look through the causes
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException connectionException) {
+                return handleConnectionUnavailable(connectionException, request);
+            }
+        }
+        
         log.error("Unexpected error: ", ex);
         
         ErrorResponse response = new ErrorResponse(
@@ -100,4 +109,24 @@ public class GlobalExceptionHandler {
         
         return ResponseEntity.internalServerError().body(response);
     }
+    
+    // The tenant is over its connection share (429), or the whole pool is exhausted (503)
+    private ResponseEntity<ErrorResponse> handleConnectionUnavailable(
+            SQLTransientConnectionException ex, HttpServletRequest request) {
+        
+        log.warn("Database connection unavailable: {}", ex.getMessage());
+        
+        boolean tenantLimit = ex instanceof TenantConnectionLimitException;
+        HttpStatus status = tenantLimit ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponse response = new ErrorResponse(
+                status.value(),
+                status.getReasonPhrase(),
+                tenantLimit ? "TENANT_CONCURRENCY_LIMIT" : "DATABASE_UNAVAILABLE",
+                tenantLimit ? "Too many concurrent requests for this tenant" : "The service is busy, please try again",
+                request.getRequestURI()
+        );
+        response.setCorrelationId(TenantContext.getCorrelationId());
+        
+        return ResponseEntity.status(status).header("Retry-After", "1").body(response);
+    }
 }
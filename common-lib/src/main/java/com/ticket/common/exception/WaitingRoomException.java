@@ -0,0 +1,14 @@
+package com.ticket.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a user has not yet been admitted from an event's waiting room.
+ */
+public class WaitingRoomException extends BaseException {
+
+    public WaitingRoomException(long position) {
+        super("You are number " + position + " in the queue for this event",
+              HttpStatus.TOO_MANY_REQUESTS, "WAITING_ROOM");
+    }
+}
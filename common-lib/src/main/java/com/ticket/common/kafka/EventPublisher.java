@@ -48,23 +48,9 @@ public class EventPublisher {
             
             String payload = objectMapper.writeValueAsString(event);
             
-            ProducerRecord<String, String> record = new ProducerRecord<>(
-                    topic,
-                    null, // partition (let Kafka decide based on key)
-                    event.getTenantId(), // key for partitioning
-                    payload
-            );
-            
-            // Add headers for tracing
-            record.headers()
-                    .add(new RecordHeader("tenantId", 
-                            event.getTenantId().getBytes(StandardCharsets.UTF_8)))
-                    .add(new RecordHeader("correlationId", 
-                            event.getCorrelationId().getBytes(StandardCharsets.UTF_8)))
-                    .add(new RecordHeader("eventType", 
-                            event.getEventType().getBytes(StandardCharsets.UTF_8)))
-                    .add(new RecordHeader("eventId", 
-                            event.getEventId().getBytes(StandardCharsets.UTF_8)));
+            // tenantId is the key for partitioning
+            ProducerRecord<String, String> record = record(topic, event.getTenantId(), payload,
+                    event.getTenantId(), event.getCorrelationId(), event.getEventType(), event.getEventId());
             
             log.info("Publishing event: topic={}, type={}, eventId={}, tenant={}", 
                     topic, event.getEventType(), event.getEventId(), event.getTenantId());
@@ -94,23 +80,8 @@ public class EventPublisher {
             
             String payload = objectMapper.writeValueAsString(event);
             
-            ProducerRecord<String, String> record = new ProducerRecord<>(
-                    topic,
-                    null, // partition (let Kafka decide based on key)
-                    key, // custom key for partitioning
-                    payload
-            );
-            
-            // Add headers for tracing
-            record.headers()
-                    .add(new RecordHeader("tenantId", 
-                            event.getTenantId().getBytes(StandardCharsets.UTF_8)))
-                    .add(new RecordHeader("correlationId", 
-                            event.getCorrelationId().getBytes(StandardCharsets.UTF_8)))
-                    .add(new RecordHeader("eventType", 
-                            event.getEventType().getBytes(StandardCharsets.UTF_8)))
-                    .add(new RecordHeader("eventId", 
-                            event.getEventId().getBytes(StandardCharsets.UTF_8)));
+            ProducerRecord<String, String> record = record(topic, key, payload,
+                    event.getTenantId(), event.getCorrelationId(), event.getEventType(), event.getEventId());
             
             log.info("Publishing event: topic={}, key={}, type={}, eventId={}, tenant={}", 
                     topic, key, event.getEventType(), event.getEventId(), event.getTenantId());
@@ -123,6 +94,31 @@ public class EventPublisher {
         }
     }
     
+    /**
+     * Build a record with the tracing headers. Headers without a value are left out,
+     * e.g. the correlation ID of events raised by scheduled jobs.
+     */
+    static ProducerRecord<String, String> record(String topic, String key, String payload, String tenantId,
+                                                 String correlationId, String eventType, String eventId) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(
+                topic,
+                null, // partition (let Kafka decide based on key)
+                key,
+                payload
+        );
+        addHeader(record, "tenantId", tenantId);
+        addHeader(record, "correlationId", correlationId);
+        addHeader(record, "eventType", eventType);
+        addHeader(record, "eventId", eventId);
+        return record;
+    }
+    
+    private static void addHeader(ProducerRecord<String, String> record, String name, String value) {
+        if (value != null) {
+            record.headers().add(new RecordHeader(name, value.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+    
     /**
      * Publish event synchronously, blocking until acknowledged.
      */
@@ -3,12 +3,17 @@ package com.ticket.common.kafka;
 import com.ticket.common.entity.ProcessedEvent;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -82,6 +87,42 @@ public class IdempotentConsumer {
         return markAsProcessed(eventId, consumerGroup, eventType);
     }
     
+    /**
+     * Mark a batch of events as processed with one INSERT ... ON CONFLICT DO NOTHING
+     * and return the IDs that were not already processed. It runs in the caller's
+     * transaction, so if processing rolls back the events are delivered again.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<String> claim(Collection<String> eventIds, String consumerGroup, String eventType) {
+        List<String> distinctIds = eventIds.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Set.of();
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO processed_events (id, event_id, consumer_group, event_type, processed_at) VALUES ");
+        for (int i = 0; i < distinctIds.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, now())");
+        }
+        sql.append(" ON CONFLICT (event_id, consumer_group) DO NOTHING RETURNING event_id");
+
+        Query insert = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (String eventId : distinctIds) {
+            insert.setParameter(position++, UUID.randomUUID().toString());
+            insert.setParameter(position++, eventId);
+            insert.setParameter(position++, consumerGroup);
+            insert.setParameter(position++, eventType);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> claimed = insert.getResultList();
+        if (claimed.size() < distinctIds.size()) {
+            log.info("Skipping {} duplicate events for consumer {}", distinctIds.size() - claimed.size(), consumerGroup);
+        }
+        return new HashSet<>(claimed);
+    }
+
     /**
      * Process event idempotently (without event type) - returns true if processing should proceed.
      */
@@ -0,0 +1,60 @@
+package com.ticket.common.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.common.entity.OutboxEvent;
+import com.ticket.common.event.BaseEvent;
+import com.ticket.common.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Transactional outbox for domain events.
+ * The event is written to the tenant's outbox_events table in the caller's transaction,
+ * so it is sent if and only if the business change commits. {@link OutboxRelay} sends it.
+ */
+@Service
+public class OutboxPublisher {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxPublisher.class);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final ObjectMapper objectMapper;
+    
+    public OutboxPublisher(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Queue an event for the specified topic with a custom partition key.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T extends BaseEvent> void publish(String topic, String key, T event) {
+        if (event.getTenantId() == null) {
+            event.setTenantId(TenantContext.getCurrentTenant());
+        }
+        if (event.getCorrelationId() == null) {
+            event.setCorrelationId(TenantContext.getCorrelationId());
+        }
+        
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event " + event.getEventId(), e);
+        }
+        
+        entityManager.persist(new OutboxEvent(topic, key, payload, event.getTenantId(),
+                event.getCorrelationId(), event.getEventType(), event.getEventId()));
+        
+        log.debug("Queued event in outbox: topic={}, key={}, type={}, eventId={}",
+                topic, key, event.getEventType(), event.getEventId());
+    }
+}
@@ -0,0 +1,91 @@
+package com.ticket.common.kafka;
+
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantSweeper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains every tenant's outbox to Kafka.
+ * Each page is sent as one burst so the producer can batch it (linger.ms, batch.size),
+ * then deleted with a single statement once every send is acknowledged. If a send fails
+ * the page rolls back and is retried on the next tick, so delivery is at least once.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true")
+public class OutboxRelay {
+    
+    private static final String SELECT_SQL =
+            "SELECT id, topic, message_key, payload, tenant_id, correlation_id, event_type, event_id " +
+            "FROM outbox_events WHERE id > ?1 ORDER BY id LIMIT ?2 FOR UPDATE SKIP LOCKED";
+    
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id IN (?1)";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TenantSweeper tenantSweeper;
+    
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+    
+    public OutboxRelay(KafkaTemplate<String, String> kafkaTemplate, TenantSweeper tenantSweeper) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.tenantSweeper = tenantSweeper;
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        tenantSweeper.sweep("outbox-relay", this::relayPage);
+    }
+    
+    SweepPage relayPage(long afterId, int limit) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(SELECT_SQL)
+                .setParameter(1, afterId)
+                .setParameter(2, limit)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return new SweepPage(0, Long.MAX_VALUE);
+        }
+        
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<CompletableFuture<?>> sends = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add(((Number) row[0]).longValue());
+            sends.add(kafkaTemplate.send(EventPublisher.record((String) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (String) row[5], (String) row[6], (String) row[7])));
+        }
+        awaitAcks(sends);
+        
+        entityManager.createNativeQuery(DELETE_SQL)
+                .setParameter(1, ids)
+                .executeUpdate();
+        return new SweepPage(ids.size(), ids.get(ids.size() - 1));
+    }
+    
+    private void awaitAcks(List<CompletableFuture<?>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying outbox", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Outbox relay send failed", e);
+        }
+    }
+}
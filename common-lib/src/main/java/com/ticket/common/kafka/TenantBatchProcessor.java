@@ -0,0 +1,77 @@
+package com.ticket.common.kafka;
+
+import com.ticket.common.event.BaseEvent;
+import com.ticket.common.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Handles a polled batch of events one tenant at a time. Each tenant's events are
+ * deduplicated against processed_events with one statement and handled in one
+ * transaction, so the dedupe marks commit or roll back with the work.
+ */
+@Component
+public class TenantBatchProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantBatchProcessor.class);
+
+    private final IdempotentConsumer idempotentConsumer;
+    private final TransactionTemplate transactionTemplate;
+
+    public TenantBatchProcessor(IdempotentConsumer idempotentConsumer, PlatformTransactionManager transactionManager) {
+        this.idempotentConsumer = idempotentConsumer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Run the handler with each tenant's events that were not processed before.
+     * A failing tenant does not stop the others; the first failure is rethrown at the
+     * end with the rest suppressed, so the batch is redelivered and committed tenants dedupe.
+     */
+    public <E extends BaseEvent> void process(List<E> events, String consumerGroup, String eventType,
+                                              Consumer<List<E>> handler) {
+        Map<String, List<E>> eventsByTenant = events.stream()
+                .collect(Collectors.groupingBy(BaseEvent::getTenantId, LinkedHashMap::new, Collectors.toList()));
+
+        RuntimeException failure = null;
+        for (Map.Entry<String, List<E>> entry : eventsByTenant.entrySet()) {
+            TenantContext.setCurrentTenant(entry.getKey());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Set<String> claimed = idempotentConsumer.claim(
+                            entry.getValue().stream().map(BaseEvent::getEventId).toList(), consumerGroup, eventType);
+                    List<E> fresh = entry.getValue().stream()
+                            .filter(event -> claimed.contains(event.getEventId()))
+                            .toList();
+                    if (!fresh.isEmpty()) {
+                        handler.accept(fresh);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Error processing {} {} events for tenant {}: {}",
+                        entry.getValue().size(), eventType, entry.getKey(), e.getMessage(), e);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            } finally {
+                TenantContext.clear();
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,6 +31,29 @@ public class RedisLockService {
             "    return 0 " +
             "end";
     
+    // Lua script for atomic multi-seat lock - claims every key or none.
+    // Returns 0 on success, otherwise the 1-based index of the first key already held.
+    private static final String MULTI_LOCK_SCRIPT =
+            "for i, key in ipairs(KEYS) do " +
+            "    if redis.call('exists', key) == 1 then " +
+            "        return i " +
+            "    end " +
+            "end " +
+            "for _, key in ipairs(KEYS) do " +
+            "    redis.call('set', key, ARGV[1], 'PX', ARGV[2]) " +
+            "end " +
+            "return 0";
+    
+    // Lua script for atomic multi-seat unlock - only deletes keys whose value matches
+    private static final String MULTI_UNLOCK_SCRIPT =
+            "local released = 0 " +
+            "for _, key in ipairs(KEYS) do " +
+            "    if redis.call('get', key) == ARGV[1] then " +
+            "        released = released + redis.call('del', key) " +
+            "    end " +
+            "end " +
+            "return released";
+    
     private final StringRedisTemplate redisTemplate;
     
     public RedisLockService(StringRedisTemplate redisTemplate) {
@@ -62,6 +86,55 @@ public class RedisLockService {
         return false;
     }
     
+    /**
+     * Atomically lock several seats in one round trip. Either every seat is
+     * claimed with the given value or none is.
+     * All keys must live on the same Redis node (single instance or same hash slot).
+     * 
+     * @param tenantId Tenant identifier
+     * @param seatIds Seat identifiers to claim
+     * @param lockValue Value stored against every seat key (e.g. a lock ID)
+     * @param ttl Lock timeout duration
+     * @return null if all seats were locked, otherwise the first seat already held
+     */
+    public String tryLockSeats(String tenantId, List<String> seatIds, String lockValue, Duration ttl) {
+        List<String> keys = seatIds.stream()
+                .map(seatId -> buildSeatLockKey(tenantId, seatId))
+                .toList();
+        
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>(MULTI_LOCK_SCRIPT, Long.class);
+        Long result = redisTemplate.execute(script, keys, lockValue, String.valueOf(ttl.toMillis()));
+        
+        if (result != null && result == 0) {
+            log.info("Seat locks acquired: tenant={}, seats={}, ttl={}s", 
+                    tenantId, seatIds.size(), ttl.getSeconds());
+            return null;
+        }
+        
+        String conflict = result != null && result > 0 ? seatIds.get(result.intValue() - 1) : seatIds.get(0);
+        log.debug("Seat locks failed (already locked): tenant={}, seat={}", tenantId, conflict);
+        return conflict;
+    }
+    
+    /**
+     * Release seats claimed by {@link #tryLockSeats}. Only keys still holding
+     * the given value are removed.
+     * 
+     * @return number of seat locks released
+     */
+    public long releaseSeatLocks(String tenantId, List<String> seatIds, String lockValue) {
+        List<String> keys = seatIds.stream()
+                .map(seatId -> buildSeatLockKey(tenantId, seatId))
+                .toList();
+        
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>(MULTI_UNLOCK_SCRIPT, Long.class);
+        Long result = redisTemplate.execute(script, keys, lockValue);
+        
+        long released = result != null ? result : 0;
+        log.info("Seat locks released: tenant={}, seats={}", tenantId, released);
+        return released;
+    }
+    
     /**
      * Release a seat lock. Only the user who locked it can release.
      */
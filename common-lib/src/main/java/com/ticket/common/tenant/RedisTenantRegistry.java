@@ -1,82 +1,257 @@
 package com.ticket.common.tenant;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Redis-based tenant registry with caching.
+ * Redis-based tenant registry with caching. Lookups are served from a small
+ * in-process cache in front of Redis, including misses for a shorter time. Every
+ * change is broadcast on a Redis channel so that each instance drops its local copy;
+ * the TTL bounds staleness if a message is lost.
  */
 @Service
-public class RedisTenantRegistry implements TenantRegistry {
+public class RedisTenantRegistry implements TenantRegistry, MessageListener {
     
     private static final Logger log = LoggerFactory.getLogger(RedisTenantRegistry.class);
     private static final String TENANT_KEY_PREFIX = "tenant:";
     private static final Duration CACHE_TTL = Duration.ofMinutes(30);
+    // Not under TENANT_KEY_PREFIX so it cannot collide with a tenant name, and has no TTL
+    private static final String ACTIVE_SCHEMAS_KEY = "tenants:active-schemas";
+    public static final String INVALIDATION_CHANNEL = "tenants:invalidate";
     
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
+    private final Map<String, CachedLookup> localCache = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a lookup racing with it does not cache what it read
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
     
-    public RedisTenantRegistry(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+    public RedisTenantRegistry(StringRedisTemplate redisTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${tenant.cache.max-size:1000}") int maxSize,
+                               @Value("${tenant.cache.ttl-seconds:60}") long ttlSeconds,
+                               @Value("${tenant.cache.negative-ttl-seconds:5}") long negativeTtlSeconds) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
     }
     
     @Override
     public TenantInfo getTenantInfo(String tenantId) {
+        long now = System.nanoTime();
+        CachedLookup cached = localCache.get(tenantId);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.tenantInfo();
+        }
+        
+        long readGeneration = generation.get();
+        TenantInfo info;
         try {
-            String key = TENANT_KEY_PREFIX + tenantId;
-            String json = redisTemplate.opsForValue().get(key);
-            
-            if (json != null) {
-                return objectMapper.readValue(json, TenantInfo.class);
-            }
-            
+            info = readFromRedis(tenantId);
+        } catch (Exception e) {
+            // Not cached, so a Redis outage is not remembered as a missing tenant
+            log.error("Error retrieving tenant info from Redis: {}", e.getMessage());
+            return null;
+        }
+        
+        if (localCache.size() >= maxSize) {
+            // Only reached when lookups for unknown names flood in; the real tenants reload quickly
+            localCache.clear();
+        }
+        // Found tenants live for the full TTL, misses only briefly so new tenants show up fast
+        localCache.put(tenantId, new CachedLookup(info, now + (info != null ? ttlNanos : negativeTtlNanos)));
+        if (generation.get() != readGeneration) {
+            localCache.remove(tenantId);
+        }
+        return info;
+    }
+    
+    private TenantInfo readFromRedis(String tenantId) {
+        String key = TENANT_KEY_PREFIX + tenantId;
+        String json = redisTemplate.opsForValue().get(key);
+        
+        if (json == null) {
             // If not in cache, also try by schema name
             String schemaKey = TENANT_KEY_PREFIX + "schema:" + tenantId;
             json = redisTemplate.opsForValue().get(schemaKey);
-            if (json != null) {
-                return objectMapper.readValue(json, TenantInfo.class);
-            }
-            
-        } catch (Exception e) {
-            log.error("Error retrieving tenant info from Redis: {}", e.getMessage());
+        }
+        if (json == null) {
+            return null;
         }
         
-        return null;
+        try {
+            return objectMapper.readValue(json, TenantInfo.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable tenant info for " + tenantId, e);
+        }
     }
     
     @Override
     public void registerTenant(TenantInfo tenantInfo) {
+        registerTenants(List.of(tenantInfo));
+    }
+    
+    /**
+     * Write many tenants in one pipelined round trip, for loading the whole registry.
+     * Only tenants whose entry differs from the one in Redis are broadcast as changed,
+     * so a periodic reload of unchanged tenants leaves every local cache alone.
+     */
+    public void registerTenants(Collection<TenantInfo> tenants) {
+        if (tenants.isEmpty()) {
+            return;
+        }
         try {
-            String json = objectMapper.writeValueAsString(tenantInfo);
+            Map<TenantInfo, String> payloads = new LinkedHashMap<>();
+            for (TenantInfo tenantInfo : tenants) {
+                payloads.put(tenantInfo, objectMapper.writeValueAsString(tenantInfo));
+            }
+            List<String> changed = changedTenants(payloads);
+            
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                long ttlSeconds = CACHE_TTL.toSeconds();
+                payloads.forEach((tenantInfo, json) -> {
+                    // Stored by ID, schema name and name (subdomain) for lookup
+                    for (String key : keysOf(tenantInfo)) {
+                        redis.setEx(key, ttlSeconds, json);
+                    }
+                    if (tenantInfo.isActive()) {
+                        redis.sAdd(ACTIVE_SCHEMAS_KEY, tenantInfo.getSchemaName());
+                    } else {
+                        redis.sRem(ACTIVE_SCHEMAS_KEY, tenantInfo.getSchemaName());
+                    }
+                });
+                return null;
+            });
+            
+            if (!changed.isEmpty()) {
+                broadcastInvalidation(String.join(",", changed));
+            }
+            log.info("Registered {} tenant(s) in cache, {} changed", tenants.size(), changed.size());
             
-            // Store by ID
-            String idKey = TENANT_KEY_PREFIX + tenantInfo.getId();
-            redisTemplate.opsForValue().set(idKey, json, CACHE_TTL);
+        } catch (Exception e) {
+            log.error("Error registering tenants in Redis: {}", e.getMessage());
+        }
+    }
+    
+    // Ids of the tenants whose stored entry is missing or different, read with one MGET
+    private List<String> changedTenants(Map<TenantInfo, String> payloads) {
+        List<TenantInfo> tenants = List.copyOf(payloads.keySet());
+        List<String> stored = redisTemplate.opsForValue().multiGet(
+                tenants.stream().map(tenant -> TENANT_KEY_PREFIX + tenant.getId()).toList());
+        List<String> changed = new ArrayList<>();
+        for (int i = 0; i < tenants.size(); i++) {
+            String current = stored != null ? stored.get(i) : null;
+            if (!payloads.get(tenants.get(i)).equals(current)) {
+                changed.add(tenants.get(i).getId());
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * Drop schemas from the active set together with their registry entries, for
+     * tenants that were deleted or deactivated without going through the registry.
+     */
+    public void deregisterSchemas(Collection<String> schemas) {
+        if (schemas.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> keys = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            for (String schema : schemas) {
+                keys.add(TENANT_KEY_PREFIX + "schema:" + schema);
+                TenantInfo info = readQuietly(schema);
+                if (info != null) {
+                    keys.addAll(keysOf(info));
+                    removed.add(info.getId());
+                } else {
+                    removed.add(schema);
+                }
+            }
+            redisTemplate.opsForSet().remove(ACTIVE_SCHEMAS_KEY, schemas.toArray());
+            redisTemplate.delete(keys);
             
-            // Store by schema name for lookup
-            String schemaKey = TENANT_KEY_PREFIX + "schema:" + tenantInfo.getSchemaName();
-            redisTemplate.opsForValue().set(schemaKey, json, CACHE_TTL);
+            broadcastInvalidation(String.join(",", removed));
+            log.info("Removed {} inactive tenant(s) from the registry", schemas.size());
             
-            // Store by name (subdomain) for lookup
-            String nameKey = TENANT_KEY_PREFIX + tenantInfo.getName().toLowerCase();
-            redisTemplate.opsForValue().set(nameKey, json, CACHE_TTL);
+        } catch (Exception e) {
+            log.error("Error removing tenants from Redis: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Fill the local cache with every active tenant before the instance reports ready,
+     * so the first requests after a deploy do not all go to Redis at once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long readGeneration = generation.get();
+        try {
+            List<String> schemas = List.copyOf(getActiveSchemas());
+            if (schemas.isEmpty()) {
+                return;
+            }
+            List<String> payloads = redisTemplate.opsForValue().multiGet(
+                    schemas.stream().map(schema -> TENANT_KEY_PREFIX + "schema:" + schema).toList());
+            if (payloads == null) {
+                return;
+            }
             
-            log.info("Registered tenant in cache: {}", tenantInfo.getId());
+            long expiresAt = System.nanoTime() + ttlNanos;
+            int loaded = 0;
+            for (String json : payloads) {
+                if (json == null) {
+                    continue;
+                }
+                TenantInfo info = objectMapper.readValue(json, TenantInfo.class);
+                CachedLookup lookup = new CachedLookup(info, expiresAt);
+                localCache.put(info.getId(), lookup);
+                localCache.put(info.getSchemaName(), lookup);
+                localCache.put(info.getName().toLowerCase(), lookup);
+                loaded++;
+            }
+            if (generation.get() != readGeneration) {
+                clearLocalCache();
+            }
+            log.info("Warmed local tenant cache with {} tenants", loaded);
             
         } catch (Exception e) {
-            log.error("Error registering tenant in Redis: {}", e.getMessage());
+            // Lookups fall through to Redis as usual
+            log.warn("Failed to warm local tenant cache: {}", e.getMessage());
         }
     }
     
     @Override
     public void updateTenantStatus(String tenantId, String status) {
-        TenantInfo info = getTenantInfo(tenantId);
+        // Read past the local cache; its entries are shared and must not be modified
+        TenantInfo info = readQuietly(tenantId);
         if (info != null) {
             info.setStatus(status);
             registerTenant(info);
@@ -86,13 +261,12 @@ public class RedisTenantRegistry implements TenantRegistry {
     @Override
     public void invalidateCache(String tenantId) {
         try {
-            TenantInfo info = getTenantInfo(tenantId);
+            TenantInfo info = readQuietly(tenantId);
             if (info != null) {
-                redisTemplate.delete(TENANT_KEY_PREFIX + info.getId());
-                redisTemplate.delete(TENANT_KEY_PREFIX + "schema:" + info.getSchemaName());
-                redisTemplate.delete(TENANT_KEY_PREFIX + info.getName().toLowerCase());
+                redisTemplate.delete(keysOf(info));
             }
             
+            broadcastInvalidation(tenantId);
             log.info("Invalidated cache for tenant: {}", tenantId);
             
         } catch (Exception e) {
@@ -104,4 +278,59 @@ public class RedisTenantRegistry implements TenantRegistry {
     public boolean tenantExists(String tenantId) {
         return getTenantInfo(tenantId) != null;
     }
+    
+    @Override
+    public Set<String> getActiveSchemas() {
+        try {
+            Set<String> schemas = redisTemplate.opsForSet().members(ACTIVE_SCHEMAS_KEY);
+            return schemas != null ? schemas : Set.of();
+        } catch (Exception e) {
+            log.error("Error listing active tenants from Redis: {}", e.getMessage());
+            return Set.of();
+        }
+    }
+    
+    /**
+     * A tenant changed on some instance. A tenant is cached under its id, name and
+     * schema, and the set is small, so the whole local cache is dropped.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        clearLocalCache();
+        log.debug("Dropped local tenant cache after change to {}", new String(message.getBody()));
+    }
+    
+    private static List<String> keysOf(TenantInfo tenantInfo) {
+        return List.of(
+                TENANT_KEY_PREFIX + tenantInfo.getId(),
+                TENANT_KEY_PREFIX + "schema:" + tenantInfo.getSchemaName(),
+                TENANT_KEY_PREFIX + tenantInfo.getName().toLowerCase());
+    }
+    
+    private TenantInfo readQuietly(String tenantId) {
+        try {
+            return readFromRedis(tenantId);
+        } catch (Exception e) {
+            log.error("Error retrieving tenant info from Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private void clearLocalCache() {
+        generation.incrementAndGet();
+        localCache.clear();
+    }
+    
+    private void broadcastInvalidation(String tenantId) {
+        clearLocalCache();
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, tenantId);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast tenant change for {}, other instances refresh on TTL: {}",
+                    tenantId, e.getMessage());
+        }
+    }
+    
+    private record CachedLookup(TenantInfo tenantInfo, long expiresAt) {
+    }
 }
@@ -1,22 +1,72 @@
 package com.ticket.common.tenant;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
 import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Provides tenant-specific database connections by switching schemas.
+ * The schema last set on each physical connection is remembered, so a checkout for
+ * the tenant the connection already serves costs no round trip, and connections are
+ * returned to the pool without resetting it. Tenants listed in
+ * tenant.connection.dedicated-schemas get a small pool of their own whose
+ * connections are opened in their schema and never switch. Connections from the
+ * shared pool are handed out through the tenant connection bulkhead.
  */
 @Component
 public class SchemaBasedMultiTenantConnectionProvider implements MultiTenantConnectionProvider<String> {
     
+    private static final Logger log = LoggerFactory.getLogger(SchemaBasedMultiTenantConnectionProvider.class);
+    
     private final DataSource dataSource;
+    private final TenantBulkhead connectionBulkhead;
+    private final Map<String, HikariDataSource> dedicatedPools = new HashMap<>();
+    // Keyed by the physical connection, so entries go away when the pool closes it
+    private final Map<Connection, String> currentSchemas = Collections.synchronizedMap(new WeakHashMap<>());
     
-    public SchemaBasedMultiTenantConnectionProvider(DataSource dataSource) {
+    public SchemaBasedMultiTenantConnectionProvider(
+            DataSource dataSource,
+            @Qualifier("connectionBulkhead") TenantBulkhead connectionBulkhead,
+            @Value("${tenant.connection.dedicated-schemas:}") List<String> dedicatedSchemas,
+            @Value("${tenant.connection.dedicated-pool-size:4}") int dedicatedPoolSize) {
         this.dataSource = dataSource;
+        this.connectionBulkhead = connectionBulkhead;
+        for (String schema : dedicatedSchemas) {
+            if (schema.isBlank()) {
+                continue;
+            }
+            if (!(dataSource instanceof HikariDataSource shared)) {
+                log.warn("Dedicated tenant pools need a Hikari data source, {} uses the shared pool", schema);
+                continue;
+            }
+            dedicatedPools.put(schema, createDedicatedPool(shared, schema, dedicatedPoolSize));
+        }
+    }
+    
+    private static HikariDataSource createDedicatedPool(HikariDataSource shared, String schema, int size) {
+        HikariConfig config = new HikariConfig();
+        shared.copyStateTo(config);
+        config.setPoolName(shared.getPoolName() + "-" + schema);
+        config.setSchema(schema);
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(size);
+        log.info("Opening dedicated pool of {} connections for tenant schema {}", size, schema);
+        return new HikariDataSource(config);
     }
     
     @Override
@@ -31,15 +81,59 @@ public class SchemaBasedMultiTenantConnectionProvider implements MultiTenantConn
     
     @Override
     public Connection getConnection(String tenantIdentifier) throws SQLException {
-        Connection connection = getAnyConnection();
-        connection.setSchema(tenantIdentifier);
-        return connection;
+        HikariDataSource dedicated = dedicatedPools.get(tenantIdentifier);
+        if (dedicated != null) {
+            return dedicated.getConnection();
+        }
+        
+        if (!connectionBulkhead.acquire(tenantIdentifier)) {
+            throw new TenantConnectionLimitException(tenantIdentifier);
+        }
+        Connection connection = null;
+        try {
+            connection = getAnyConnection();
+            switchSchema(connection, tenantIdentifier);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            if (connection != null) {
+                releaseAnyConnection(connection);
+            }
+            connectionBulkhead.release(tenantIdentifier);
+            throw e;
+        }
     }
     
     @Override
     public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
-        connection.setSchema("public");
-        releaseAnyConnection(connection);
+        if (dedicatedPools.containsKey(tenantIdentifier)) {
+            releaseAnyConnection(connection);
+            return;
+        }
+        try {
+            // Left in the tenant's schema; the next checkout switches only if it needs another one
+            releaseAnyConnection(connection);
+        } finally {
+            connectionBulkhead.release(tenantIdentifier);
+        }
+    }
+    
+    private void switchSchema(Connection connection, String schema) throws SQLException {
+        Connection physical = connection.unwrap(Connection.class);
+        if (schema.equals(currentSchemas.get(physical))) {
+            return;
+        }
+        
+        currentSchemas.remove(physical);
+        connection.setSchema(schema);
+        // Inside a transaction the switch is undone by a rollback, so it is not remembered
+        if (connection.getAutoCommit()) {
+            currentSchemas.put(physical, schema);
+        }
+    }
+    
+    @PreDestroy
+    public void closeDedicatedPools() {
+        dedicatedPools.values().forEach(HikariDataSource::close);
     }
     
     @Override
@@ -0,0 +1,14 @@
+package com.ticket.common.tenant;
+
+/**
+ * One page of a tenant sweep, run by {@link TenantSweeper} in its own transaction
+ * with the tenant already set in {@link TenantContext}.
+ */
+@FunctionalInterface
+public interface SweepChunk {
+    
+    /**
+     * Process up to {@code limit} rows whose id is greater than {@code afterId}.
+     */
+    SweepPage process(long afterId, int limit);
+}
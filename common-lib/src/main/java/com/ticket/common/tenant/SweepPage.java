@@ -0,0 +1,27 @@
+package com.ticket.common.tenant;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Result of one {@link SweepChunk}: rows touched, the id to continue after and whether
+ * more work is left regardless of how many rows the page held.
+ */
+public record SweepPage(int rows, long lastId, boolean more) {
+    
+    public SweepPage(int rows, long lastId) {
+        this(rows, lastId, false);
+    }
+    
+    public static <T> SweepPage of(List<T> rows, ToLongFunction<T> id) {
+        long lastId = rows.stream().mapToLong(id).max().orElse(Long.MAX_VALUE);
+        return new SweepPage(rows.size(), lastId);
+    }
+    
+    /**
+     * A page that left work at the same position, so the next chunk starts after {@code afterId} again.
+     */
+    public static SweepPage continueAt(int rows, long afterId) {
+        return new SweepPage(rows, afterId, true);
+    }
+}
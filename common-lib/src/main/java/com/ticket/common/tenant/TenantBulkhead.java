@@ -0,0 +1,258 @@
+package com.ticket.common.tenant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps how much of a shared resource each tenant can hold, so one tenant's on-sale
+ * cannot take every thread or connection. A tenant may hold base-permits times the
+ * weight of its plan, and all tenants together at most the capacity. Callers that
+ * have to wait are admitted by weighted fair queuing: each gets a virtual finish
+ * time that advances by 1/weight per request of its tenant, and the earliest
+ * eligible finish time goes next, so a tenant with a long queue cannot starve others.
+ * <p>
+ * Permits are reentrant per thread and must be released on the thread that took them.
+ */
+public class TenantBulkhead {
+
+    private final String name;
+    private final int capacity;
+    private final int basePermits;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final TenantRegistry tenantRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final TreeSet<Waiter> waiting = new TreeSet<>(
+            Comparator.comparingDouble(Waiter::finishTag).thenComparingLong(Waiter::sequence));
+    private final ThreadLocal<Map<String, Integer>> held = ThreadLocal.withInitial(HashMap::new);
+    private int inUse;
+    private double virtualTime;
+    private long sequence;
+
+    public TenantBulkhead(String name, int capacity, int basePermits, int maxQueued, long maxWaitMs,
+                          TenantRegistry tenantRegistry, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.capacity = capacity;
+        this.basePermits = basePermits;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.tenantRegistry = tenantRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Take a permit for the tenant, waiting up to max-wait behind other tenants.
+     *
+     * @return false if the tenant is over its share for longer than max-wait
+     */
+    public boolean acquire(String tenantId) {
+        Map<String, Integer> holds = held.get();
+        Integer count = holds.get(tenantId);
+        if (count != null) {
+            holds.put(tenantId, count + 1);
+            return true;
+        }
+
+        boolean acquired;
+        try {
+            acquired = acquirePermit(tenantId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (acquired) {
+            holds.put(tenantId, 1);
+        }
+        return acquired;
+    }
+
+    public void release(String tenantId) {
+        Map<String, Integer> holds = held.get();
+        Integer count = holds.get(tenantId);
+        if (count != null && count > 1) {
+            holds.put(tenantId, count - 1);
+            return;
+        }
+        holds.remove(tenantId);
+
+        lock.lock();
+        try {
+            Lane lane = lanes.get(tenantId);
+            if (lane == null || lane.inFlight == 0) {
+                return;
+            }
+            lane.inFlight--;
+            inUse--;
+            admitWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean acquirePermit(String tenantId) throws InterruptedException {
+        int weight = weightOf(tenantId);
+        lock.lock();
+        try {
+            Lane lane = lane(tenantId);
+            lane.limit = basePermits * weight;
+            double finishTag = Math.max(virtualTime, lane.lastFinish) + 1.0 / weight;
+
+            boolean queueAhead = !waiting.isEmpty() && waiting.first().finishTag() < finishTag;
+            if (!queueAhead && inUse < capacity && lane.inFlight < lane.limit) {
+                lane.lastFinish = finishTag;
+                grant(lane, finishTag);
+                return true;
+            }
+            if (waiting.size() >= maxQueued) {
+                lane.rejected.increment();
+                return false;
+            }
+
+            Waiter waiter = new Waiter(lane, finishTag, lane.lastFinish, sequence++, lock.newCondition());
+            lane.lastFinish = finishTag;
+            lane.queued++;
+            waiting.add(waiter);
+            admitWaiters();
+
+            long remaining = maxWaitNanos;
+            try {
+                while (!waiter.granted && remaining > 0) {
+                    remaining = waiter.signal.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // Granted while being interrupted; keep the permit so it is released normally
+                    Thread.currentThread().interrupt();
+                    return true;
+                }
+                withdraw(waiter);
+                throw e;
+            }
+            if (waiter.granted) {
+                return true;
+            }
+            withdraw(waiter);
+            lane.rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock. A request that never ran must not push back its tenant's later ones.
+    private void withdraw(Waiter waiter) {
+        waiting.remove(waiter);
+        waiter.lane.queued--;
+        if (waiter.lane.lastFinish == waiter.finishTag) {
+            waiter.lane.lastFinish = waiter.previousFinish;
+        }
+    }
+
+    // Caller holds the lock
+    private void admitWaiters() {
+        Iterator<Waiter> candidates = waiting.iterator();
+        while (inUse < capacity && candidates.hasNext()) {
+            Waiter waiter = candidates.next();
+            if (waiter.lane.inFlight >= waiter.lane.limit) {
+                continue;
+            }
+            candidates.remove();
+            waiter.lane.queued--;
+            waiter.granted = true;
+            grant(waiter.lane, waiter.finishTag);
+            waiter.signal.signal();
+        }
+    }
+
+    // Caller holds the lock
+    private void grant(Lane lane, double finishTag) {
+        lane.inFlight++;
+        inUse++;
+        virtualTime = Math.max(virtualTime, finishTag);
+    }
+
+    private int weightOf(String tenantId) {
+        TenantInfo info = tenantRegistry.getTenantInfo(tenantId);
+        String plan = info != null && info.getPlan() != null ? info.getPlan().toUpperCase() : "";
+        return switch (plan) {
+            case "ENTERPRISE" -> 4;
+            case "PROFESSIONAL" -> 2;
+            default -> 1;
+        };
+    }
+
+    private Lane lane(String tenantId) {
+        return lanes.computeIfAbsent(tenantId, this::registerLane);
+    }
+
+    private Lane registerLane(String tenantId) {
+        Lane lane = new Lane(Counter.builder("tenant.bulkhead.rejected")
+                .tag("bulkhead", name)
+                .tag("tenant", tenantId)
+                .register(meterRegistry));
+        Gauge.builder("tenant.bulkhead.in.flight", lane, l -> l.inFlight)
+                .tag("bulkhead", name)
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        Gauge.builder("tenant.bulkhead.queued", lane, l -> l.queued)
+                .tag("bulkhead", name)
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        Gauge.builder("tenant.bulkhead.saturation", lane, l -> l.limit == 0 ? 0 : (double) l.inFlight / l.limit)
+                .tag("bulkhead", name)
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        return lane;
+    }
+
+    private static final class Lane {
+        private final Counter rejected;
+        private volatile int inFlight;
+        private volatile int queued;
+        private volatile int limit;
+        private double lastFinish;
+
+        private Lane(Counter rejected) {
+            this.rejected = rejected;
+        }
+    }
+
+    private static final class Waiter {
+        private final Lane lane;
+        private final double finishTag;
+        private final double previousFinish;
+        private final long sequence;
+        private final Condition signal;
+        private boolean granted;
+
+        private Waiter(Lane lane, double finishTag, double previousFinish, long sequence, Condition signal) {
+            this.lane = lane;
+            this.finishTag = finishTag;
+            this.previousFinish = previousFinish;
+            this.sequence = sequence;
+            this.signal = signal;
+        }
+
+        double finishTag() {
+            return finishTag;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ticket.common.tenant;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown when a tenant already holds its share of database connections and no
+ * connection came free within the bulkhead's max wait.
+ */
+public class TenantConnectionLimitException extends SQLTransientConnectionException {
+
+    public TenantConnectionLimitException(String tenantIdentifier) {
+        super("Tenant " + tenantIdentifier + " is using its share of database connections");
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
@@ -34,10 +35,13 @@ public class TenantFilter extends OncePerRequestFilter {
     
     private final TenantRegistry tenantRegistry;
     private final ObjectMapper objectMapper;
+    private final TenantBulkhead requestBulkhead;
     
-    public TenantFilter(TenantRegistry tenantRegistry, ObjectMapper objectMapper) {
+    public TenantFilter(TenantRegistry tenantRegistry, ObjectMapper objectMapper,
+                        @Qualifier("requestBulkhead") TenantBulkhead requestBulkhead) {
         this.tenantRegistry = tenantRegistry;
         this.objectMapper = objectMapper;
+        this.requestBulkhead = requestBulkhead;
     }
     
     @Override
@@ -92,7 +96,18 @@ public class TenantFilter extends OncePerRequestFilter {
             
             log.debug("Request for tenant: {} (schema: {})", tenantId, tenantInfo.getSchemaName());
             
-            filterChain.doFilter(request, response);
+            // Keep one tenant's burst from taking every worker thread
+            if (!requestBulkhead.acquire(tenantInfo.getSchemaName())) {
+                response.setHeader("Retry-After", "1");
+                sendErrorResponse(response, HttpStatus.TOO_MANY_REQUESTS,
+                        "TENANT_CONCURRENCY_LIMIT", "Too many concurrent requests for tenant: " + tenantId);
+                return;
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                requestBulkhead.release(tenantInfo.getSchemaName());
+            }
             
         } finally {
             TenantContext.clear();
@@ -1,5 +1,7 @@
 package com.ticket.common.tenant;
 
+import java.util.Set;
+
 /**
  * Interface for tenant registry operations.
  * Implementations can use database, Redis cache, or both.
@@ -30,4 +32,9 @@ public interface TenantRegistry {
      * Check if tenant exists.
      */
     boolean tenantExists(String tenantId);
+    
+    /**
+     * Schema names of all active tenants, used by background jobs that sweep every tenant.
+     */
+    Set<String> getActiveSchemas();
 }
@@ -0,0 +1,150 @@
+package com.ticket.common.tenant;
+
+import com.ticket.common.redis.RedisLockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs a scheduled sweep once per active tenant.
+ * Scheduled jobs have no TenantContext and would otherwise only reach tenant_default.
+ * Tenants are swept in parallel on a bounded pool, each under a Redis lease so only one
+ * replica sweeps a tenant at a time, and each page commits in its own transaction.
+ * Every named sweep gets its own pool, so a slow sweep never queues the fast ones
+ * (outbox relay, lock expiry) behind its tenants.
+ */
+@Component
+public class TenantSweeper {
+    
+    private static final Logger log = LoggerFactory.getLogger(TenantSweeper.class);
+    
+    private final TenantRegistry tenantRegistry;
+    private final RedisLockService lockService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final int parallelism;
+    private final String instanceId = UUID.randomUUID().toString();
+    
+    @Value("${sweep.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${sweep.max-chunks:100}")
+    private int maxChunks;
+    
+    @Value("${sweep.lease-seconds:300}")
+    private long leaseSeconds;
+    
+    public TenantSweeper(TenantRegistry tenantRegistry,
+                         RedisLockService lockService,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${sweep.parallelism:4}") int parallelism) {
+        this.tenantRegistry = tenantRegistry;
+        this.lockService = lockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.parallelism = parallelism;
+    }
+    
+    /**
+     * Sweep every active tenant and wait for all of them, so a fixed-rate schedule
+     * never overlaps itself. A failing tenant is logged and does not stop the others.
+     */
+    public void sweep(String name, SweepChunk chunk) {
+        forEachTenant(name, tenant -> sweepTenant(name, tenant, chunk));
+    }
+    
+    /**
+     * Like {@link #sweep} but without the per-tenant lease, so every replica works on
+     * every tenant. Only for chunks that claim their rows with FOR UPDATE SKIP LOCKED.
+     */
+    public void sweepConcurrently(String name, SweepChunk chunk) {
+        forEachTenant(name, tenant -> runPages(name, tenant, chunk));
+    }
+    
+    private void forEachTenant(String name, Consumer<String> task) {
+        ExecutorService executor = executors.computeIfAbsent(name, key ->
+                Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("sweep-" + key + "-")));
+        List<CompletableFuture<Void>> sweeps = sweptSchemas().stream()
+                .map(tenant -> CompletableFuture.runAsync(() -> task.accept(tenant), executor))
+                .toList();
+        CompletableFuture.allOf(sweeps.toArray(CompletableFuture[]::new)).join();
+    }
+    
+    // Until the registry has been loaded the set is empty; the default schema is still swept
+    private Set<String> sweptSchemas() {
+        Set<String> schemas = tenantRegistry.getActiveSchemas();
+        if (schemas.isEmpty()) {
+            log.debug("No active tenants registered, sweeping {} only", TenantIdentifierResolver.DEFAULT_TENANT);
+            return Set.of(TenantIdentifierResolver.DEFAULT_TENANT);
+        }
+        return schemas;
+    }
+    
+    void sweepTenant(String name, String tenant, SweepChunk chunk) {
+        String lease = "sweep:" + name + ":" + tenant;
+        if (!lockService.acquireLock(lease, instanceId, Duration.ofSeconds(leaseSeconds))) {
+            log.debug("Skipping {} for tenant {}: another instance holds the lease", name, tenant);
+            return;
+        }
+        try {
+            runPages(name, tenant, chunk);
+        } finally {
+            lockService.releaseLock(lease, instanceId);
+        }
+    }
+    
+    private void runPages(String name, String tenant, SweepChunk chunk) {
+        TenantContext.setCurrentTenant(tenant);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long rows = 0;
+        try {
+            long cursor = 0;
+            for (int chunks = 0; chunks < maxChunks; chunks++) {
+                long afterId = cursor;
+                SweepPage page = transactionTemplate.execute(status -> chunk.process(afterId, chunkSize));
+                if (page == null) {
+                    break;
+                }
+                rows += page.rows();
+                cursor = page.lastId();
+                if (!page.more() && page.rows() < chunkSize) {
+                    break;
+                }
+            }
+            if (rows > 0) {
+                log.info("Sweep {} touched {} rows for tenant {}", name, rows, tenant);
+            }
+        } catch (RuntimeException e) {
+            log.error("Sweep {} failed for tenant {}: {}", name, tenant, e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("tenant.sweep.duration", "sweep", name, "tenant", tenant));
+            meterRegistry.counter("tenant.sweep.rows", "sweep", name, "tenant", tenant).increment(rows);
+            TenantContext.clear();
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executors.values().forEach(ExecutorService::shutdownNow);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ticket.common.tenant;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects that must not be seen before the surrounding transaction commits,
+ * such as cache updates, Redis writes and messages. Outside a transaction the action
+ * runs straight away. Actions run on the committing thread, so they should be quick;
+ * anything that waits on another system belongs on an executor.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.ticket.common.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.common.config.JacksonConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Redis Tenant Registry Unit Tests")
+class RedisTenantRegistryTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private String tenantJson;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        tenantJson = objectMapper.writeValueAsString(
+                new TenantInfo("t1", "acme", "tenant_acme", "ACTIVE", "BASIC"));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the local cache")
+    void shouldServeRepeatedLookupsLocally() {
+        RedisTenantRegistry registry = registry(60, 5);
+        when(valueOperations.get("tenant:t1")).thenReturn(tenantJson);
+
+        TenantInfo first = registry.getTenantInfo("t1");
+        TenantInfo second = registry.getTenantInfo("t1");
+
+        assertThat(first.getSchemaName()).isEqualTo("tenant_acme");
+        assertThat(second).isSameAs(first);
+        verify(valueOperations, times(1)).get("tenant:t1");
+    }
+
+    @Test
+    @DisplayName("Should drop the local cache when another instance announces a change")
+    void shouldDropLocalCacheOnInvalidation() {
+        RedisTenantRegistry registry = registry(60, 5);
+        when(valueOperations.get("tenant:t1")).thenReturn(tenantJson);
+        registry.getTenantInfo("t1");
+
+        registry.onMessage(new DefaultMessage(RedisTenantRegistry.INVALIDATION_CHANNEL.getBytes(), "t1".getBytes()), null);
+        registry.getTenantInfo("t1");
+
+        verify(valueOperations, times(2)).get("tenant:t1");
+    }
+
+    @Test
+    @DisplayName("Should remember a missing tenant only for the negative TTL")
+    void shouldCacheMissesBriefly() {
+        RedisTenantRegistry cachingMisses = registry(60, 5);
+
+        assertThat(cachingMisses.getTenantInfo("unknown")).isNull();
+        assertThat(cachingMisses.getTenantInfo("unknown")).isNull();
+        verify(valueOperations, times(1)).get("tenant:unknown");
+
+        RedisTenantRegistry notCachingMisses = registry(60, 0);
+
+        notCachingMisses.getTenantInfo("unknown");
+        notCachingMisses.getTenantInfo("unknown");
+        verify(valueOperations, times(3)).get("tenant:unknown");
+    }
+
+    @Test
+    @DisplayName("Should not cache a Redis failure as a missing tenant")
+    void shouldNotCacheRedisFailures() {
+        RedisTenantRegistry registry = registry(60, 5);
+        when(valueOperations.get("tenant:t1"))
+                .thenThrow(new RuntimeException("Connection refused"))
+                .thenReturn(tenantJson);
+
+        assertThat(registry.getTenantInfo("t1")).isNull();
+        assertThat(registry.getTenantInfo("t1")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop its own cache and broadcast when a tenant is invalidated")
+    void shouldBroadcastLocalInvalidation() {
+        RedisTenantRegistry registry = registry(60, 5);
+        when(valueOperations.get("tenant:t1")).thenReturn(tenantJson);
+        registry.getTenantInfo("t1");
+
+        registry.invalidateCache("t1");
+        registry.getTenantInfo("t1");
+
+        verify(redisTemplate).convertAndSend(RedisTenantRegistry.INVALIDATION_CHANNEL, "t1");
+        // One cached lookup, one read by invalidateCache, one after the cache was dropped
+        verify(valueOperations, times(3)).get("tenant:t1");
+    }
+
+    private RedisTenantRegistry registry(long ttlSeconds, long negativeTtlSeconds) {
+        return new RedisTenantRegistry(redisTemplate, objectMapper, 100, ttlSeconds, negativeTtlSeconds);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ticket.common.tenant;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Schema Based Multi-Tenant Connection Provider Unit Tests")
+class SchemaBasedMultiTenantConnectionProviderTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private TenantBulkhead connectionBulkhead;
+
+    @Mock
+    private Connection connection;
+
+    private SchemaBasedMultiTenantConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        provider = new SchemaBasedMultiTenantConnectionProvider(dataSource, connectionBulkhead, List.of(), 4);
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.unwrap(Connection.class)).thenReturn(connection);
+        lenient().when(connectionBulkhead.acquire(anyString())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should switch a connection's schema only when it serves another tenant")
+    void shouldSkipRedundantSchemaSwitches() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        checkout("tenant_a");
+        checkout("tenant_a");
+        checkout("tenant_b");
+
+        verify(connection, times(1)).setSchema("tenant_a");
+        verify(connection, times(1)).setSchema("tenant_b");
+    }
+
+    @Test
+    @DisplayName("Should not remember a switch made inside a transaction")
+    void shouldSwitchAgainAfterTransactionalCheckout() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        checkout("tenant_a");
+        checkout("tenant_a");
+
+        verify(connection, times(2)).setSchema("tenant_a");
+    }
+
+    @Test
+    @DisplayName("Should reject a tenant over its connection share without taking a connection")
+    void shouldRejectWhenBulkheadIsFull() throws SQLException {
+        when(connectionBulkhead.acquire("tenant_a")).thenReturn(false);
+
+        assertThatThrownBy(() -> provider.getConnection("tenant_a"))
+                .isInstanceOf(TenantConnectionLimitException.class);
+
+        verify(dataSource, never()).getConnection();
+        verify(connectionBulkhead, never()).release(anyString());
+    }
+
+    @Test
+    @DisplayName("Should give back the connection and the permit when the switch fails")
+    void shouldReleaseOnFailedSwitch() throws SQLException {
+        doThrow(new SQLException("schema does not exist")).when(connection).setSchema("tenant_a");
+
+        assertThatThrownBy(() -> provider.getConnection("tenant_a")).isInstanceOf(SQLException.class);
+
+        verify(connection).close();
+        verify(connectionBulkhead).release("tenant_a");
+    }
+
+    @Test
+    @DisplayName("Should serve dedicated tenants from their own pool outside the bulkhead")
+    void shouldUseDedicatedPool() throws SQLException {
+        HikariDataSource dedicated = mock(HikariDataSource.class);
+        Connection dedicatedConnection = mock(Connection.class);
+        when(dedicated.getConnection()).thenReturn(dedicatedConnection);
+        ReflectionTestUtils.setField(provider, "dedicatedPools", Map.of("tenant_vip", dedicated));
+
+        Connection checkedOut = provider.getConnection("tenant_vip");
+        provider.releaseConnection("tenant_vip", checkedOut);
+
+        assertThat(checkedOut).isSameAs(dedicatedConnection);
+        verify(dedicatedConnection, never()).setSchema(anyString());
+        verify(dedicatedConnection).close();
+        verifyNoInteractions(connectionBulkhead, dataSource);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the shared pool when the data source is not Hikari")
+    void shouldFallBackWithoutHikari() throws SQLException {
+        provider = new SchemaBasedMultiTenantConnectionProvider(dataSource, connectionBulkhead, List.of("tenant_vip"), 4);
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        checkout("tenant_vip");
+
+        verify(connectionBulkhead).acquire("tenant_vip");
+        verify(connection).setSchema("tenant_vip");
+    }
+
+    private void checkout(String tenant) throws SQLException {
+        Connection checkedOut = provider.getConnection(tenant);
+        provider.releaseConnection(tenant, checkedOut);
+        verify(connectionBulkhead, atLeastOnce()).release(tenant);
+    }
+}
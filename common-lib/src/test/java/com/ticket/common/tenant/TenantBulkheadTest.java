@@ -0,0 +1,148 @@
+package com.ticket.common.tenant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tenant Bulkhead Unit Tests")
+class TenantBulkheadTest {
+
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private final List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+    private CountDownLatch latch = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(tenantRegistry.getTenantInfo(anyString())).thenAnswer(i -> {
+            String tenant = i.getArgument(0);
+            return new TenantInfo(tenant, tenant, tenant, "ACTIVE",
+                    tenant.startsWith("enterprise") ? "ENTERPRISE" : "BASIC");
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(2000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should admit waiters in weighted fair order across tenants")
+    void shouldAdmitWaitersInWeightedFairOrder() throws InterruptedException {
+        TenantBulkhead bulkhead = bulkhead(5000);
+        CountDownLatch done = expectAdmissions(7);
+        assertThat(bulkhead.acquire("holder")).isTrue();
+
+        // finish tags: basic 2, 3, 4; enterprise 1.25, 1.5, 1.75, 2
+        for (int i = 0; i < 3; i++) {
+            enqueue(bulkhead, "basic");
+        }
+        for (int i = 0; i < 4; i++) {
+            enqueue(bulkhead, "enterprise");
+        }
+        bulkhead.release("holder");
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(admitted).containsExactly(
+                "enterprise", "enterprise", "enterprise", "basic", "enterprise", "basic", "basic");
+    }
+
+    @Test
+    @DisplayName("Should not push back a tenant's next request after its waiter timed out")
+    void shouldRestoreFinishTagWhenWaiterTimesOut() throws InterruptedException {
+        TenantBulkhead bulkhead = bulkhead(200);
+        CountDownLatch done = expectAdmissions(2);
+        assertThat(bulkhead.acquire("holder")).isTrue();
+
+        assertThat(acquireOnOtherThread(bulkhead, "basic-a")).isFalse();
+        assertThat(meterRegistry.get("tenant.bulkhead.rejected").tag("tenant", "basic-a").counter().count())
+                .isEqualTo(1);
+
+        // Without the rollback basic-a would queue at finish tag 3, behind basic-b at 2
+        enqueue(bulkhead, "basic-a");
+        enqueue(bulkhead, "basic-b");
+        bulkhead.release("holder");
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(admitted).containsExactly("basic-a", "basic-b");
+    }
+
+    @Test
+    @DisplayName("Should cap a tenant at its plan's share while others still get permits")
+    void shouldCapTenantAtItsShare() throws InterruptedException {
+        TenantBulkhead bulkhead = new TenantBulkhead("test", 10, 1, 0, 0, tenantRegistry, meterRegistry);
+
+        assertThat(bulkhead.acquire("basic")).isTrue();
+        assertThat(acquireOnOtherThread(bulkhead, "basic")).isFalse();
+        assertThat(bulkhead.acquire("enterprise")).isTrue();
+        assertThat(meterRegistry.get("tenant.bulkhead.rejected").tag("tenant", "basic").counter().count())
+                .isEqualTo(1);
+    }
+
+    private TenantBulkhead bulkhead(long maxWaitMs) {
+        return new TenantBulkhead("test", 1, 10, 100, maxWaitMs, tenantRegistry, meterRegistry);
+    }
+
+    private CountDownLatch expectAdmissions(int count) {
+        latch = new CountDownLatch(count);
+        return latch;
+    }
+
+    // Permits are per thread, so a second caller of the same tenant has to be another thread
+    private boolean acquireOnOtherThread(TenantBulkhead bulkhead, String tenant) throws InterruptedException {
+        AtomicBoolean acquired = new AtomicBoolean();
+        Thread thread = new Thread(() -> acquired.set(bulkhead.acquire(tenant)));
+        thread.start();
+        thread.join(2000);
+        return acquired.get();
+    }
+
+    // Starts a thread that waits for a permit, and returns once it is queued
+    private void enqueue(TenantBulkhead bulkhead, String tenant) throws InterruptedException {
+        double queued = queued(tenant);
+        Thread thread = new Thread(() -> {
+            if (bulkhead.acquire(tenant)) {
+                admitted.add(tenant);
+                latch.countDown();
+                bulkhead.release(tenant);
+            }
+        });
+        threads.add(thread);
+        thread.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (queued(tenant) <= queued && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(queued(tenant)).isGreaterThan(queued);
+    }
+
+    private double queued(String tenant) {
+        var gauge = meterRegistry.find("tenant.bulkhead.queued").tag("tenant", tenant).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+}
@@ -2,6 +2,7 @@ package com.ticket.event;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -12,6 +13,7 @@ import java.util.TimeZone;
 @EnableDiscoveryClient
 @EnableScheduling
 @ComponentScan(basePackages = {"com.ticket.event", "com.ticket.common"})
+@EntityScan(basePackages = {"com.ticket.event", "com.ticket.common.entity"})
 public class EventServiceApplication {
     static {
         TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
@@ -1,9 +1,12 @@
 package com.ticket.event.config;
 
+import com.ticket.event.service.SeatMapStreamService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -21,4 +24,14 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    @Bean
+    public RedisMessageListenerContainer seatUpdatesListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      SeatMapStreamService seatMapStreamService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(seatMapStreamService,
+                new PatternTopic(SeatMapStreamService.SEAT_UPDATES_CHANNEL_PREFIX + "*"));
+        return container;
+    }
 }
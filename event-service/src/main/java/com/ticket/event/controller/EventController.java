@@ -5,6 +5,8 @@ import com.ticket.event.dto.*;
 import com.ticket.event.entity.EventCategory;
 import com.ticket.event.service.EventService;
 import com.ticket.event.service.SeatLockService;
+import com.ticket.event.service.SeatMapStreamService;
+import com.ticket.event.service.WaitingRoomService;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -13,10 +15,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -29,10 +33,15 @@ public class EventController {
 
     private final EventService eventService;
     private final SeatLockService seatLockService;
+    private final SeatMapStreamService seatMapStreamService;
+    private final WaitingRoomService waitingRoomService;
 
-    public EventController(EventService eventService, SeatLockService seatLockService) {
+    public EventController(EventService eventService, SeatLockService seatLockService,
+                           SeatMapStreamService seatMapStreamService, WaitingRoomService waitingRoomService) {
         this.eventService = eventService;
         this.seatLockService = seatLockService;
+        this.seatMapStreamService = seatMapStreamService;
+        this.waitingRoomService = waitingRoomService;
     }
 
     @PostMapping
@@ -150,11 +159,26 @@ public class EventController {
         return ResponseEntity.ok(eventService.getAvailableSeats(eventId));
     }
 
+    @GetMapping("/{eventId}/seats/availability")
+    public ResponseEntity<SeatAvailabilityResponse> getSeatAvailability(@PathVariable Long eventId) {
+        return ResponseEntity.ok(eventService.getSeatAvailability(eventId));
+    }
+
+    @GetMapping(value = "/{eventId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@PathVariable Long eventId) {
+        return seatMapStreamService.subscribe(eventId, () -> eventService.getSeatAvailability(eventId));
+    }
+
     @GetMapping("/{eventId}/seats/sections")
     public ResponseEntity<List<String>> getSections(@PathVariable Long eventId) {
         return ResponseEntity.ok(eventService.getSections(eventId));
     }
 
+    @GetMapping("/{eventId}/inventory")
+    public ResponseEntity<List<SectionInventoryResponse>> getSectionInventory(@PathVariable Long eventId) {
+        return ResponseEntity.ok(eventService.getSectionInventory(eventId));
+    }
+
     @GetMapping("/{eventId}/seats/section/{section}")
     public ResponseEntity<List<SeatResponse>> getSeatsBySection(
             @PathVariable Long eventId,
@@ -162,6 +186,32 @@ public class EventController {
         return ResponseEntity.ok(eventService.getSeatsBySection(eventId, section));
     }
 
+    // Waiting room endpoints
+    @PostMapping("/{eventId}/queue")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QueueStatusResponse> joinQueue(
+            @PathVariable Long eventId,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(waitingRoomService.enter(eventId, Long.valueOf(principal.getId())));
+    }
+
+    @GetMapping("/{eventId}/queue")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QueueStatusResponse> getQueueStatus(
+            @PathVariable Long eventId,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(waitingRoomService.status(eventId, Long.valueOf(principal.getId())));
+    }
+
+    @DeleteMapping("/{eventId}/queue")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> leaveQueue(
+            @PathVariable Long eventId,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        waitingRoomService.leave(eventId, Long.valueOf(principal.getId()));
+        return ResponseEntity.noContent().build();
+    }
+
     // Seat lock endpoints
     @PostMapping("/seats/lock")
     @PreAuthorize("isAuthenticated()")
@@ -174,6 +224,15 @@ public class EventController {
         return ResponseEntity.ok(seatLockService.lockSeats(request, Long.valueOf(principal.getId())));
     }
 
+    @PostMapping("/seats/lock/best-available")
+    @PreAuthorize("isAuthenticated()")
+    @RateLimiter(name = "default")
+    public ResponseEntity<SeatLockResponse> lockBestAvailable(
+            @Valid @RequestBody BestAvailableRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(seatLockService.lockBestAvailable(request, Long.valueOf(principal.getId())));
+    }
+
     @DeleteMapping("/seats/lock/{lockId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Void> releaseLock(
@@ -1,5 +1,9 @@
 package com.ticket.event.controller;
 
+import com.ticket.event.dto.BookingContextRequest;
+import com.ticket.event.dto.BookingContextResponse;
+import com.ticket.event.dto.BulkSeatBookingRequest;
+import com.ticket.event.dto.BulkSeatBookingResponse;
 import com.ticket.event.dto.EventResponse;
 import com.ticket.event.dto.SeatResponse;
 import com.ticket.event.service.EventService;
@@ -36,19 +40,51 @@ public class InternalEventController {
         return ResponseEntity.ok(eventService.getSeatsForEvent(eventId));
     }
 
+    // Lock validation, event summary and the requested seats' pricing in one round trip
+    @PostMapping("/booking-context")
+    public ResponseEntity<BookingContextResponse> getBookingContext(@RequestBody BookingContextRequest request) {
+        // General-admission bookings are checked against their hold rather than seat locks
+        if ((request.seatIds() == null || request.seatIds().isEmpty()) && request.quantity() != null) {
+            return ResponseEntity.ok(eventService.getGeneralAdmissionContext(
+                    request.eventId(), request.lockId(), request.userId(), request.quantity()));
+        }
+        boolean valid = seatLockService.validateLock(request.lockId(), request.userId(), request.seatIds());
+        if (!valid) {
+            return ResponseEntity.ok(BookingContextResponse.invalidLock());
+        }
+        return ResponseEntity.ok(eventService.getBookingContext(request.eventId(), request.seatIds()));
+    }
+
     @PostMapping("/seats/book")
     public ResponseEntity<Void> bookSeats(@RequestBody Map<String, Object> request) {
+        Long bookingId = ((Number) request.get("bookingId")).longValue();
+
+        // General-admission bookings carry the hold's lock ID and a quantity instead of seat IDs
+        if (request.get("seatIds") == null && request.get("quantity") != null) {
+            String lockId = (String) request.get("lockId");
+            int quantity = ((Number) request.get("quantity")).intValue();
+            eventService.bookGeneralAdmission(lockId, quantity, bookingId);
+            return ResponseEntity.ok().build();
+        }
+
         @SuppressWarnings("unchecked")
         List<Long> seatIds = ((List<Number>) request.get("seatIds"))
                 .stream()
                 .map(Number::longValue)
                 .toList();
-        Long bookingId = ((Number) request.get("bookingId")).longValue();
-        
-        eventService.bookSeats(seatIds, bookingId);
+
+        // Seats still locked are bookable only by the user who locked them
+        Long userId = request.get("userId") == null ? null : ((Number) request.get("userId")).longValue();
+        eventService.bookSeats(seatIds, bookingId, userId);
         return ResponseEntity.ok().build();
     }
 
+    // Many confirmations in one call; rejected bookings are reported rather than failing the batch
+    @PostMapping("/seats/book/bulk")
+    public ResponseEntity<BulkSeatBookingResponse> bookSeatsBulk(@RequestBody BulkSeatBookingRequest request) {
+        return ResponseEntity.ok(new BulkSeatBookingResponse(eventService.bookSeatsBulk(request.bookings())));
+    }
+
     @PostMapping("/seats/release")
     public ResponseEntity<Void> releaseSeats(@RequestBody Map<String, Object> request) {
         Long bookingId = ((Number) request.get("bookingId")).longValue();
@@ -56,6 +92,18 @@ public class InternalEventController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/seats/release/bulk")
+    public ResponseEntity<Void> releaseSeatsBulk(@RequestBody Map<String, Object> request) {
+        @SuppressWarnings("unchecked")
+        List<Long> bookingIds = ((List<Number>) request.get("bookingIds"))
+                .stream()
+                .map(Number::longValue)
+                .toList();
+
+        eventService.releaseSeatsBulk(bookingIds);
+        return ResponseEntity.ok().build();
+    }
+
     @PostMapping("/seats/lock/validate")
     public ResponseEntity<Map<String, Boolean>> validateLock(@RequestBody Map<String, Object> request) {
         String lockId = (String) request.get("lockId");
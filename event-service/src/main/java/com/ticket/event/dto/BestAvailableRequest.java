@@ -0,0 +1,22 @@
+package com.ticket.event.dto;
+
+import com.ticket.event.entity.SeatType;
+import jakarta.validation.constraints.*;
+
+/**
+ * Ask the server to pick and lock the best adjacent seats. Section and type
+ * narrow the search; when omitted, every section or tier is considered.
+ */
+public record BestAvailableRequest(
+    @NotNull(message = "Event ID is required")
+    Long eventId,
+
+    String section,
+
+    SeatType type,
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 10, message = "Cannot lock more than 10 seats at once")
+    Integer quantity
+) {}
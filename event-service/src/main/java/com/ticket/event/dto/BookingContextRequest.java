@@ -0,0 +1,11 @@
+package com.ticket.event.dto;
+
+import java.util.List;
+
+public record BookingContextRequest(
+    String lockId,
+    Long userId,
+    Long eventId,
+    List<Long> seatIds,
+    Integer quantity
+) {}
@@ -0,0 +1,17 @@
+package com.ticket.event.dto;
+
+import java.util.List;
+
+/**
+ * Everything booking-service needs to create a booking, in one response.
+ * Only the requested seats are included; event and seats are omitted when the lock is invalid.
+ */
+public record BookingContextResponse(
+    boolean lockValid,
+    EventResponse event,
+    List<SeatResponse> seats
+) {
+    public static BookingContextResponse invalidLock() {
+        return new BookingContextResponse(false, null, List.of());
+    }
+}
@@ -0,0 +1,20 @@
+package com.ticket.event.dto;
+
+import java.util.List;
+
+public record BulkSeatBookingRequest(
+    List<Entry> bookings
+) {
+    // userId is the booking's owner, matched against the seats' locked_by.
+    // A general-admission booking carries its hold's lock ID and quantity instead of seat IDs
+    public record Entry(Long bookingId, Long userId, List<Long> seatIds, String lockId, Integer quantity) {
+
+        public Entry(Long bookingId, Long userId, List<Long> seatIds) {
+            this(bookingId, userId, seatIds, null, null);
+        }
+
+        public boolean isGeneralAdmission() {
+            return (seatIds == null || seatIds.isEmpty()) && quantity != null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ticket.event.dto;
+
+import java.util.List;
+
+/**
+ * Result of a bulk seat booking. Rejected bookings had at least one seat that
+ * was missing or no longer available; none of their seats were booked.
+ */
+public record BulkSeatBookingResponse(
+    List<Long> rejectedBookingIds
+) {}
@@ -2,6 +2,8 @@ package com.ticket.event.dto;
 
 import com.ticket.event.entity.Event;
 import com.ticket.event.entity.Seat;
+import com.ticket.event.entity.SeatStatus;
+import com.ticket.event.entity.SectionInventory;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -11,6 +13,10 @@ public class EventMapper {
     private EventMapper() {}
 
     public static EventResponse toResponse(Event event) {
+        return toResponse(event, event.getAvailableSeats());
+    }
+
+    public static EventResponse toResponse(Event event, Integer availableSeats) {
         return new EventResponse(
             event.getId(),
             event.getName(),
@@ -21,7 +27,7 @@ public class EventMapper {
             event.getDoorsOpenTime(),
             event.getEndTime(),
             event.getTotalSeats(),
-            event.getAvailableSeats(),
+            availableSeats,
             event.getBasePrice(),
             event.getStatus(),
             event.getCategory(),
@@ -61,6 +67,37 @@ public class EventMapper {
         );
     }
 
+    // One general-admission ticket of the section, priced like a seat but without identity
+    public static SeatResponse toGeneralAdmissionTicket(SectionInventory inventory) {
+        return new SeatResponse(
+            null,
+            inventory.getEvent().getId(),
+            inventory.getSection(),
+            null,
+            null,
+            inventory.getType(),
+            SeatStatus.LOCKED,
+            inventory.getPrice(),
+            inventory.getPriceMultiplier(),
+            inventory.getFinalPrice(),
+            inventory.getSection(),
+            false
+        );
+    }
+
+    public static SectionInventoryResponse toInventoryResponse(SectionInventory inventory) {
+        return new SectionInventoryResponse(
+            inventory.getId(),
+            inventory.getEvent().getId(),
+            inventory.getSection(),
+            inventory.getType(),
+            inventory.getPrice(),
+            inventory.getFinalPrice(),
+            inventory.getCapacity(),
+            inventory.getAvailable()
+        );
+    }
+
     public static Event toEntity(CreateEventRequest request, Long organizerId, String organizerName) {
         Event event = new Event();
         event.setName(request.name());
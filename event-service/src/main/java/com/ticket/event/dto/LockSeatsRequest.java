@@ -3,11 +3,28 @@ package com.ticket.event.dto;
 import jakarta.validation.constraints.*;
 import java.util.List;
 
+/**
+ * Either seatIds for reserved seating, or section and quantity for a
+ * general-admission section.
+ */
 public record LockSeatsRequest(
     @NotNull(message = "Event ID is required")
     Long eventId,
 
-    @NotEmpty(message = "At least one seat must be selected")
     @Size(max = 10, message = "Cannot lock more than 10 seats at once")
-    List<Long> seatIds
-) {}
+    List<Long> seatIds,
+
+    String section,
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 10, message = "Cannot lock more than 10 tickets at once")
+    Integer quantity
+) {
+    public LockSeatsRequest(Long eventId, List<Long> seatIds) {
+        this(eventId, seatIds, null, null);
+    }
+
+    public boolean generalAdmission() {
+        return section != null && quantity != null && (seatIds == null || seatIds.isEmpty());
+    }
+}
@@ -0,0 +1,15 @@
+package com.ticket.event.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Waiting room state for a user. Ticket is the user's place in line when joining;
+ * position is only meaningful while not yet admitted.
+ */
+public record QueueStatusResponse(
+    Long eventId,
+    Long ticket,
+    boolean admitted,
+    Long position,
+    LocalDateTime admittedUntil
+) {}
@@ -0,0 +1,18 @@
+package com.ticket.event.dto;
+
+import java.util.List;
+
+/**
+ * Compact seat availability for an event.
+ * Bit i of the little-endian, base64-encoded bitmap is set when the seat at ordinal i
+ * is available. Ordinal i is seat id firstSeatId + i, or seatIds[i] when ids are not
+ * consecutive.
+ */
+public record SeatAvailabilityResponse(
+    Long eventId,
+    Long firstSeatId,
+    List<Long> seatIds,
+    Integer seatCount,
+    Integer availableCount,
+    String bitmap
+) {}
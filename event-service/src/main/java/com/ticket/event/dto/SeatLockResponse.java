@@ -11,5 +11,7 @@ public record SeatLockResponse(
     List<Long> seatIds,
     BigDecimal totalPrice,
     LocalDateTime expiresAt,
-    Integer ttlSeconds
+    Integer ttlSeconds,
+    String section,
+    Integer quantity
 ) {}
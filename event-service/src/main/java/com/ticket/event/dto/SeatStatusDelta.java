@@ -0,0 +1,11 @@
+package com.ticket.event.dto;
+
+import com.ticket.event.entity.SeatStatus;
+import java.util.List;
+
+public record SeatStatusDelta(
+    String tenantId,
+    Long eventId,
+    List<Long> seatIds,
+    SeatStatus status
+) {}
@@ -0,0 +1,15 @@
+package com.ticket.event.dto;
+
+import com.ticket.event.entity.SeatType;
+import java.math.BigDecimal;
+
+public record SectionInventoryResponse(
+    Long id,
+    Long eventId,
+    String section,
+    SeatType type,
+    BigDecimal price,
+    BigDecimal finalPrice,
+    Integer capacity,
+    Integer available
+) {}
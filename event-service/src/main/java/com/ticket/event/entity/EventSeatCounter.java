@@ -0,0 +1,67 @@
+package com.ticket.event.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One slot of an event's pending available-seat change. Concurrent bookings add to
+ * random slots so they rarely update the same row; the slots are folded into
+ * {@link Event#getAvailableSeats()} periodically. Written only with native upserts.
+ */
+@Entity
+@Table(name = "event_seat_counters")
+@IdClass(EventSeatCounter.Key.class)
+public class EventSeatCounter {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Id
+    @Column(name = "slot")
+    private Short slot;
+
+    @Column(nullable = false)
+    private Integer delta = 0;
+
+    public EventSeatCounter() {}
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Short getSlot() {
+        return slot;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long eventId;
+        private Short slot;
+
+        public Key() {}
+
+        public Key(Long eventId, Short slot) {
+            this.eventId = eventId;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(eventId, key.eventId) && Objects.equals(slot, key.slot);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventId, slot);
+        }
+    }
+}
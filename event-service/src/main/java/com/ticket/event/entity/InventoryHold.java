@@ -0,0 +1,130 @@
+package com.ticket.event.entity;
+
+import com.ticket.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A quantity taken from a {@link SectionInventory}, first held for checkout and then booked.
+ */
+@Entity
+@Table(name = "inventory_holds", indexes = {
+    @Index(name = "idx_inventory_holds_booking", columnList = "booking_id"),
+    @Index(name = "idx_inventory_holds_status_expires", columnList = "status, expires_at")
+})
+public class InventoryHold extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "lock_id", nullable = false, unique = true)
+    private String lockId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "inventory_id", nullable = false)
+    private SectionInventory inventory;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InventoryHoldStatus status = InventoryHoldStatus.HELD;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public InventoryHold() {}
+
+    public InventoryHold(String lockId, SectionInventory inventory, Long userId, int quantity, LocalDateTime expiresAt) {
+        this.lockId = lockId;
+        this.inventory = inventory;
+        this.userId = userId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLockId() {
+        return lockId;
+    }
+
+    public void setLockId(String lockId) {
+        this.lockId = lockId;
+    }
+
+    public SectionInventory getInventory() {
+        return inventory;
+    }
+
+    public void setInventory(SectionInventory inventory) {
+        this.inventory = inventory;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public InventoryHoldStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(InventoryHoldStatus status) {
+        this.status = status;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isHeld() {
+        return status == InventoryHoldStatus.HELD && LocalDateTime.now().isBefore(expiresAt);
+    }
+
+    public void book(Long bookingId) {
+        this.status = InventoryHoldStatus.BOOKED;
+        this.bookingId = bookingId;
+    }
+
+    public void release() {
+        this.status = InventoryHoldStatus.RELEASED;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ticket.event.entity;
+
+public enum InventoryHoldStatus {
+    HELD,
+    BOOKED,
+    RELEASED
+}
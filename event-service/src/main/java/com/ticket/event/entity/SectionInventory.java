@@ -0,0 +1,124 @@
+package com.ticket.event.entity;
+
+import com.ticket.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Capacity counter for a general-admission section. Tickets in such a section have
+ * no identity, so only the remaining quantity is tracked instead of one row per seat.
+ */
+@Entity
+@Table(name = "section_inventories", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"event_id", "section"})
+})
+public class SectionInventory extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @Column(nullable = false)
+    private String section;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SeatType type = SeatType.REGULAR;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "price_multiplier", precision = 5, scale = 2)
+    private BigDecimal priceMultiplier = BigDecimal.ONE;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(nullable = false)
+    private Integer available;
+
+    public SectionInventory() {}
+
+    public SectionInventory(Event event, String section, SeatType type, BigDecimal price,
+                            BigDecimal priceMultiplier, int capacity) {
+        this.event = event;
+        this.section = section;
+        this.type = type;
+        this.price = price;
+        this.priceMultiplier = priceMultiplier;
+        this.capacity = capacity;
+        this.available = capacity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public SeatType getType() {
+        return type;
+    }
+
+    public void setType(SeatType type) {
+        this.type = type;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public BigDecimal getPriceMultiplier() {
+        return priceMultiplier;
+    }
+
+    public void setPriceMultiplier(BigDecimal priceMultiplier) {
+        this.priceMultiplier = priceMultiplier;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Integer getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Integer available) {
+        this.available = available;
+    }
+
+    public BigDecimal getFinalPrice() {
+        return price.multiply(priceMultiplier);
+    }
+}
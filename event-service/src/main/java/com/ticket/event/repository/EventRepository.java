@@ -7,12 +7,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,4 +57,35 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     @Query("SELECT e FROM Event e WHERE e.eventDate < :now AND e.status = 'PUBLISHED'")
     List<Event> findPastPublishedEvents(@Param("now") LocalDateTime now);
+
+    // Adds to one counter slot; the events row itself is not touched
+    @Modifying
+    @Query(value = "INSERT INTO event_seat_counters (event_id, slot, delta) VALUES (:eventId, :slot, :delta) " +
+                   "ON CONFLICT (event_id, slot) DO UPDATE SET delta = event_seat_counters.delta + EXCLUDED.delta",
+           nativeQuery = true)
+    int addToSeatCounter(@Param("eventId") Long eventId, @Param("slot") int slot, @Param("delta") int delta);
+
+    // One statement, so a concurrent fold is seen either entirely or not at all
+    @Query(value = "SELECT e.id AS \"eventId\", " +
+                   "LEAST(GREATEST(e.available_seats + COALESCE(SUM(c.delta), 0), 0), e.total_seats) AS \"availableSeats\" " +
+                   "FROM events e LEFT JOIN event_seat_counters c ON c.event_id = e.id " +
+                   "WHERE e.id IN (:eventIds) GROUP BY e.id",
+           nativeQuery = true)
+    List<AvailableSeatsView> findAvailableSeats(@Param("eventIds") Collection<Long> eventIds);
+
+    // Moves the slots of up to :limit events after :afterId into available_seats
+    @Query(value = "WITH due AS (SELECT DISTINCT event_id FROM event_seat_counters WHERE event_id > :afterId " +
+                   "ORDER BY event_id LIMIT :limit), " +
+                   "folded AS (DELETE FROM event_seat_counters c USING due WHERE c.event_id = due.event_id " +
+                   "RETURNING c.event_id, c.delta), " +
+                   "totals AS (SELECT event_id, SUM(delta) AS delta FROM folded GROUP BY event_id) " +
+                   "UPDATE events e SET available_seats = LEAST(GREATEST(e.available_seats + t.delta, 0), e.total_seats), " +
+                   "version = e.version + 1 FROM totals t WHERE e.id = t.event_id RETURNING e.id",
+           nativeQuery = true)
+    List<Long> foldSeatCounters(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    interface AvailableSeatsView {
+        Long getEventId();
+        Integer getAvailableSeats();
+    }
 }
@@ -0,0 +1,30 @@
+package com.ticket.event.repository;
+
+import com.ticket.event.entity.InventoryHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, Long> {
+
+    Optional<InventoryHold> findByLockId(String lockId);
+
+    @Query("SELECT h FROM InventoryHold h WHERE h.bookingId = :bookingId AND h.status = 'BOOKED'")
+    List<InventoryHold> findBookedByBookingId(@Param("bookingId") Long bookingId);
+
+    @Query("SELECT COUNT(DISTINCT h.bookingId) FROM InventoryHold h WHERE h.inventory.event.id = :eventId AND h.status = 'BOOKED'")
+    long countBookingsForEvent(@Param("eventId") Long eventId);
+
+    @Query("SELECT h FROM InventoryHold h WHERE h.userId = :userId AND h.inventory.event.id = :eventId AND h.status = 'HELD'")
+    List<InventoryHold> findHeldByUserAndEvent(@Param("userId") Long userId, @Param("eventId") Long eventId);
+
+    @Query("SELECT h FROM InventoryHold h WHERE h.status = 'HELD' AND h.expiresAt < :now AND h.id > :afterId ORDER BY h.id")
+    List<InventoryHold> findExpiredHolds(@Param("now") LocalDateTime now, @Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,29 @@
+package com.ticket.event.repository;
+
+import com.ticket.event.entity.Seat;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Bulk seat materialization that bypasses the persistence context.
+ */
+public interface SeatBulkRepository {
+
+    /**
+     * Insert seats for an event using batched JDBC statements. The seats only carry
+     * values; they are neither persisted as entities nor attached to the session.
+     *
+     * @return number of seats inserted
+     */
+    int insertSeats(Long eventId, Stream<Seat> seats);
+
+    /**
+     * Book seats for many bookings with a single UPDATE. Callers must have locked
+     * and checked the seats first.
+     *
+     * @param bookingIdsBySeat booking that takes each seat
+     * @return number of seats booked
+     */
+    int bookSeats(Map<Long, Long> bookingIdsBySeat);
+}
@@ -0,0 +1,103 @@
+package com.ticket.event.repository;
+
+import com.ticket.event.entity.Seat;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Runs on the session's own connection, so inserts land in the current tenant schema
+ * and take part in the surrounding transaction. Seats are streamed, so only one JDBC
+ * batch is held in memory at a time.
+ */
+public class SeatBulkRepositoryImpl implements SeatBulkRepository {
+
+    static final String INSERT_SQL =
+        "INSERT INTO seats (event_id, section, row_number, seat_number, type, status, price, " +
+        "price_multiplier, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    // Both arrays are unnested in step, giving one (seat, booking) row per seat
+    static final String BOOK_SQL =
+        "UPDATE seats SET status = 'BOOKED', booking_id = v.booking_id, locked_by = NULL, locked_until = NULL, " +
+        "version = version + 1, updated_at = ? FROM unnest(?, ?) AS v(seat_id, booking_id) WHERE seats.id = v.seat_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${seat.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public int insertSeats(Long eventId, Stream<Seat> seats) {
+        // Make sure the event row is written before seats reference it
+        entityManager.flush();
+        return entityManager.unwrap(Session.class)
+            .doReturningWork(connection -> insertSeats(connection, eventId, seats, batchSize));
+    }
+
+    static int insertSeats(Connection connection, Long eventId, Stream<Seat> seats, int batchSize) throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        int count = 0;
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            Iterator<Seat> iterator = seats.iterator();
+            while (iterator.hasNext()) {
+                Seat seat = iterator.next();
+                statement.setLong(1, eventId);
+                statement.setString(2, seat.getSection());
+                statement.setString(3, seat.getRowNumber());
+                statement.setString(4, seat.getSeatNumber());
+                statement.setString(5, seat.getType().name());
+                statement.setString(6, seat.getStatus().name());
+                statement.setBigDecimal(7, seat.getPrice());
+                statement.setBigDecimal(8, seat.getPriceMultiplier());
+                statement.setTimestamp(9, now);
+                statement.setTimestamp(10, now);
+                statement.addBatch();
+
+                if (++count % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (count % batchSize != 0) {
+                statement.executeBatch();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int bookSeats(Map<Long, Long> bookingIdsBySeat) {
+        if (bookingIdsBySeat.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        return entityManager.unwrap(Session.class)
+            .doReturningWork(connection -> bookSeats(connection, bookingIdsBySeat));
+    }
+
+    static int bookSeats(Connection connection, Map<Long, Long> bookingIdsBySeat) throws SQLException {
+        Long[] seatIds = bookingIdsBySeat.keySet().toArray(Long[]::new);
+        Long[] bookingIds = bookingIdsBySeat.values().toArray(Long[]::new);
+
+        try (PreparedStatement statement = connection.prepareStatement(BOOK_SQL)) {
+            Array seatArray = connection.createArrayOf("bigint", seatIds);
+            Array bookingArray = connection.createArrayOf("bigint", bookingIds);
+            statement.setTimestamp(1, Timestamp.from(Instant.now()));
+            statement.setArray(2, seatArray);
+            statement.setArray(3, bookingArray);
+            return statement.executeUpdate();
+        }
+    }
+}
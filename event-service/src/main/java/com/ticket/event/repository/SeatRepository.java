@@ -12,11 +12,14 @@ import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
-public interface SeatRepository extends JpaRepository<Seat, Long> {
+public interface SeatRepository extends JpaRepository<Seat, Long>, SeatBulkRepository {
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM Seat s WHERE s.id = :id")
@@ -28,6 +31,13 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
 
     List<Seat> findByEventId(Long eventId);
 
+    @Query("SELECT s.id AS id, s.status AS status FROM Seat s WHERE s.event.id = :eventId ORDER BY s.id")
+    List<SeatStatusView> findSeatStatusesByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT s.id AS id, s.section AS section, s.rowNumber AS rowNumber, s.seatNumber AS seatNumber, " +
+           "s.type AS type FROM Seat s WHERE s.event.id = :eventId")
+    List<SeatLayoutView> findSeatLayoutByEventId(@Param("eventId") Long eventId);
+
     @Query("SELECT s FROM Seat s WHERE s.event.id = :eventId AND s.status = :status")
     List<Seat> findByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") SeatStatus status);
 
@@ -49,9 +59,36 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("SELECT s FROM Seat s WHERE s.status = 'LOCKED' AND s.lockedUntil < :now")
     List<Seat> findExpiredLocks(@Param("now") LocalDateTime now);
 
-    @Modifying
-    @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.lockedBy = null, s.lockedUntil = null WHERE s.status = 'LOCKED' AND s.lockedUntil < :now")
-    int releaseExpiredLocks(@Param("now") LocalDateTime now);
+    // One page of the expired-lock sweep, in id order after :afterId
+    @Query(value = "UPDATE seats SET status = 'AVAILABLE', locked_by = NULL, locked_until = NULL, version = version + 1 " +
+                   "WHERE id IN (SELECT id FROM seats WHERE status = 'LOCKED' AND locked_until < :now AND id > :afterId " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING id AS \"id\", event_id AS \"eventId\"",
+           nativeQuery = true)
+    List<ReleasedSeatView> releaseExpiredLocks(@Param("now") LocalDateTime now,
+                                               @Param("afterId") long afterId,
+                                               @Param("limit") int limit);
+
+    // UPDATE ... RETURNING reports which seats were freed in the same statement
+    @Query(value = "UPDATE seats SET status = 'AVAILABLE', locked_by = NULL, locked_until = NULL, version = version + 1 " +
+                   "WHERE status = 'LOCKED' AND locked_until < :now AND event_id IN (:eventIds) " +
+                   "RETURNING id AS \"id\", event_id AS \"eventId\"",
+           nativeQuery = true)
+    List<ReleasedSeatView> releaseExpiredLocksForEvents(@Param("eventIds") Collection<Long> eventIds,
+                                                        @Param("now") LocalDateTime now);
+
+    // Locks in id order so concurrent bulk bookings cannot deadlock
+    @Query(value = "SELECT id AS \"id\", event_id AS \"eventId\", status AS \"status\", locked_by AS \"lockedBy\", " +
+                   "(status = 'LOCKED' AND locked_until > :now) AS \"lockHeld\" " +
+                   "FROM seats WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<SeatBookingView> lockSeatsForBooking(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query(value = "UPDATE seats SET status = 'AVAILABLE', booking_id = NULL, locked_by = NULL, locked_until = NULL, " +
+                   "version = version + 1 WHERE booking_id IN (:bookingIds) " +
+                   "RETURNING id AS \"id\", event_id AS \"eventId\"",
+           nativeQuery = true)
+    List<ReleasedSeatView> releaseSeatsForBookings(@Param("bookingIds") Collection<Long> bookingIds);
 
     @Query("SELECT s FROM Seat s WHERE s.lockedBy = :userId AND s.event.id = :eventId AND s.status = 'LOCKED'")
     List<Seat> findLockedSeatsByUserAndEvent(@Param("userId") Long userId, @Param("eventId") Long eventId);
@@ -63,8 +100,53 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.bookingId = null WHERE s.bookingId = :bookingId")
     int releaseBookedSeats(@Param("bookingId") Long bookingId);
 
+    @Query("SELECT COUNT(DISTINCT s.bookingId) FROM Seat s WHERE s.event.id = :eventId AND s.bookingId IS NOT NULL")
+    long countBookingsForEvent(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.bookingId = null, s.lockedBy = null, s.lockedUntil = null " +
+           "WHERE s.event.id = :eventId AND s.status <> 'AVAILABLE'")
+    int releaseSeatsForEvent(@Param("eventId") Long eventId);
+
     @Query("SELECT s FROM Seat s WHERE s.event.id = :eventId AND s.section = :section AND s.rowNumber = :rowNumber ORDER BY s.seatNumber")
     List<Seat> findByEventIdAndSectionAndRow(@Param("eventId") Long eventId, @Param("section") String section, @Param("rowNumber") String rowNumber);
 
     boolean existsByEventIdAndSectionAndRowNumberAndSeatNumber(Long eventId, String section, String rowNumber, String seatNumber);
+
+    interface SeatStatusView {
+        Long getId();
+        SeatStatus getStatus();
+    }
+
+    interface SeatBookingView {
+        Long getId();
+        Long getEventId();
+        String getStatus();
+        Long getLockedBy();
+        Boolean getLockHeld();
+
+        // Same rule as Seat.isAvailable() || Seat.isLockedByUser(userId); locked_by holds the user ID
+        default boolean isBookableBy(Long userId) {
+            return SeatStatus.AVAILABLE.name().equals(getStatus())
+                    || (Boolean.TRUE.equals(getLockHeld()) && userId != null && userId.equals(getLockedBy()));
+        }
+    }
+
+    interface ReleasedSeatView {
+        Long getId();
+        Long getEventId();
+
+        static Map<Long, List<Long>> seatIdsByEvent(List<ReleasedSeatView> seats) {
+            return seats.stream().collect(Collectors.groupingBy(ReleasedSeatView::getEventId,
+                    Collectors.mapping(ReleasedSeatView::getId, Collectors.toList())));
+        }
+    }
+
+    interface SeatLayoutView {
+        Long getId();
+        String getSection();
+        String getRowNumber();
+        String getSeatNumber();
+        SeatType getType();
+    }
 }
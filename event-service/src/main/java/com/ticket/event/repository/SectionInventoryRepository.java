@@ -0,0 +1,30 @@
+package com.ticket.event.repository;
+
+import com.ticket.event.entity.SectionInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SectionInventoryRepository extends JpaRepository<SectionInventory, Long> {
+
+    @Query("SELECT i FROM SectionInventory i WHERE i.event.id = :eventId ORDER BY i.section")
+    List<SectionInventory> findByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT i FROM SectionInventory i WHERE i.event.id = :eventId AND i.section = :section")
+    Optional<SectionInventory> findByEventIdAndSection(@Param("eventId") Long eventId, @Param("section") String section);
+
+    @Modifying
+    @Query("UPDATE SectionInventory i SET i.available = i.available - :quantity WHERE i.id = :id AND i.available >= :quantity")
+    int reserve(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE SectionInventory i SET i.available = CASE WHEN i.available + :quantity > i.capacity " +
+           "THEN i.capacity ELSE i.available + :quantity END WHERE i.id = :id")
+    int restock(@Param("id") Long id, @Param("quantity") int quantity);
+}
@@ -0,0 +1,69 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.event.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Striped available-seat counter. Bookings and releases add their delta to one of a
+ * few slot rows per event instead of updating the events row, so concurrent
+ * confirmations rarely wait on each other. Reads add the slots to
+ * events.available_seats in one statement, and a periodic fold moves them back
+ * into the column, which list queries filtering on it therefore see slightly late.
+ */
+@Service
+public class AvailableSeatCounter {
+
+    private final EventRepository eventRepository;
+    private final TenantSweeper tenantSweeper;
+
+    @Value("${seat.counter.stripes:8}")
+    private int stripes;
+
+    public AvailableSeatCounter(EventRepository eventRepository, TenantSweeper tenantSweeper) {
+        this.eventRepository = eventRepository;
+        this.tenantSweeper = tenantSweeper;
+    }
+
+    /**
+     * Record a change in available seats; negative when seats are taken.
+     * Joins the caller's transaction.
+     */
+    public void adjust(Long eventId, int delta) {
+        if (delta != 0) {
+            eventRepository.addToSeatCounter(eventId, ThreadLocalRandom.current().nextInt(stripes), delta);
+        }
+    }
+
+    /**
+     * Current available seats of each event, including changes not yet folded.
+     * Events that do not exist are left out.
+     */
+    public Map<Long, Integer> availableSeats(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Map.of();
+        }
+        return eventRepository.findAvailableSeats(eventIds).stream()
+                .collect(Collectors.toMap(EventRepository.AvailableSeatsView::getEventId,
+                        EventRepository.AvailableSeatsView::getAvailableSeats));
+    }
+
+    @Scheduled(fixedDelayString = "${seat.counter.fold-interval-ms:30000}")
+    public void foldCounters() {
+        tenantSweeper.sweep("seat-counter-fold", this::foldCounters);
+    }
+
+    SweepPage foldCounters(long afterId, int limit) {
+        List<Long> folded = eventRepository.foldSeatCounters(afterId, limit);
+        return SweepPage.of(folded, Long::longValue);
+    }
+}
@@ -0,0 +1,156 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.entity.SeatType;
+import com.ticket.event.repository.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Picks the best block of adjacent free seats for a requested quantity.
+ * Row layouts never change once seats are created, so they are cached per event;
+ * availability comes from {@link SeatAvailabilityIndex}. Rows nearer the front win,
+ * and within a row the block closest to the centre wins.
+ */
+@Component
+public class BestAvailableAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BestAvailableAllocator.class);
+
+    // Orders "2" before "10" and "Z" before "AA"
+    private static final Comparator<String> LABEL_ORDER =
+        Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    private final SeatRepository seatRepository;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final Map<String, List<SeatRow>> layouts;
+
+    @Value("${seat.availability.max-events:256}")
+    private int maxEvents;
+
+    public BestAvailableAllocator(SeatRepository seatRepository, SeatAvailabilityIndex availabilityIndex) {
+        this.seatRepository = seatRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<SeatRow>> eldest) {
+                return size() > maxEvents;
+            }
+        };
+    }
+
+    /**
+     * Find up to {@code limit} candidate blocks, best first. At most one block is
+     * returned per row so that a lost race on one block falls back to another row.
+     */
+    public List<List<Long>> findCandidates(Long eventId, String section, SeatType type, int quantity, int limit) {
+        LongPredicate available = availabilityIndex.availabilitySnapshot(eventId);
+        List<Block> blocks = new ArrayList<>();
+
+        for (SeatRow row : getOrLoadLayout(eventId)) {
+            if (section != null && !section.equals(row.section())) {
+                continue;
+            }
+            Block block = row.bestBlock(quantity, type, available);
+            if (block != null) {
+                blocks.add(block);
+            }
+        }
+
+        return blocks.stream()
+                .sorted(Comparator.comparingInt(Block::rowRank).thenComparingDouble(Block::centreDistance))
+                .limit(limit)
+                .map(Block::seatIds)
+                .toList();
+    }
+
+    private List<SeatRow> getOrLoadLayout(Long eventId) {
+        String key = TenantContext.getTenantId() + ":" + eventId;
+        List<SeatRow> layout;
+        synchronized (layouts) {
+            layout = layouts.get(key);
+        }
+        if (layout != null) {
+            return layout;
+        }
+
+        layout = buildLayout(seatRepository.findSeatLayoutByEventId(eventId));
+        if (!layout.isEmpty()) {
+            synchronized (layouts) {
+                layouts.put(key, layout);
+            }
+        }
+        logger.debug("Loaded seat layout for event {} ({} rows)", eventId, layout.size());
+        return layout;
+    }
+
+    static List<SeatRow> buildLayout(List<SeatRepository.SeatLayoutView> seats) {
+        Map<String, Map<String, List<SeatRepository.SeatLayoutView>>> bySection = seats.stream()
+                .collect(Collectors.groupingBy(SeatRepository.SeatLayoutView::getSection, TreeMap::new,
+                        Collectors.groupingBy(SeatRepository.SeatLayoutView::getRowNumber,
+                                () -> new TreeMap<>(LABEL_ORDER), Collectors.toList())));
+
+        List<SeatRow> rows = new ArrayList<>();
+        bySection.forEach((section, sectionRows) -> {
+            int rank = 0;
+            for (List<SeatRepository.SeatLayoutView> rowSeats : sectionRows.values()) {
+                rowSeats.sort(Comparator.comparing(SeatRepository.SeatLayoutView::getSeatNumber, LABEL_ORDER));
+                long[] ids = new long[rowSeats.size()];
+                SeatType[] types = new SeatType[rowSeats.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = rowSeats.get(i).getId();
+                    types[i] = rowSeats.get(i).getType();
+                }
+                rows.add(new SeatRow(section, rank++, ids, types));
+            }
+        });
+        return rows;
+    }
+
+    record SeatRow(String section, int rank, long[] seatIds, SeatType[] types) {
+
+        /**
+         * Scan the row once, tracking the current run of free seats of the requested
+         * type, and keep the window of {@code quantity} seats closest to the centre.
+         */
+        Block bestBlock(int quantity, SeatType type, LongPredicate available) {
+            double rowCentre = (seatIds.length - 1) / 2.0;
+            int bestStart = -1;
+            double bestDistance = Double.MAX_VALUE;
+            int run = 0;
+
+            for (int i = 0; i < seatIds.length; i++) {
+                boolean free = (type == null || types[i] == type) && available.test(seatIds[i]);
+                run = free ? run + 1 : 0;
+                if (run >= quantity) {
+                    int start = i - quantity + 1;
+                    double distance = Math.abs(start + (quantity - 1) / 2.0 - rowCentre);
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        bestStart = start;
+                    }
+                }
+            }
+
+            if (bestStart < 0) {
+                return null;
+            }
+            List<Long> ids = Arrays.stream(seatIds, bestStart, bestStart + quantity).boxed().toList();
+            return new Block(rank, bestDistance, ids);
+        }
+    }
+
+    record Block(int rowRank, double centreDistance, List<Long> seatIds) {}
+}
@@ -4,7 +4,7 @@ import com.ticket.common.event.EventCreatedEvent;
 import com.ticket.common.event.EventCancelledEvent;
 import com.ticket.common.exception.ResourceNotFoundException;
 import com.ticket.common.exception.BusinessException;
-import com.ticket.common.kafka.EventPublisher;
+import com.ticket.common.kafka.OutboxPublisher;
 import com.ticket.common.kafka.KafkaTopics;
 import com.ticket.common.tenant.TenantContext;
 import com.ticket.event.dto.*;
@@ -14,6 +14,7 @@ import com.ticket.event.repository.SeatRepository;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,8 +22,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 public class EventService {
@@ -31,14 +43,30 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final SeatRepository seatRepository;
-    private final EventPublisher eventPublisher;
+    private final OutboxPublisher outboxPublisher;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final SeatMapStreamService seatMapStream;
+    private final SectionInventoryService sectionInventoryService;
+    private final AvailableSeatCounter seatCounter;
+
+    // "seats" materializes one row per general-admission ticket, "counter" keeps a capacity counter
+    @Value("${seat.general-admission.mode:counter}")
+    private String generalAdmissionMode;
 
     public EventService(EventRepository eventRepository, 
                        SeatRepository seatRepository,
-                       EventPublisher eventPublisher) {
+                       OutboxPublisher outboxPublisher,
+                       SeatAvailabilityIndex availabilityIndex,
+                       SeatMapStreamService seatMapStream,
+                       SectionInventoryService sectionInventoryService,
+                       AvailableSeatCounter seatCounter) {
         this.eventRepository = eventRepository;
         this.seatRepository = seatRepository;
-        this.eventPublisher = eventPublisher;
+        this.outboxPublisher = outboxPublisher;
+        this.availabilityIndex = availabilityIndex;
+        this.seatMapStream = seatMapStream;
+        this.sectionInventoryService = sectionInventoryService;
+        this.seatCounter = seatCounter;
     }
 
     @Transactional
@@ -65,25 +93,11 @@ public class EventService {
     }
 
     private void createSeatsForEvent(Event event, List<SeatSectionConfig> seatSections) {
-        int totalSeatsCreated = 0;
-        
-        for (SeatSectionConfig config : seatSections) {
-            for (int row = 1; row <= config.rows(); row++) {
-                for (int seatNum = 1; seatNum <= config.seatsPerRow(); seatNum++) {
-                    Seat seat = new Seat();
-                    seat.setEvent(event);
-                    seat.setSection(config.section());
-                    seat.setRowNumber(String.valueOf(row));
-                    seat.setSeatNumber(String.valueOf(seatNum));
-                    seat.setType(config.seatType());
-                    seat.setPrice(event.getBasePrice());
-                    seat.setPriceMultiplier(config.priceMultiplier());
-                    seat.setStatus(SeatStatus.AVAILABLE);
-                    seatRepository.save(seat);
-                    totalSeatsCreated++;
-                }
-            }
-        }
+        Stream<Seat> seats = seatSections.stream().flatMap(config ->
+            IntStream.rangeClosed(1, config.rows()).boxed().flatMap(row ->
+                IntStream.rangeClosed(1, config.seatsPerRow()).mapToObj(seatNum ->
+                    newSeat(event, config.section(), row, seatNum, config.seatType(), config.priceMultiplier()))));
+        int totalSeatsCreated = insertSeats(event, seats);
 
         // Update event with actual total seats
         event.setTotalSeats(totalSeatsCreated);
@@ -92,26 +106,30 @@ public class EventService {
     }
 
     private void createDefaultSeats(Event event, int totalSeats) {
-        int seatsPerRow = 20;
-        int totalRows = (int) Math.ceil((double) totalSeats / seatsPerRow);
-        int seatsCreated = 0;
-
-        for (int row = 1; row <= totalRows && seatsCreated < totalSeats; row++) {
-            int seatsInThisRow = Math.min(seatsPerRow, totalSeats - seatsCreated);
-            for (int seatNum = 1; seatNum <= seatsInThisRow; seatNum++) {
-                Seat seat = new Seat();
-                seat.setEvent(event);
-                seat.setSection("GENERAL");
-                seat.setRowNumber(String.valueOf(row));
-                seat.setSeatNumber(String.valueOf(seatNum));
-                seat.setType(SeatType.REGULAR);
-                seat.setPrice(event.getBasePrice());
-                seat.setPriceMultiplier(BigDecimal.ONE);
-                seat.setStatus(SeatStatus.AVAILABLE);
-                seatRepository.save(seat);
-                seatsCreated++;
-            }
+        if ("counter".equalsIgnoreCase(generalAdmissionMode)) {
+            sectionInventoryService.createInventory(event, "GENERAL", SeatType.REGULAR, BigDecimal.ONE, totalSeats);
+            return;
         }
+
+        int seatsPerRow = 20;
+        Stream<Seat> seats = IntStream.range(0, totalSeats).mapToObj(i ->
+            newSeat(event, "GENERAL", i / seatsPerRow + 1, i % seatsPerRow + 1, SeatType.REGULAR, BigDecimal.ONE));
+        insertSeats(event, seats);
+    }
+
+    private int insertSeats(Event event, Stream<Seat> seats) {
+        long start = System.nanoTime();
+        int created = seatRepository.insertSeats(event.getId(), seats);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Created {} seats for event {} in {} ms", created, event.getId(), elapsedMs);
+        return created;
+    }
+
+    private Seat newSeat(Event event, String section, int row, int seatNum, SeatType type, BigDecimal priceMultiplier) {
+        Seat seat = new Seat(event, section, String.valueOf(row), String.valueOf(seatNum), type, event.getBasePrice());
+        seat.setPriceMultiplier(priceMultiplier);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        return seat;
     }
 
     private void publishEventCreated(Event event) {
@@ -126,7 +144,7 @@ public class EventService {
             event.getBasePrice(),
             event.getOrganizerName()
         );
-        eventPublisher.publish(KafkaTopics.EVENT_CREATED, event.getId().toString(), eventCreatedEvent);
+        outboxPublisher.publish(KafkaTopics.EVENT_CREATED, event.getId().toString(), eventCreatedEvent);
     }
 
     public EventResponse createEventFallback(CreateEventRequest request, Long organizerId, String organizerName, Throwable t) {
@@ -138,42 +156,67 @@ public class EventService {
     public EventResponse getEvent(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-        return EventMapper.toResponse(event);
+        return toResponse(event);
+    }
+
+    // Seats of other events are left out, so booking-service reports them as not found
+    @Transactional(readOnly = true)
+    public BookingContextResponse getBookingContext(Long eventId, List<Long> seatIds) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        List<SeatResponse> seats = seatRepository.findAllById(seatIds).stream()
+                .filter(seat -> seat.getEvent().getId().equals(eventId))
+                .map(EventMapper::toSeatResponse)
+                .toList();
+        return new BookingContextResponse(true, toResponse(event), seats);
+    }
+
+    /**
+     * Booking context for a general-admission hold. The hold must belong to the user,
+     * still be held and cover exactly the requested quantity; it is priced as one
+     * ticket line per unit.
+     */
+    @Transactional(readOnly = true)
+    public BookingContextResponse getGeneralAdmissionContext(Long eventId, String lockId, Long userId, int quantity) {
+        Optional<InventoryHold> hold = sectionInventoryService.findHold(lockId)
+                .filter(h -> h.isHeld() && h.getUserId().equals(userId) && h.getQuantity() == quantity
+                        && h.getInventory().getEvent().getId().equals(eventId));
+        if (hold.isEmpty()) {
+            return BookingContextResponse.invalidLock();
+        }
+        SeatResponse ticket = EventMapper.toGeneralAdmissionTicket(hold.get().getInventory());
+        return new BookingContextResponse(true, toResponse(hold.get().getInventory().getEvent()),
+                Collections.nCopies(quantity, ticket));
     }
 
     @Transactional(readOnly = true)
     public Page<EventResponse> getAllEvents(Pageable pageable) {
-        return eventRepository.findAll(pageable).map(EventMapper::toResponse);
+        return toResponses(eventRepository.findAll(pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<EventResponse> getUpcomingEvents(Pageable pageable) {
-        return eventRepository.findUpcomingEvents(EventStatus.PUBLISHED, LocalDateTime.now(), pageable)
-                .map(EventMapper::toResponse);
+        return toResponses(eventRepository.findUpcomingEvents(EventStatus.PUBLISHED, LocalDateTime.now(), pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<EventResponse> getEventsByCategory(EventCategory category, Pageable pageable) {
-        return eventRepository.findByStatusAndCategory(EventStatus.PUBLISHED, category, pageable)
-                .map(EventMapper::toResponse);
+        return toResponses(eventRepository.findByStatusAndCategory(EventStatus.PUBLISHED, category, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<EventResponse> getEventsByOrganizer(Long organizerId, Pageable pageable) {
-        return eventRepository.findByOrganizerId(organizerId, pageable)
-                .map(EventMapper::toResponse);
+        return toResponses(eventRepository.findByOrganizerId(organizerId, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<EventResponse> searchEvents(String keyword, Pageable pageable) {
-        return eventRepository.searchByKeyword(keyword, pageable)
-                .map(EventMapper::toResponse);
+        return toResponses(eventRepository.searchByKeyword(keyword, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<EventResponse> getAvailableEvents(Pageable pageable) {
-        return eventRepository.findAvailableEvents(LocalDateTime.now(), pageable)
-                .map(EventMapper::toResponse);
+        return toResponses(eventRepository.findAvailableEvents(LocalDateTime.now(), pageable));
     }
 
     @Transactional
@@ -195,7 +238,7 @@ public class EventService {
         event = eventRepository.save(event);
 
         logger.info("Event {} updated by organizer {}", eventId, organizerId);
-        return EventMapper.toResponse(event);
+        return toResponse(event);
     }
 
     @Transactional
@@ -219,7 +262,7 @@ public class EventService {
         event = eventRepository.save(event);
 
         logger.info("Event {} published", eventId);
-        return EventMapper.toResponse(event);
+        return toResponse(event);
     }
 
     @Transactional
@@ -242,8 +285,13 @@ public class EventService {
         event.setStatus(EventStatus.CANCELLED);
         event = eventRepository.save(event);
 
+        // Count the bookings to refund before their seats are released
+        long affectedBookings = seatRepository.countBookingsForEvent(eventId)
+                + sectionInventoryService.countBookings(eventId);
+
         // Release all booked seats
-        seatRepository.releaseBookedSeats(eventId);
+        seatRepository.releaseSeatsForEvent(eventId);
+        availabilityIndex.evict(eventId);
 
         // Publish event cancelled
         EventCancelledEvent eventCancelledEvent = new EventCancelledEvent(
@@ -253,12 +301,12 @@ public class EventService {
             event.getName(),
             reason,
             event.getIsRefundable(),
-            0  // TODO: get actual affected bookings count
+            Math.toIntExact(affectedBookings)
         );
-        eventPublisher.publish(KafkaTopics.EVENT_CANCELLED, eventId.toString(), eventCancelledEvent);
+        outboxPublisher.publish(KafkaTopics.EVENT_CANCELLED, eventId.toString(), eventCancelledEvent);
 
-        logger.info("Event {} cancelled. Reason: {}", eventId, reason);
-        return EventMapper.toResponse(event);
+        logger.info("Event {} cancelled with {} affected bookings. Reason: {}", eventId, affectedBookings, reason);
+        return toResponse(event);
     }
 
     @Transactional
@@ -305,6 +353,20 @@ public class EventService {
                 .toList();
     }
 
+    // Served from the in-memory index; only touches the database on (re)load
+    public SeatAvailabilityResponse getSeatAvailability(Long eventId) {
+        SeatAvailabilityResponse availability = availabilityIndex.getAvailability(eventId);
+        if (availability.seatCount() == 0 && !eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        return availability;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SectionInventoryResponse> getSectionInventory(Long eventId) {
+        return sectionInventoryService.getInventory(eventId);
+    }
+
     @Transactional(readOnly = true)
     public List<SeatResponse> getSeatsBySection(Long eventId, String section) {
         return seatRepository.findByEventIdAndSection(eventId, section).stream()
@@ -319,41 +381,122 @@ public class EventService {
 
     // Internal method for booking service to update seat status
     @Transactional
-    public void bookSeats(List<Long> seatIds, Long bookingId) {
-        List<Seat> seats = seatRepository.findAllByIdWithLock(seatIds);
-        
-        for (Seat seat : seats) {
-            if (!seat.isAvailable() && !seat.isLockedByUser(bookingId)) {
-                throw new BusinessException("Seat " + seat.getSeatIdentifier() + " is no longer available");
+    public void bookSeats(List<Long> seatIds, Long bookingId, Long userId) {
+        if (!bookSeatsBulk(List.of(new BulkSeatBookingRequest.Entry(bookingId, userId, seatIds))).isEmpty()) {
+            throw new BusinessException("Seats for booking " + bookingId + " are no longer available");
+        }
+    }
+
+    /**
+     * Book the seats of many bookings in one transaction. The seats are checked under a
+     * row lock, booked with one UPDATE, and each event's striped counter moves once by
+     * the total, so concurrent confirmations do not queue on the event row.
+     * A seat is bookable when it is free or still locked by the booking's user.
+     * A booking whose seats are not all bookable is rejected as a whole; a
+     * general-admission booking is rejected when its hold can no longer be booked.
+     */
+    @Transactional
+    public List<Long> bookSeatsBulk(List<BulkSeatBookingRequest.Entry> bookings) {
+        List<Long> allSeatIds = bookings.stream()
+                .filter(entry -> !entry.isGeneralAdmission())
+                .flatMap(entry -> entry.seatIds().stream())
+                .distinct()
+                .toList();
+        Map<Long, SeatRepository.SeatBookingView> seatsById = allSeatIds.isEmpty() ? Map.of()
+                : seatRepository.lockSeatsForBooking(allSeatIds, LocalDateTime.now()).stream()
+                        .collect(Collectors.toMap(SeatRepository.SeatBookingView::getId, Function.identity()));
+
+        List<Long> rejected = new ArrayList<>();
+        Map<Long, Long> bookingIdsBySeat = new LinkedHashMap<>();
+        Map<Long, List<Long>> bookedByEvent = new TreeMap<>();
+        Map<Long, Integer> deltaByEvent = new TreeMap<>();
+        for (BulkSeatBookingRequest.Entry entry : bookings) {
+            if (entry.isGeneralAdmission()) {
+                Optional<InventoryHold> hold = sectionInventoryService.tryBook(
+                        entry.lockId(), entry.quantity(), entry.bookingId());
+                if (hold.isEmpty()) {
+                    rejected.add(entry.bookingId());
+                } else {
+                    deltaByEvent.merge(hold.get().getInventory().getEvent().getId(), -entry.quantity(), Integer::sum);
+                }
+                continue;
+            }
+            List<Long> seatIds = entry.seatIds() == null ? List.of() : entry.seatIds().stream().distinct().toList();
+            boolean bookable = !seatIds.isEmpty() && seatIds.stream().allMatch(seatId -> {
+                SeatRepository.SeatBookingView seat = seatsById.get(seatId);
+                return seat != null && !bookingIdsBySeat.containsKey(seatId) && seat.isBookableBy(entry.userId());
+            });
+            if (!bookable) {
+                rejected.add(entry.bookingId());
+                continue;
+            }
+            for (Long seatId : seatIds) {
+                bookingIdsBySeat.put(seatId, entry.bookingId());
+                bookedByEvent.computeIfAbsent(seatsById.get(seatId).getEventId(), e -> new ArrayList<>()).add(seatId);
             }
-            seat.book(bookingId);
         }
-        
-        seatRepository.saveAll(seats);
-        
-        // Update event available seats count
-        if (!seats.isEmpty()) {
-            Event event = seats.get(0).getEvent();
-            event.decrementAvailableSeats(seats.size());
-            eventRepository.save(event);
+
+        seatRepository.bookSeats(bookingIdsBySeat);
+        bookedByEvent.forEach((eventId, seatIds) -> deltaByEvent.merge(eventId, -seatIds.size(), Integer::sum));
+        // Event ids ascending, so two bulk calls never wait on each other's counter rows in a cycle
+        deltaByEvent.forEach(seatCounter::adjust);
+        bookedByEvent.forEach((eventId, seatIds) -> seatMapStream.publish(eventId, seatIds, SeatStatus.BOOKED));
+
+        if (!rejected.isEmpty()) {
+            logger.warn("Rejected {} of {} bookings in bulk seat booking: {}", rejected.size(), bookings.size(), rejected);
         }
+        return rejected;
+    }
+
+    // Internal method for booking service to book a general-admission hold
+    @Transactional
+    public void bookGeneralAdmission(String lockId, int quantity, Long bookingId) {
+        InventoryHold hold = sectionInventoryService.book(lockId, quantity, bookingId);
+
+        seatCounter.adjust(hold.getInventory().getEvent().getId(), -quantity);
     }
 
     @Transactional
     public void releaseSeats(Long bookingId) {
-        List<Seat> seats = seatRepository.findByBookingId(bookingId);
-        
-        if (!seats.isEmpty()) {
-            Event event = seats.get(0).getEvent();
-            
-            for (Seat seat : seats) {
-                seat.release();
+        releaseSeatsBulk(List.of(bookingId));
+    }
+
+    /**
+     * Release everything held by the given bookings: general-admission holds go back to
+     * their inventory, seats are freed with one UPDATE, and each event's striped counter
+     * moves once by the total.
+     */
+    @Transactional
+    public void releaseSeatsBulk(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> deltaByEvent = new TreeMap<>();
+        for (Long bookingId : bookingIds) {
+            for (InventoryHold hold : sectionInventoryService.releaseBooked(bookingId)) {
+                deltaByEvent.merge(hold.getInventory().getEvent().getId(), hold.getQuantity(), Integer::sum);
             }
-            
-            seatRepository.saveAll(seats);
-            event.incrementAvailableSeats(seats.size());
-            eventRepository.save(event);
         }
+
+        Map<Long, List<Long>> seatIdsByEvent = SeatRepository.ReleasedSeatView.seatIdsByEvent(
+                seatRepository.releaseSeatsForBookings(bookingIds));
+        seatIdsByEvent.forEach((eventId, seatIds) -> deltaByEvent.merge(eventId, seatIds.size(), Integer::sum));
+
+        deltaByEvent.forEach(seatCounter::adjust);
+        seatIdsByEvent.forEach((eventId, seatIds) -> seatMapStream.publish(eventId, seatIds, SeatStatus.AVAILABLE));
+    }
+
+    // Responses carry the striped counter's view of available seats, one query per page
+    private EventResponse toResponse(Event event) {
+        Map<Long, Integer> available = seatCounter.availableSeats(List.of(event.getId()));
+        return EventMapper.toResponse(event, available.getOrDefault(event.getId(), event.getAvailableSeats()));
+    }
+
+    private Page<EventResponse> toResponses(Page<Event> events) {
+        Map<Long, Integer> available = seatCounter.availableSeats(events.map(Event::getId).getContent());
+        return events.map(event ->
+                EventMapper.toResponse(event, available.getOrDefault(event.getId(), event.getAvailableSeats())));
     }
 
     // Helper methods for internal use and testing
@@ -0,0 +1,275 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TransactionCallbacks;
+import com.ticket.event.dto.SeatAvailabilityResponse;
+import com.ticket.event.dto.SeatStatusDelta;
+import com.ticket.event.entity.SeatStatus;
+import com.ticket.event.repository.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory seat availability index per event.
+ * Keeps one bit per seat ordinal (1 = AVAILABLE), so a 100k-seat event costs about 12 KB.
+ * Local seat transitions are applied after commit; an index older than the refresh
+ * interval is reloaded from an id/status projection to pick up other instances' changes.
+ * One reader reloads an event while the others keep the stale index or wait for that
+ * load, and transitions that arrive during the load are applied to its result.
+ */
+@Component
+public class SeatAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatAvailabilityIndex.class);
+
+    private final SeatRepository seatRepository;
+    private final Map<String, EventSeatBitmap> indexes;
+    // Guarded by indexes, like the indexes themselves
+    private final Map<String, PendingLoad> loading = new HashMap<>();
+
+    @Value("${seat.availability.refresh-seconds:5}")
+    private long refreshSeconds;
+
+    @Value("${seat.availability.max-events:256}")
+    private int maxEvents;
+
+    public SeatAvailabilityIndex(SeatRepository seatRepository) {
+        this.seatRepository = seatRepository;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EventSeatBitmap> eldest) {
+                return size() > maxEvents;
+            }
+        };
+    }
+
+    public SeatAvailabilityResponse getAvailability(Long eventId) {
+        return getOrLoad(eventId).toResponse(eventId);
+    }
+
+    /**
+     * Point-in-time copy of an event's availability, safe to query without locking.
+     */
+    public LongPredicate availabilitySnapshot(Long eventId) {
+        return getOrLoad(eventId).snapshot();
+    }
+
+    public void markUnavailable(Long eventId, Collection<Long> seatIds) {
+        apply(eventId, seatIds, false);
+    }
+
+    public void markAvailable(Long eventId, Collection<Long> seatIds) {
+        apply(eventId, seatIds, true);
+    }
+
+    /**
+     * Apply a committed delta received from another instance.
+     */
+    public void apply(SeatStatusDelta delta) {
+        set(delta.tenantId() + ":" + delta.eventId(), delta.seatIds(), delta.status() == SeatStatus.AVAILABLE);
+    }
+
+    public void evict(Long eventId) {
+        String key = indexKey(eventId);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexes) {
+                indexes.remove(key);
+                // A load already running may predate the change; it is not kept
+                loading.remove(key);
+            }
+        });
+    }
+
+    private void apply(Long eventId, Collection<Long> seatIds, boolean available) {
+        if (seatIds.isEmpty()) {
+            return;
+        }
+        String key = indexKey(eventId);
+        List<Long> ids = List.copyOf(seatIds);
+        TransactionCallbacks.afterCommit(() -> set(key, ids, available));
+    }
+
+    // Only events that are indexed or loading are updated; others load lazily
+    private void set(String key, List<Long> ids, boolean available) {
+        EventSeatBitmap bitmap;
+        synchronized (indexes) {
+            bitmap = indexes.get(key);
+            PendingLoad load = loading.get(key);
+            if (load != null) {
+                load.record(ids, available);
+            }
+        }
+        if (bitmap != null) {
+            bitmap.set(ids, available);
+        }
+    }
+
+    private EventSeatBitmap getOrLoad(Long eventId) {
+        String key = indexKey(eventId);
+        EventSeatBitmap bitmap;
+        PendingLoad load;
+        boolean loader = false;
+        synchronized (indexes) {
+            bitmap = indexes.get(key);
+            if (bitmap != null && !bitmap.isStale(refreshSeconds)) {
+                return bitmap;
+            }
+            load = loading.get(key);
+            if (load == null) {
+                load = new PendingLoad();
+                loading.put(key, load);
+                loader = true;
+            }
+        }
+        if (!loader) {
+            // Another reader is loading this event; the stale index will do until it is done
+            return bitmap != null ? bitmap : load.await();
+        }
+
+        try {
+            EventSeatBitmap loaded = EventSeatBitmap.load(seatRepository.findSeatStatusesByEventId(eventId));
+            synchronized (indexes) {
+                load.replayOnto(loaded);
+                if (loading.get(key) == load) {
+                    loading.remove(key);
+                    indexes.put(key, loaded);
+                }
+            }
+            load.result.complete(loaded);
+            logger.debug("Loaded seat availability index for event {} ({} seats)", eventId, loaded.seatCount());
+            return loaded;
+        } catch (RuntimeException e) {
+            synchronized (indexes) {
+                loading.remove(key, load);
+            }
+            load.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private String indexKey(Long eventId) {
+        return TenantContext.getTenantId() + ":" + eventId;
+    }
+
+    // A reload in progress and the transitions it may have missed
+    private static final class PendingLoad {
+
+        private final CompletableFuture<EventSeatBitmap> result = new CompletableFuture<>();
+        private final List<Map.Entry<List<Long>, Boolean>> transitions = new ArrayList<>();
+
+        void record(List<Long> ids, boolean available) {
+            transitions.add(Map.entry(ids, available));
+        }
+
+        // Setting a bit is idempotent, so transitions the load already saw are harmless
+        void replayOnto(EventSeatBitmap bitmap) {
+            transitions.forEach(transition -> bitmap.set(transition.getKey(), transition.getValue()));
+        }
+
+        EventSeatBitmap await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+    }
+
+    /**
+     * Seat ordinals map to bit positions. Seats of an event are usually created in one
+     * batch with consecutive ids, in which case only the first id is kept; otherwise
+     * the sorted id array is used for lookups.
+     */
+    static final class EventSeatBitmap {
+
+        private final long firstSeatId;
+        private final long[] seatIds;
+        private final int seatCount;
+        private final BitSet available;
+        private final long loadedAt;
+
+        private EventSeatBitmap(long firstSeatId, long[] seatIds, int seatCount, BitSet available) {
+            this.firstSeatId = firstSeatId;
+            this.seatIds = seatIds;
+            this.seatCount = seatCount;
+            this.available = available;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        static EventSeatBitmap load(List<SeatRepository.SeatStatusView> seats) {
+            int count = seats.size();
+            long[] ids = new long[count];
+            BitSet available = new BitSet(count);
+            for (int i = 0; i < count; i++) {
+                SeatRepository.SeatStatusView seat = seats.get(i);
+                ids[i] = seat.getId();
+                if (seat.getStatus() == SeatStatus.AVAILABLE) {
+                    available.set(i);
+                }
+            }
+            long first = count > 0 ? ids[0] : 0;
+            boolean contiguous = count == 0 || ids[count - 1] - first == count - 1;
+            return new EventSeatBitmap(first, contiguous ? null : ids, count, available);
+        }
+
+        int seatCount() {
+            return seatCount;
+        }
+
+        boolean isStale(long refreshSeconds) {
+            return System.currentTimeMillis() - loadedAt > refreshSeconds * 1000;
+        }
+
+        synchronized void set(List<Long> ids, boolean value) {
+            for (Long seatId : ids) {
+                int ordinal = ordinal(seatId);
+                if (ordinal >= 0) {
+                    available.set(ordinal, value);
+                }
+            }
+        }
+
+        synchronized LongPredicate snapshot() {
+            BitSet copy = (BitSet) available.clone();
+            return seatId -> {
+                int ordinal = ordinal(seatId);
+                return ordinal >= 0 && copy.get(ordinal);
+            };
+        }
+
+        synchronized SeatAvailabilityResponse toResponse(Long eventId) {
+            return new SeatAvailabilityResponse(
+                eventId,
+                seatIds == null ? firstSeatId : null,
+                seatIds == null ? null : Arrays.stream(seatIds).boxed().toList(),
+                seatCount,
+                available.cardinality(),
+                Base64.getEncoder().encodeToString(available.toByteArray())
+            );
+        }
+
+        private int ordinal(long seatId) {
+            if (seatIds == null) {
+                long ordinal = seatId - firstSeatId;
+                return ordinal >= 0 && ordinal < seatCount ? (int) ordinal : -1;
+            }
+            int index = Arrays.binarySearch(seatIds, seatId);
+            return index >= 0 ? index : -1;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.entity.SeatStatus;
+import com.ticket.event.repository.SeatRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Releases expired seat locks within about a second of their deadline.
+ * Every lock adds "tenant|eventId|lockId" to a sorted set scored by its deadline.
+ * Each tick atomically pops the due members, so with several replicas each deadline is
+ * handled once, and frees the seats of each tenant with a single UPDATE ... RETURNING.
+ * The freed seats are fed to the availability index and seat-map stream.
+ */
+@Service
+public class SeatLockExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatLockExpiryService.class);
+    static final String LOCK_DEADLINES_KEY = "seat:lock:deadlines";
+    private static final String MEMBER_SEPARATOR = "|";
+
+    // Pops members whose deadline has passed, oldest first
+    private static final String POP_DUE_SCRIPT =
+        "local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+        "if #due > 0 then redis.call('ZREM', KEYS[1], unpack(due)) end " +
+        "return due";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> POP_DUE = new DefaultRedisScript<>(POP_DUE_SCRIPT, List.class);
+
+    private final SeatRepository seatRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SeatMapStreamService seatMapStream;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${seat.lock.expiry.batch-size:500}")
+    private int batchSize;
+
+    public SeatLockExpiryService(SeatRepository seatRepository,
+                                 RedisTemplate<String, Object> redisTemplate,
+                                 SeatMapStreamService seatMapStream,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.seatRepository = seatRepository;
+        this.redisTemplate = redisTemplate;
+        this.seatMapStream = seatMapStream;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    static String member(String tenantId, Long eventId, String lockId) {
+        return tenantId + MEMBER_SEPARATOR + eventId + MEMBER_SEPARATOR + lockId;
+    }
+
+    static double score(LocalDateTime expiresAt) {
+        // Round up so the member is never due before locked_until has passed
+        return expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + 1;
+    }
+
+    @Scheduled(fixedDelayString = "${seat.lock.expiry.tick-ms:1000}")
+    public void releaseDueLocks() {
+        @SuppressWarnings("unchecked")
+        List<Object> due = redisTemplate.execute(POP_DUE, List.of(LOCK_DEADLINES_KEY),
+                System.currentTimeMillis(), batchSize);
+        if (due == null || due.isEmpty()) {
+            return;
+        }
+
+        // tenant -> events with at least one due lock
+        Map<String, Set<Long>> eventsByTenant = new LinkedHashMap<>();
+        for (Object member : due) {
+            String[] parts = member.toString().split("\\" + MEMBER_SEPARATOR, 3);
+            eventsByTenant.computeIfAbsent(parts[0], t -> new TreeSet<>()).add(Long.valueOf(parts[1]));
+        }
+
+        eventsByTenant.forEach(this::releaseForTenant);
+    }
+
+    private void releaseForTenant(String tenantId, Set<Long> eventIds) {
+        String previousTenant = TenantContext.getCurrentTenant();
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            Integer released = transactionTemplate.execute(status -> {
+                List<SeatRepository.ReleasedSeatView> seats =
+                        seatRepository.releaseExpiredLocksForEvents(eventIds, LocalDateTime.now());
+                SeatRepository.ReleasedSeatView.seatIdsByEvent(seats)
+                        .forEach((eventId, seatIds) -> seatMapStream.publish(eventId, seatIds, SeatStatus.AVAILABLE));
+                return seats.size();
+            });
+            if (released != null && released > 0) {
+                meterRegistry.counter("seat.lock.expired", "tenant", tenantId).increment(released);
+                logger.info("Released {} expired seat locks for tenant {} across {} events",
+                           released, tenantId, eventIds.size());
+            }
+        } catch (RuntimeException e) {
+            // The minute sweep in SeatLockService still frees these seats
+            logger.error("Failed to release expired locks for tenant {}: {}", tenantId, e.getMessage());
+        } finally {
+            TenantContext.setCurrentTenant(previousTenant);
+        }
+    }
+}
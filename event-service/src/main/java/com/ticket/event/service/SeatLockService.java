@@ -2,20 +2,31 @@ package com.ticket.event.service;
 
 import com.ticket.common.exception.BusinessException;
 import com.ticket.common.exception.ResourceNotFoundException;
+import com.ticket.common.exception.SeatAlreadyLockedException;
 import com.ticket.common.redis.RedisLockService;
+import com.ticket.common.tenant.SweepPage;
 import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.common.tenant.TransactionCallbacks;
+import com.ticket.event.dto.BestAvailableRequest;
 import com.ticket.event.dto.LockSeatsRequest;
 import com.ticket.event.dto.SeatLockResponse;
 import com.ticket.event.entity.Event;
 import com.ticket.event.entity.EventStatus;
+import com.ticket.event.entity.InventoryHold;
 import com.ticket.event.entity.Seat;
 import com.ticket.event.entity.SeatStatus;
 import com.ticket.event.repository.EventRepository;
 import com.ticket.event.repository.SeatRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +34,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -33,11 +45,18 @@ public class SeatLockService {
     private static final Logger logger = LoggerFactory.getLogger(SeatLockService.class);
     private static final String SEAT_LOCK_KEY_PREFIX = "seat:lock:";
     private static final String USER_LOCKS_KEY_PREFIX = "user:locks:";
+    private static final String SEAT_LOCK_MODE = "seat";
 
     private final SeatRepository seatRepository;
     private final EventRepository eventRepository;
     private final RedisLockService redisLockService;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SeatMapStreamService seatMapStream;
+    private final SectionInventoryService sectionInventoryService;
+    private final BestAvailableAllocator allocator;
+    private final WaitingRoomService waitingRoom;
+    private final TenantSweeper tenantSweeper;
 
     @Value("${seat.lock.ttl-seconds:600}")
     private int lockTtlSeconds;
@@ -45,30 +64,143 @@ public class SeatLockService {
     @Value("${seat.lock.max-seats-per-booking:10}")
     private int maxSeatsPerBooking;
 
+    // "event" serializes all lockers of an event behind one mutex,
+    // "seat" claims only the requested seats atomically
+    @Value("${seat.lock.mode:event}")
+    private String lockMode;
+
+    @Value("${seat.best-available.max-attempts:5}")
+    private int bestAvailableAttempts;
+
     public SeatLockService(SeatRepository seatRepository,
                           EventRepository eventRepository,
                           RedisLockService redisLockService,
-                          RedisTemplate<String, Object> redisTemplate) {
+                          RedisTemplate<String, Object> redisTemplate,
+                          MeterRegistry meterRegistry,
+                          SeatMapStreamService seatMapStream,
+                          SectionInventoryService sectionInventoryService,
+                          BestAvailableAllocator allocator,
+                          WaitingRoomService waitingRoom,
+                          TenantSweeper tenantSweeper) {
         this.seatRepository = seatRepository;
         this.eventRepository = eventRepository;
         this.redisLockService = redisLockService;
         this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.seatMapStream = seatMapStream;
+        this.sectionInventoryService = sectionInventoryService;
+        this.allocator = allocator;
+        this.waitingRoom = waitingRoom;
+        this.tenantSweeper = tenantSweeper;
     }
 
     @Transactional
     public SeatLockResponse lockSeats(LockSeatsRequest request, Long userId) {
         String tenantId = TenantContext.getTenantId();
+        boolean generalAdmission = request.generalAdmission();
+        int requested = generalAdmission ? request.quantity()
+                : request.seatIds() == null ? 0 : request.seatIds().size();
         logger.info("User {} attempting to lock {} seats for event {}", 
-                   userId, request.seatIds().size(), request.eventId());
+                   userId, requested, request.eventId());
 
         // Validate request
-        if (request.seatIds().size() > maxSeatsPerBooking) {
+        if (requested == 0) {
+            throw new BusinessException("Select seats or a general admission section and quantity");
+        }
+        if (requested > maxSeatsPerBooking) {
+            throw new BusinessException("Cannot lock more than " + maxSeatsPerBooking + " seats at once");
+        }
+
+        waitingRoom.requireAdmission(request.eventId(), userId);
+        RoundTrips trips = new RoundTrips();
+        Event event = prepareEventForLocking(request.eventId(), userId, tenantId, trips);
+
+        if (generalAdmission) {
+            return holdGeneralAdmission(request, userId, event, tenantId);
+        }
+
+        try {
+            if (SEAT_LOCK_MODE.equalsIgnoreCase(lockMode)) {
+                return lockSeatsIndividually(request, userId, event, tenantId, trips);
+            }
+
+            // Get distributed lock for the operation
+            String distributedLockKey = "lock:seats:" + tenantId + ":" + request.eventId();
+            trips.add();
+            boolean acquired = redisLockService.tryLock(distributedLockKey, Duration.ofSeconds(30));
+
+            if (!acquired) {
+                throw new BusinessException("High demand for this event. Please try again.");
+            }
+
+            try {
+                return performSeatLocking(request, userId, event, tenantId, UUID.randomUUID().toString(), false, trips);
+            } finally {
+                trips.add();
+                redisLockService.unlock(distributedLockKey);
+            }
+        } finally {
+            recordRoundTrips("lock", trips);
+        }
+    }
+
+    /**
+     * Pick the best adjacent seats server-side and claim them in one atomic call.
+     * When another buyer wins a block first, the next best block is tried instead
+     * of failing back to the client.
+     */
+    @Transactional
+    public SeatLockResponse lockBestAvailable(BestAvailableRequest request, Long userId) {
+        String tenantId = TenantContext.getTenantId();
+        logger.info("User {} requesting best {} seats in section {} for event {}",
+                   userId, request.quantity(), request.section(), request.eventId());
+
+        if (request.quantity() > maxSeatsPerBooking) {
             throw new BusinessException("Cannot lock more than " + maxSeatsPerBooking + " seats at once");
         }
 
+        waitingRoom.requireAdmission(request.eventId(), userId);
+        RoundTrips trips = new RoundTrips();
+        Event event = prepareEventForLocking(request.eventId(), userId, tenantId, trips);
+        List<List<Long>> candidates = allocator.findCandidates(
+            request.eventId(), request.section(), request.type(), request.quantity(), bestAvailableAttempts);
+
+        try {
+            for (int attempt = 0; attempt < candidates.size(); attempt++) {
+                List<Long> seatIds = candidates.get(attempt);
+                String lockId = UUID.randomUUID().toString();
+                List<String> seatKeys = seatIds.stream().map(String::valueOf).toList();
+                trips.add();
+                if (redisLockService.tryLockSeats(tenantId, seatKeys, lockId, Duration.ofSeconds(lockTtlSeconds)) != null) {
+                    continue;
+                }
+
+                try {
+                    SeatLockResponse response = performSeatLocking(new LockSeatsRequest(request.eventId(), seatIds),
+                            userId, event, tenantId, lockId, true, trips);
+                    meterRegistry.summary("seat.lock.best_available.attempts").record(attempt + 1);
+                    return response;
+                } catch (RuntimeException e) {
+                    trips.add();
+                    redisLockService.releaseSeatLocks(tenantId, seatKeys, lockId);
+                    // Only a block lost to another buyer is worth retrying with the next one
+                    if (!(e instanceof BusinessException) || attempt == candidates.size() - 1) {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            recordRoundTrips("lock", trips);
+        }
+
+        throw new BusinessException("No " + request.quantity() + " adjacent seats available" +
+                (request.section() != null ? " in section " + request.section() : ""));
+    }
+
+    private Event prepareEventForLocking(Long eventId, Long userId, String tenantId, RoundTrips trips) {
         // Get event and validate
-        Event event = eventRepository.findById(request.eventId())
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", request.eventId()));
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
         if (event.getStatus() != EventStatus.PUBLISHED) {
             throw new BusinessException("Event is not available for booking");
@@ -79,30 +211,76 @@ public class SeatLockService {
         }
 
         // Check if user already has locks on this event
-        String userLockKey = getUserLockKey(tenantId, userId, request.eventId());
+        String userLockKey = getUserLockKey(tenantId, userId, eventId);
+        trips.add();
         String existingLockId = (String) redisTemplate.opsForValue().get(userLockKey);
         if (existingLockId != null) {
             // Release existing locks first
-            releaseUserLocks(userId, request.eventId());
+            releaseUserLocks(userId, eventId, trips);
         }
+        return event;
+    }
 
-        // Get distributed lock for the operation
-        String distributedLockKey = "lock:seats:" + tenantId + ":" + request.eventId();
-        boolean acquired = redisLockService.tryLock(distributedLockKey, Duration.ofSeconds(30));
-        
-        if (!acquired) {
-            throw new BusinessException("High demand for this event. Please try again.");
+    private SeatLockResponse lockSeatsIndividually(LockSeatsRequest request, Long userId,
+                                                   Event event, String tenantId, RoundTrips trips) {
+        // Claim all requested seats in one atomic Redis call so that
+        // disjoint selections for the same event can proceed in parallel
+        String lockId = UUID.randomUUID().toString();
+        List<String> seatIds = request.seatIds().stream().map(String::valueOf).toList();
+        trips.add();
+        String conflictingSeat = redisLockService.tryLockSeats(
+                tenantId, seatIds, lockId, Duration.ofSeconds(lockTtlSeconds));
+
+        if (conflictingSeat != null) {
+            throw new SeatAlreadyLockedException(conflictingSeat);
         }
 
         try {
-            return performSeatLocking(request, userId, event, tenantId);
-        } finally {
-            redisLockService.unlock(distributedLockKey);
+            return performSeatLocking(request, userId, event, tenantId, lockId, true, trips);
+        } catch (RuntimeException e) {
+            trips.add();
+            redisLockService.releaseSeatLocks(tenantId, seatIds, lockId);
+            throw e;
         }
     }
 
+    private SeatLockResponse holdGeneralAdmission(LockSeatsRequest request, Long userId,
+                                                  Event event, String tenantId) {
+        // Counter-based holds need neither the event mutex nor per-seat claims
+        if (request.quantity() > event.getMaxTicketsPerUser()) {
+            throw new BusinessException("You can only book up to " + event.getMaxTicketsPerUser() +
+                                       " tickets for this event");
+        }
+
+        String lockId = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(lockTtlSeconds);
+        InventoryHold hold = sectionInventoryService.hold(
+            request.eventId(), request.section(), request.quantity(), userId, lockId, expiresAt);
+
+        redisTemplate.opsForValue().set(getUserLockKey(tenantId, userId, request.eventId()),
+                                        lockId, lockTtlSeconds, TimeUnit.SECONDS);
+        leaveWaitingRoom(request.eventId(), userId);
+
+        BigDecimal totalPrice = hold.getInventory().getFinalPrice().multiply(BigDecimal.valueOf(request.quantity()));
+        logger.info("Held {} tickets in section {} for user {} with lock ID {}. Expires at {}",
+                   request.quantity(), request.section(), userId, lockId, expiresAt);
+
+        return new SeatLockResponse(
+            lockId,
+            request.eventId(),
+            userId,
+            List.of(),
+            totalPrice,
+            expiresAt,
+            lockTtlSeconds,
+            request.section(),
+            request.quantity()
+        );
+    }
+
     private SeatLockResponse performSeatLocking(LockSeatsRequest request, Long userId, 
-                                                 Event event, String tenantId) {
+                                                 Event event, String tenantId, String lockId,
+                                                 boolean seatsClaimed, RoundTrips trips) {
         // Lock seats in database with pessimistic locking
         List<Seat> seats = seatRepository.findAllByIdWithLock(request.seatIds());
 
@@ -125,8 +303,6 @@ public class SeatLockService {
                                        " tickets for this event. You already have " + userBookedSeats);
         }
 
-        // Generate lock ID
-        String lockId = UUID.randomUUID().toString();
         LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(lockTtlSeconds);
 
         // Lock seats in database
@@ -134,9 +310,12 @@ public class SeatLockService {
             seat.lockForUser(userId, expiresAt);
         }
         seatRepository.saveAll(seats);
+        seatMapStream.publish(request.eventId(), request.seatIds(), SeatStatus.LOCKED);
 
         // Store lock in Redis for quick lookups
-        storeLockInRedis(lockId, tenantId, userId, request, expiresAt);
+        trips.add();
+        storeLockInRedis(lockId, tenantId, userId, request, expiresAt, seatsClaimed);
+        leaveWaitingRoom(request.eventId(), userId);
 
         logger.info("Locked {} seats for user {} with lock ID {}. Expires at {}", 
                    seats.size(), userId, lockId, expiresAt);
@@ -148,39 +327,68 @@ public class SeatLockService {
             request.seatIds(),
             totalPrice,
             expiresAt,
-            lockTtlSeconds
+            lockTtlSeconds,
+            null,
+            null
         );
     }
 
+    // A shopper holding seats no longer needs an admission slot
+    private void leaveWaitingRoom(Long eventId, Long userId) {
+        TransactionCallbacks.afterCommit(() -> waitingRoom.leave(eventId, userId));
+    }
+
     private void storeLockInRedis(String lockId, String tenantId, Long userId, 
-                                  LockSeatsRequest request, LocalDateTime expiresAt) {
-        // Store lock details
+                                  LockSeatsRequest request, LocalDateTime expiresAt,
+                                  boolean seatsClaimed) {
         String lockKey = getSeatLockKey(tenantId, lockId);
         SeatLockData lockData = new SeatLockData(
             lockId, tenantId, request.eventId(), userId, 
             request.seatIds(), expiresAt
         );
-        redisTemplate.opsForValue().set(lockKey, lockData, lockTtlSeconds, TimeUnit.SECONDS);
-
-        // Store reference for user
         String userLockKey = getUserLockKey(tenantId, userId, request.eventId());
-        redisTemplate.opsForValue().set(userLockKey, lockId, lockTtlSeconds, TimeUnit.SECONDS);
-
-        // Store reference for each seat
-        for (Long seatId : request.seatIds()) {
-            String seatKey = SEAT_LOCK_KEY_PREFIX + tenantId + ":" + seatId;
-            redisTemplate.opsForValue().set(seatKey, lockId, lockTtlSeconds, TimeUnit.SECONDS);
-        }
+        String deadlineMember = SeatLockExpiryService.member(tenantId, request.eventId(), lockId);
+        double deadline = SeatLockExpiryService.score(expiresAt);
+
+        // Pipeline all writes so the bookkeeping costs a single round trip
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ValueOperations<String, Object> ops = (ValueOperations<String, Object>) operations.opsForValue();
+                ops.set(lockKey, lockData, lockTtlSeconds, TimeUnit.SECONDS);
+                ops.set(userLockKey, lockId, lockTtlSeconds, TimeUnit.SECONDS);
+                ((ZSetOperations<String, Object>) operations.opsForZSet())
+                        .add(SeatLockExpiryService.LOCK_DEADLINES_KEY, deadlineMember, deadline);
+                // Seat references already claimed by tryLockSeats are left as they are
+                if (!seatsClaimed) {
+                    for (Long seatId : request.seatIds()) {
+                        ops.set(getSeatKey(tenantId, seatId), lockId, lockTtlSeconds, TimeUnit.SECONDS);
+                    }
+                }
+                return null;
+            }
+        });
     }
 
     @Transactional
     public void releaseUserLocks(Long userId, Long eventId) {
+        RoundTrips trips = new RoundTrips();
+        try {
+            releaseUserLocks(userId, eventId, trips);
+        } finally {
+            recordRoundTrips("release", trips);
+        }
+    }
+
+    private void releaseUserLocks(Long userId, Long eventId, RoundTrips trips) {
         String tenantId = TenantContext.getTenantId();
         String userLockKey = getUserLockKey(tenantId, userId, eventId);
+        trips.add();
         String lockId = (String) redisTemplate.opsForValue().get(userLockKey);
 
         if (lockId != null) {
-            releaseLock(lockId, userId);
+            releaseLock(lockId, userId, trips);
         }
 
         // Also release from database
@@ -189,15 +397,31 @@ public class SeatLockService {
             seat.unlock();
         }
         seatRepository.saveAll(lockedSeats);
+        seatMapStream.publish(eventId, lockedSeats.stream().map(Seat::getId).toList(), SeatStatus.AVAILABLE);
+        sectionInventoryService.releaseUserHolds(userId, eventId);
     }
 
     @Transactional
     public void releaseLock(String lockId, Long userId) {
+        RoundTrips trips = new RoundTrips();
+        try {
+            releaseLock(lockId, userId, trips);
+        } finally {
+            recordRoundTrips("release", trips);
+        }
+    }
+
+    private void releaseLock(String lockId, Long userId, RoundTrips trips) {
         String tenantId = TenantContext.getTenantId();
         String lockKey = getSeatLockKey(tenantId, lockId);
+        trips.add();
         SeatLockData lockData = (SeatLockData) redisTemplate.opsForValue().get(lockKey);
 
         if (lockData == null) {
+            if (sectionInventoryService.releaseHold(lockId, userId)) {
+                logger.info("Released general-admission hold {} for user {}", lockId, userId);
+                return;
+            }
             logger.warn("Lock {} not found or already expired", lockId);
             return;
         }
@@ -206,27 +430,27 @@ public class SeatLockService {
             throw new BusinessException("You don't have permission to release this lock");
         }
 
-        // Remove lock data
-        redisTemplate.delete(lockKey);
-
-        // Remove user reference
-        String userLockKey = getUserLockKey(tenantId, userId, lockData.eventId());
-        redisTemplate.delete(userLockKey);
-
-        // Remove seat references
+        // Remove lock data, user reference and seat references with one DEL
+        List<String> keys = new ArrayList<>(lockData.seatIds().size() + 2);
+        keys.add(lockKey);
+        keys.add(getUserLockKey(tenantId, userId, lockData.eventId()));
         for (Long seatId : lockData.seatIds()) {
-            String seatKey = SEAT_LOCK_KEY_PREFIX + tenantId + ":" + seatId;
-            redisTemplate.delete(seatKey);
+            keys.add(getSeatKey(tenantId, seatId));
         }
+        trips.add();
+        redisTemplate.delete(keys);
 
         // Release seats in database
         List<Seat> seats = seatRepository.findAllById(lockData.seatIds());
+        List<Long> unlockedSeatIds = new ArrayList<>();
         for (Seat seat : seats) {
             if (seat.isLockedByUser(userId)) {
                 seat.unlock();
+                unlockedSeatIds.add(seat.getId());
             }
         }
         seatRepository.saveAll(seats);
+        seatMapStream.publish(lockData.eventId(), unlockedSeatIds, SeatStatus.AVAILABLE);
 
         logger.info("Released lock {} for user {}", lockId, userId);
     }
@@ -253,8 +477,7 @@ public class SeatLockService {
 
     public boolean isSeatLocked(Long seatId) {
         String tenantId = TenantContext.getTenantId();
-        String seatKey = SEAT_LOCK_KEY_PREFIX + tenantId + ":" + seatId;
-        return redisTemplate.hasKey(seatKey);
+        return redisTemplate.hasKey(getSeatKey(tenantId, seatId));
     }
 
     private long countUserBookedSeatsForEvent(Long userId, Long eventId) {
@@ -269,17 +492,38 @@ public class SeatLockService {
         return SEAT_LOCK_KEY_PREFIX + tenantId + ":lock:" + lockId;
     }
 
+    private String getSeatKey(String tenantId, Long seatId) {
+        return SEAT_LOCK_KEY_PREFIX + tenantId + ":" + seatId;
+    }
+
+    private void recordRoundTrips(String operation, RoundTrips trips) {
+        meterRegistry.summary("seat.lock.redis.round_trips", "operation", operation).record(trips.count);
+    }
+
     private String getUserLockKey(String tenantId, Long userId, Long eventId) {
         return USER_LOCKS_KEY_PREFIX + tenantId + ":" + userId + ":" + eventId;
     }
 
-    // Scheduled task to clean up expired locks
+    // Backstop for locks missed by SeatLockExpiryService, e.g. when Redis was unavailable
     @Scheduled(fixedRate = 60000) // Run every minute
-    @Transactional
     public void cleanupExpiredLocks() {
-        int released = seatRepository.releaseExpiredLocks(LocalDateTime.now());
-        if (released > 0) {
-            logger.info("Released {} expired seat locks", released);
+        tenantSweeper.sweep("seat-lock-cleanup", this::cleanupExpiredLocks);
+    }
+
+    SweepPage cleanupExpiredLocks(long afterId, int limit) {
+        List<SeatRepository.ReleasedSeatView> released =
+                seatRepository.releaseExpiredLocks(LocalDateTime.now(), afterId, limit);
+        SeatRepository.ReleasedSeatView.seatIdsByEvent(released)
+                .forEach((eventId, seatIds) -> seatMapStream.publish(eventId, seatIds, SeatStatus.AVAILABLE));
+        return SweepPage.of(released, SeatRepository.ReleasedSeatView::getId);
+    }
+
+    // Redis calls and pipelines issued by one lock or release operation
+    private static final class RoundTrips {
+        private int count;
+
+        void add() {
+            count++;
         }
     }
 
@@ -0,0 +1,133 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TransactionCallbacks;
+import com.ticket.event.dto.SeatAvailabilityResponse;
+import com.ticket.event.dto.SeatStatusDelta;
+import com.ticket.event.entity.SeatStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+
+/**
+ * Pushes live seat-map changes to clients over Server-Sent Events.
+ * Deltas are published to Redis pub/sub after commit so every event-service
+ * instance can update its availability index and fan them out to its own subscribers.
+ */
+@Service
+public class SeatMapStreamService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapStreamService.class);
+    public static final String SEAT_UPDATES_CHANNEL_PREFIX = "seat:updates:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${seat.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    public SeatMapStreamService(RedisTemplate<String, Object> redisTemplate,
+                                SeatAvailabilityIndex availabilityIndex) {
+        this.redisTemplate = redisTemplate;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    /**
+     * Record a seat status change. The local index is updated and the delta is
+     * broadcast once the surrounding transaction commits.
+     */
+    public void publish(Long eventId, Collection<Long> seatIds, SeatStatus status) {
+        if (seatIds.isEmpty()) {
+            return;
+        }
+        if (status == SeatStatus.AVAILABLE) {
+            availabilityIndex.markAvailable(eventId, seatIds);
+        } else {
+            availabilityIndex.markUnavailable(eventId, seatIds);
+        }
+
+        String tenantId = TenantContext.getTenantId();
+        SeatStatusDelta delta = new SeatStatusDelta(tenantId, eventId, List.copyOf(seatIds), status);
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                redisTemplate.convertAndSend(channel(tenantId, eventId), delta);
+            } catch (Exception e) {
+                logger.warn("Failed to publish seat delta for event {}: {}", eventId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Open a stream for an event. The first message is a full availability snapshot,
+     * followed by one message per status delta.
+     */
+    public SseEmitter subscribe(Long eventId, Supplier<SeatAvailabilityResponse> snapshot) {
+        String key = channel(TenantContext.getTenantId(), eventId);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(key, k -> new CopyOnWriteArraySet<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> unsubscribe(key, emitter));
+        emitter.onTimeout(() -> unsubscribe(key, emitter));
+        emitter.onError(e -> unsubscribe(key, emitter));
+
+        // Register before taking the snapshot so no delta falls in between
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(snapshot.get()));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            unsubscribe(key, emitter);
+            throw e;
+        }
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(payload instanceof SeatStatusDelta delta)) {
+            return;
+        }
+
+        availabilityIndex.apply(delta);
+
+        Set<SseEmitter> emitters = subscribers.get(channel(delta.tenantId(), delta.eventId()));
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("delta").data(delta));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the completion callback removes it
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void unsubscribe(String key, SseEmitter emitter) {
+        subscribers.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static String channel(String tenantId, Long eventId) {
+        return SEAT_UPDATES_CHANNEL_PREFIX + tenantId + ":" + eventId;
+    }
+}
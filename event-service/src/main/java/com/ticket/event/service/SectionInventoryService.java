@@ -0,0 +1,252 @@
+package com.ticket.event.service;
+
+import com.ticket.common.exception.BusinessException;
+import com.ticket.common.exception.ResourceNotFoundException;
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.common.tenant.TransactionCallbacks;
+import com.ticket.event.dto.EventMapper;
+import com.ticket.event.dto.SectionInventoryResponse;
+import com.ticket.event.entity.Event;
+import com.ticket.event.entity.InventoryHold;
+import com.ticket.event.entity.InventoryHoldStatus;
+import com.ticket.event.entity.SeatType;
+import com.ticket.event.entity.SectionInventory;
+import com.ticket.event.repository.InventoryHoldRepository;
+import com.ticket.event.repository.SectionInventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Capacity-counter inventory for general-admission sections.
+ * A Redis counter per section admits or rejects a hold in one atomic call, so requests
+ * for a sold-out section never reach Postgres. The conditional UPDATE on the inventory
+ * row remains the source of truth; the counter expires periodically and is re-seeded
+ * from it, which bounds any drift between the two.
+ */
+@Service
+public class SectionInventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SectionInventoryService.class);
+    private static final String COUNTER_KEY_PREFIX = "ga:available:";
+    private static final long NOT_SEEDED = -1;
+
+    // Returns the remaining quantity, -1 when the counter is missing, -2 when insufficient
+    private static final String TAKE_SCRIPT =
+        "local available = redis.call('GET', KEYS[1]) " +
+        "if not available then return -1 end " +
+        "if tonumber(available) < tonumber(ARGV[1]) then return -2 end " +
+        "return redis.call('DECRBY', KEYS[1], ARGV[1])";
+
+    // A missing counter is left alone; it is re-seeded from Postgres on next use
+    private static final String RESTOCK_SCRIPT =
+        "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+        "    return redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+        "end " +
+        "return -1";
+
+    private final SectionInventoryRepository inventoryRepository;
+    private final InventoryHoldRepository holdRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TenantSweeper tenantSweeper;
+
+    @Value("${seat.general-admission.counter-ttl-seconds:300}")
+    private long counterTtlSeconds;
+
+    public SectionInventoryService(SectionInventoryRepository inventoryRepository,
+                                   InventoryHoldRepository holdRepository,
+                                   StringRedisTemplate redisTemplate,
+                                   TenantSweeper tenantSweeper) {
+        this.inventoryRepository = inventoryRepository;
+        this.holdRepository = holdRepository;
+        this.redisTemplate = redisTemplate;
+        this.tenantSweeper = tenantSweeper;
+    }
+
+    public SectionInventory createInventory(Event event, String section, SeatType type,
+                                            BigDecimal priceMultiplier, int capacity) {
+        SectionInventory inventory = new SectionInventory(
+            event, section, type, event.getBasePrice(), priceMultiplier, capacity);
+        return inventoryRepository.save(inventory);
+    }
+
+    public List<SectionInventoryResponse> getInventory(Long eventId) {
+        return inventoryRepository.findByEventId(eventId).stream()
+                .map(EventMapper::toInventoryResponse)
+                .toList();
+    }
+
+    @Transactional
+    public InventoryHold hold(Long eventId, String section, int quantity, Long userId,
+                              String lockId, LocalDateTime expiresAt) {
+        SectionInventory inventory = inventoryRepository.findByEventIdAndSection(eventId, section)
+                .orElseThrow(() -> new ResourceNotFoundException("Section", "name", section));
+
+        String counterKey = getCounterKey(inventory.getId());
+        if (!takeFromCounter(counterKey, inventory, quantity)) {
+            throw new BusinessException("Not enough tickets available in section " + section);
+        }
+        restockCounterOnRollback(counterKey, quantity);
+
+        if (inventoryRepository.reserve(inventory.getId(), quantity) == 0) {
+            // The counter was ahead of Postgres; drop it so the next hold re-seeds it
+            redisTemplate.delete(counterKey);
+            throw new BusinessException("Not enough tickets available in section " + section);
+        }
+
+        logger.info("User {} holds {} tickets in section {} of event {}", userId, quantity, section, eventId);
+        return holdRepository.save(new InventoryHold(lockId, inventory, userId, quantity, expiresAt));
+    }
+
+    @Transactional
+    public InventoryHold book(String lockId, int quantity, Long bookingId) {
+        InventoryHold hold = holdRepository.findByLockId(lockId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold", "lockId", lockId));
+
+        if (!hold.isHeld()) {
+            throw new BusinessException("Hold " + lockId + " has expired or was already used");
+        }
+        if (hold.getQuantity() != quantity) {
+            throw new BusinessException("Booking quantity " + quantity + " does not match held quantity " + hold.getQuantity());
+        }
+
+        hold.book(bookingId);
+        return holdRepository.save(hold);
+    }
+
+    /**
+     * Book a hold when it is still held for the given quantity. Unlike {@link #book}, a
+     * hold that cannot be booked is reported rather than thrown, so a bulk caller's
+     * transaction is not marked for rollback.
+     */
+    @Transactional
+    public Optional<InventoryHold> tryBook(String lockId, int quantity, Long bookingId) {
+        Optional<InventoryHold> hold = holdRepository.findByLockId(lockId)
+                .filter(h -> h.isHeld() && h.getQuantity() == quantity);
+        hold.ifPresent(h -> {
+            h.book(bookingId);
+            holdRepository.save(h);
+        });
+        return hold;
+    }
+
+    public Optional<InventoryHold> findHold(String lockId) {
+        return holdRepository.findByLockId(lockId);
+    }
+
+    /**
+     * Release a hold by its lock ID.
+     *
+     * @return false when no hold exists for the lock ID
+     */
+    @Transactional
+    public boolean releaseHold(String lockId, Long userId) {
+        Optional<InventoryHold> hold = holdRepository.findByLockId(lockId);
+        if (hold.isEmpty()) {
+            return false;
+        }
+        if (!hold.get().getUserId().equals(userId)) {
+            throw new BusinessException("You don't have permission to release this lock");
+        }
+        if (hold.get().getStatus() == InventoryHoldStatus.HELD) {
+            restock(hold.get());
+        }
+        return true;
+    }
+
+    @Transactional
+    public void releaseUserHolds(Long userId, Long eventId) {
+        holdRepository.findHeldByUserAndEvent(userId, eventId).forEach(this::restock);
+    }
+
+    @Transactional
+    public List<InventoryHold> releaseBooked(Long bookingId) {
+        List<InventoryHold> holds = holdRepository.findBookedByBookingId(bookingId);
+        holds.forEach(this::restock);
+        return holds;
+    }
+
+    // Bookings holding general-admission tickets for the event
+    public long countBookings(Long eventId) {
+        return holdRepository.countBookingsForEvent(eventId);
+    }
+
+    // Scheduled task to return expired holds to their sections in every tenant
+    @Scheduled(fixedRate = 60000)
+    public void releaseExpiredHolds() {
+        tenantSweeper.sweep("ga-hold-expiry", this::releaseExpiredHolds);
+    }
+
+    SweepPage releaseExpiredHolds(long afterId, int limit) {
+        List<InventoryHold> expired = holdRepository.findExpiredHolds(
+            LocalDateTime.now(), afterId, PageRequest.of(0, limit));
+        expired.forEach(this::restock);
+        return SweepPage.of(expired, InventoryHold::getId);
+    }
+
+    private boolean takeFromCounter(String counterKey, SectionInventory inventory, int quantity) {
+        Long remaining = take(counterKey, quantity);
+        if (remaining != null && remaining == NOT_SEEDED) {
+            redisTemplate.opsForValue().setIfAbsent(
+                counterKey, String.valueOf(inventory.getAvailable()), Duration.ofSeconds(counterTtlSeconds));
+            remaining = take(counterKey, quantity);
+        }
+        return remaining != null && remaining >= 0;
+    }
+
+    private Long take(String counterKey, int quantity) {
+        return redisTemplate.execute(
+            new DefaultRedisScript<>(TAKE_SCRIPT, Long.class), List.of(counterKey), String.valueOf(quantity));
+    }
+
+    private void restock(InventoryHold hold) {
+        hold.release();
+        holdRepository.save(hold);
+
+        Long inventoryId = hold.getInventory().getId();
+        int quantity = hold.getQuantity();
+        inventoryRepository.restock(inventoryId, quantity);
+
+        String counterKey = getCounterKey(inventoryId);
+        TransactionCallbacks.afterCommit(() -> restockCounter(counterKey, quantity));
+    }
+
+    private void restockCounterOnRollback(String counterKey, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    restockCounter(counterKey, quantity);
+                }
+            }
+        });
+    }
+
+    private void restockCounter(String counterKey, int quantity) {
+        redisTemplate.execute(
+            new DefaultRedisScript<>(RESTOCK_SCRIPT, Long.class), List.of(counterKey), String.valueOf(quantity));
+    }
+
+    private String getCounterKey(Long inventoryId) {
+        return COUNTER_KEY_PREFIX + TenantContext.getTenantId() + ":" + inventoryId;
+    }
+}
@@ -0,0 +1,174 @@
+package com.ticket.event.service;
+
+import com.ticket.common.exception.WaitingRoomException;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.dto.QueueStatusResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * FIFO admission queue in front of seat locking.
+ * Waiting users sit in a sorted set scored by arrival ticket; admitted shoppers sit in a
+ * second sorted set scored by session deadline. Each call expires stale sessions and
+ * promotes the head of the queue into free slots, so at most a fixed number of shoppers
+ * per event reach the lock path at once.
+ */
+@Service
+public class WaitingRoomService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitingRoomService.class);
+    private static final String WAITING_ROOM_KEY_PREFIX = "waitroom:";
+
+    // Returns {admitted, ticket, deadline millis when admitted or queue position otherwise}
+    private static final String ENTER_SCRIPT =
+        "local now = tonumber(ARGV[2]) " +
+        "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now) " +
+        "local ticket = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+        "if not ticket and not redis.call('ZSCORE', KEYS[2], ARGV[1]) then " +
+        "    ticket = redis.call('INCR', KEYS[3]) " +
+        "    redis.call('ZADD', KEYS[1], ticket, ARGV[1]) " +
+        "end " +
+        "local free = tonumber(ARGV[3]) - redis.call('ZCARD', KEYS[2]) " +
+        "if free > 0 then " +
+        "    for _, member in ipairs(redis.call('ZRANGE', KEYS[1], 0, free - 1)) do " +
+        "        redis.call('ZADD', KEYS[2], now + tonumber(ARGV[4]), member) " +
+        "        redis.call('ZREM', KEYS[1], member) " +
+        "    end " +
+        "end " +
+        "for i = 1, 3 do redis.call('EXPIRE', KEYS[i], ARGV[5]) end " +
+        "local deadline = redis.call('ZSCORE', KEYS[2], ARGV[1]) " +
+        "if deadline then return {1, tonumber(ticket or 0), tonumber(deadline)} end " +
+        "return {0, tonumber(ticket), redis.call('ZRANK', KEYS[1], ARGV[1]) + 1}";
+
+    // Read-only; returns {admitted, ticket, deadline millis, queue position, or -1 when not in line}.
+    // Free slots are taken off the position, since the next enter promotes into them.
+    private static final String STATUS_SCRIPT =
+        "local now = tonumber(ARGV[2]) " +
+        "local deadline = redis.call('ZSCORE', KEYS[2], ARGV[1]) " +
+        "if deadline and tonumber(deadline) > now then return {1, 0, tonumber(deadline)} end " +
+        "local ticket = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+        "if not ticket then return {0, 0, -1} end " +
+        "local free = math.max(0, tonumber(ARGV[3]) - redis.call('ZCOUNT', KEYS[2], '(' .. now, '+inf')) " +
+        "local position = redis.call('ZRANK', KEYS[1], ARGV[1]) + 1 - free " +
+        "return {0, tonumber(ticket), math.max(position, 0)}";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> ENTER = new DefaultRedisScript<>(ENTER_SCRIPT, List.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> STATUS = new DefaultRedisScript<>(STATUS_SCRIPT, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${waiting-room.enabled:false}")
+    private boolean enabled;
+
+    @Value("${waiting-room.active-shoppers-per-event:500}")
+    private int activeShoppers;
+
+    @Value("${waiting-room.session-seconds:600}")
+    private long sessionSeconds;
+
+    @Value("${waiting-room.idle-ttl-seconds:3600}")
+    private long idleTtlSeconds;
+
+    public WaitingRoomService(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Join the queue, or report the current position when already in it.
+     * Calling this again is how clients poll; it never loses the user's place.
+     */
+    public QueueStatusResponse enter(Long eventId, Long userId) {
+        if (!enabled) {
+            return new QueueStatusResponse(eventId, 0L, true, 0L, null);
+        }
+
+        String prefix = getKeyPrefix(eventId);
+        @SuppressWarnings("unchecked")
+        List<Long> result = redisTemplate.execute(ENTER,
+                List.of(prefix + "queue", prefix + "active", prefix + "seq"),
+                String.valueOf(userId),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(activeShoppers),
+                String.valueOf(sessionSeconds * 1000),
+                String.valueOf(idleTtlSeconds));
+
+        if (result.get(0) == 1) {
+            LocalDateTime admittedUntil = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(result.get(2)), ZoneId.systemDefault());
+            return new QueueStatusResponse(eventId, result.get(1), true, 0L, admittedUntil);
+        }
+        return new QueueStatusResponse(eventId, result.get(1), false, result.get(2), null);
+    }
+
+    /**
+     * Report the user's place without joining or promoting anyone, for clients that poll.
+     * Position 0 means a slot is free and the next lock attempt will be admitted; a null
+     * position means the user is not in line.
+     */
+    public QueueStatusResponse status(Long eventId, Long userId) {
+        if (!enabled) {
+            return new QueueStatusResponse(eventId, 0L, true, 0L, null);
+        }
+
+        String prefix = getKeyPrefix(eventId);
+        @SuppressWarnings("unchecked")
+        List<Long> result = redisTemplate.execute(STATUS,
+                List.of(prefix + "queue", prefix + "active"),
+                String.valueOf(userId),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(activeShoppers));
+
+        if (result.get(0) == 1) {
+            LocalDateTime admittedUntil = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(result.get(2)), ZoneId.systemDefault());
+            return new QueueStatusResponse(eventId, null, true, 0L, admittedUntil);
+        }
+        if (result.get(2) < 0) {
+            return new QueueStatusResponse(eventId, null, false, null, null);
+        }
+        return new QueueStatusResponse(eventId, result.get(1), false, result.get(2), null);
+    }
+
+    /**
+     * Gate for the seat lock path. Admits the user when a slot is free, otherwise
+     * keeps their place in line and rejects with their position.
+     */
+    public void requireAdmission(Long eventId, Long userId) {
+        QueueStatusResponse status = enter(eventId, userId);
+        if (!status.admitted()) {
+            meterRegistry.counter("waiting_room.rejected").increment();
+            logger.debug("User {} is number {} in the queue for event {}", userId, status.position(), eventId);
+            throw new WaitingRoomException(status.position());
+        }
+    }
+
+    // Also called once the user holds seats, which frees their shopping slot for the next in line
+    public void leave(Long eventId, Long userId) {
+        if (!enabled) {
+            return;
+        }
+        String prefix = getKeyPrefix(eventId);
+        String member = String.valueOf(userId);
+        redisTemplate.opsForZSet().remove(prefix + "queue", member);
+        redisTemplate.opsForZSet().remove(prefix + "active", member);
+    }
+
+    private String getKeyPrefix(Long eventId) {
+        return WAITING_ROOM_KEY_PREFIX + TenantContext.getTenantId() + ":" + eventId + ":";
+    }
+}
@@ -0,0 +1,104 @@
+package com.ticket.event.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Reports seats/sec for bulk seat materialization against a real Postgres.
+ * Skipped when Docker is not available.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Seat Bulk Insert Benchmark")
+class SeatBulkInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatBulkInsertBenchmarkTest.class);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15"))
+        .withDatabaseName("test_db")
+        .withUsername("test")
+        .withPassword("test");
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                CREATE TABLE seats (
+                    id BIGSERIAL PRIMARY KEY,
+                    event_id BIGINT NOT NULL,
+                    section VARCHAR(255) NOT NULL,
+                    row_number VARCHAR(255) NOT NULL,
+                    seat_number VARCHAR(255) NOT NULL,
+                    type VARCHAR(255) NOT NULL,
+                    status VARCHAR(255) NOT NULL,
+                    price NUMERIC(10, 2) NOT NULL,
+                    price_multiplier NUMERIC(5, 2),
+                    locked_by BIGINT,
+                    locked_until TIMESTAMP,
+                    booking_id BIGINT,
+                    version BIGINT,
+                    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                    UNIQUE (event_id, section, row_number, seat_number)
+                )""");
+        }
+    }
+
+    @BeforeEach
+    void truncate() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE seats");
+        }
+    }
+
+    @ParameterizedTest(name = "{0} seats")
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    @DisplayName("Bulk insert throughput")
+    void bulkInsertThroughput(int seatCount) throws SQLException {
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            int inserted = SeatBulkRepositoryImpl.insertSeats(connection, 1L,
+                SeatBulkRepositoryImplTest.seats(seatCount), 1000);
+            connection.commit();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            logger.info("Inserted {} seats in {} ms ({} seats/sec)",
+                inserted, Math.round(seconds * 1000), Math.round(inserted / seconds));
+            assertThat(inserted).isEqualTo(seatCount);
+            assertThat(countSeats(connection)).isEqualTo(seatCount);
+        }
+    }
+
+    private static long countSeats(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM seats")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+            postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,64 @@
+package com.ticket.event.repository;
+
+import com.ticket.event.entity.Seat;
+import com.ticket.event.entity.SeatType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Seat Bulk Repository Unit Tests")
+class SeatBulkRepositoryImplTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Test
+    @DisplayName("Should flush a JDBC batch every batch-size seats")
+    void insertSeats_ExecutesInBatches() throws Exception {
+        when(connection.prepareStatement(SeatBulkRepositoryImpl.INSERT_SQL)).thenReturn(statement);
+
+        int inserted = SeatBulkRepositoryImpl.insertSeats(connection, 1L, seats(2500), 1000);
+
+        assertThat(inserted).isEqualTo(2500);
+        verify(statement, times(2500)).addBatch();
+        verify(statement, times(3)).executeBatch();
+        verify(statement).close();
+    }
+
+    @Test
+    @DisplayName("Should not execute an empty trailing batch")
+    void insertSeats_ExactMultipleOfBatchSize() throws Exception {
+        when(connection.prepareStatement(SeatBulkRepositoryImpl.INSERT_SQL)).thenReturn(statement);
+
+        int inserted = SeatBulkRepositoryImpl.insertSeats(connection, 1L, seats(2000), 1000);
+
+        assertThat(inserted).isEqualTo(2000);
+        verify(statement, times(2)).executeBatch();
+        verify(statement, times(2000)).setString(eq(6), eq("AVAILABLE"));
+    }
+
+    static Stream<Seat> seats(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            Seat seat = new Seat(null, "GENERAL", String.valueOf(i / 20 + 1), String.valueOf(i % 20 + 1),
+                SeatType.REGULAR, new BigDecimal("50.00"));
+            seat.setPriceMultiplier(BigDecimal.ONE);
+            return seat;
+        });
+    }
+}
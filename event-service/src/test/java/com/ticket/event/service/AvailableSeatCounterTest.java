@@ -0,0 +1,94 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.event.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Available Seat Counter Unit Tests")
+class AvailableSeatCounterTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private TenantSweeper tenantSweeper;
+
+    private AvailableSeatCounter seatCounter;
+
+    @BeforeEach
+    void setUp() {
+        seatCounter = new AvailableSeatCounter(eventRepository, tenantSweeper);
+        ReflectionTestUtils.setField(seatCounter, "stripes", 4);
+    }
+
+    @Test
+    @DisplayName("Should spread adjustments over the configured slots")
+    void adjust_UsesSlotWithinStripes() {
+        for (int i = 0; i < 50; i++) {
+            seatCounter.adjust(1L, -1);
+        }
+
+        ArgumentCaptor<Integer> slots = ArgumentCaptor.forClass(Integer.class);
+        verify(eventRepository, times(50)).addToSeatCounter(eq(1L), slots.capture(), eq(-1));
+        assertThat(slots.getAllValues()).allMatch(slot -> slot >= 0 && slot < 4);
+        assertThat(slots.getAllValues().stream().distinct().count()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Should skip zero adjustments and empty reads")
+    void adjust_ZeroAndEmptyReadDoNothing() {
+        seatCounter.adjust(1L, 0);
+
+        assertThat(seatCounter.availableSeats(List.of())).isEmpty();
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    @DisplayName("Should read slot totals and base column in one query")
+    void availableSeats_MapsByEvent() {
+        when(eventRepository.findAvailableSeats(List.of(1L, 2L)))
+            .thenReturn(List.of(view(1L, 40), view(2L, 0)));
+
+        assertThat(seatCounter.availableSeats(List.of(1L, 2L))).isEqualTo(Map.of(1L, 40, 2L, 0));
+    }
+
+    @Test
+    @DisplayName("Should continue the fold after the last folded event")
+    void foldCounters_ReturnsLastEvent() {
+        when(eventRepository.foldSeatCounters(0L, 500)).thenReturn(List.of(3L, 7L));
+
+        SweepPage page = seatCounter.foldCounters(0L, 500);
+
+        assertThat(page).isEqualTo(new SweepPage(2, 7L));
+    }
+
+    private static EventRepository.AvailableSeatsView view(Long eventId, int availableSeats) {
+        return new EventRepository.AvailableSeatsView() {
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public Integer getAvailableSeats() {
+                return availableSeats;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.entity.SeatType;
+import com.ticket.event.repository.SeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Best Available Allocator Unit Tests")
+class BestAvailableAllocatorTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatAvailabilityIndex availabilityIndex;
+
+    private BestAvailableAllocator allocator;
+
+    private MockedStatic<TenantContext> tenantContextMock;
+
+    private static final Long EVENT_ID = 1L;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new BestAvailableAllocator(seatRepository, availabilityIndex);
+        ReflectionTestUtils.setField(allocator, "maxEvents", 16);
+        tenantContextMock = mockStatic(TenantContext.class);
+        tenantContextMock.when(TenantContext::getTenantId).thenReturn("tenant1");
+
+        // Two rows of ten seats: ids 1-10 in row 1, 11-20 in row 2
+        List<SeatRepository.SeatLayoutView> layout = new ArrayList<>();
+        for (int row = 1; row <= 2; row++) {
+            for (int seat = 1; seat <= 10; seat++) {
+                layout.add(seat((row - 1) * 10L + seat, "FLOOR", row, seat, seat <= 2 ? SeatType.VIP : SeatType.REGULAR));
+            }
+        }
+        lenient().when(seatRepository.findSeatLayoutByEventId(EVENT_ID)).thenReturn(layout);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantContextMock.close();
+    }
+
+    @Test
+    @DisplayName("Should pick the centre block of the front row")
+    void shouldPickCentreOfFrontRow() {
+        when(availabilityIndex.availabilitySnapshot(EVENT_ID)).thenReturn(id -> true);
+
+        List<List<Long>> candidates = allocator.findCandidates(EVENT_ID, "FLOOR", null, 4, 3);
+
+        assertThat(candidates).containsExactly(List.of(4L, 5L, 6L, 7L), List.of(14L, 15L, 16L, 17L));
+    }
+
+    @Test
+    @DisplayName("Should skip taken seats and keep blocks contiguous")
+    void shouldSkipTakenSeats() {
+        Set<Long> taken = Set.of(3L, 5L, 8L);
+        when(availabilityIndex.availabilitySnapshot(EVENT_ID)).thenReturn(id -> !taken.contains(id));
+
+        List<List<Long>> candidates = allocator.findCandidates(EVENT_ID, null, null, 2, 1);
+
+        assertThat(candidates).containsExactly(List.of(6L, 7L));
+    }
+
+    @Test
+    @DisplayName("Should fall back to a later row when the front row has no fitting block")
+    void shouldFallBackToLaterRow() {
+        when(availabilityIndex.availabilitySnapshot(EVENT_ID)).thenReturn(id -> id > 10 || id % 2 == 0);
+
+        List<List<Long>> candidates = allocator.findCandidates(EVENT_ID, "FLOOR", null, 2, 5);
+
+        assertThat(candidates).containsExactly(List.of(15L, 16L));
+    }
+
+    @Test
+    @DisplayName("Should restrict blocks to the requested seat type")
+    void shouldRestrictToSeatType() {
+        when(availabilityIndex.availabilitySnapshot(EVENT_ID)).thenReturn(id -> true);
+
+        List<List<Long>> candidates = allocator.findCandidates(EVENT_ID, "FLOOR", SeatType.VIP, 2, 5);
+
+        assertThat(candidates).containsExactly(List.of(1L, 2L), List.of(11L, 12L));
+        assertThat(allocator.findCandidates(EVENT_ID, "FLOOR", SeatType.VIP, 3, 5)).isEmpty();
+        verify(seatRepository, times(1)).findSeatLayoutByEventId(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should order rows numerically rather than lexically")
+    void shouldOrderRowsNumerically() {
+        List<BestAvailableAllocator.SeatRow> rows = BestAvailableAllocator.buildLayout(new ArrayList<>(List.of(
+            seat(1L, "A", 10, 1, SeatType.REGULAR),
+            seat(2L, "A", 2, 1, SeatType.REGULAR),
+            seat(3L, "A", 1, 1, SeatType.REGULAR))));
+
+        assertThat(rows).extracting(row -> row.seatIds()[0]).containsExactly(3L, 2L, 1L);
+    }
+
+    private static SeatRepository.SeatLayoutView seat(long id, String section, int row, int seat, SeatType type) {
+        return new SeatRepository.SeatLayoutView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getSection() {
+                return section;
+            }
+
+            @Override
+            public String getRowNumber() {
+                return String.valueOf(row);
+            }
+
+            @Override
+            public String getSeatNumber() {
+                return String.valueOf(seat);
+            }
+
+            @Override
+            public SeatType getType() {
+                return type;
+            }
+        };
+    }
+}
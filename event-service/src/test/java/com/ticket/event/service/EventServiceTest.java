@@ -1,15 +1,23 @@
 package com.ticket.event.service;
 
+import com.ticket.common.event.EventCancelledEvent;
 import com.ticket.common.exception.BusinessException;
 import com.ticket.common.exception.ResourceNotFoundException;
-import com.ticket.common.kafka.EventPublisher;
+import com.ticket.common.kafka.KafkaTopics;
+import com.ticket.common.kafka.OutboxPublisher;
 import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.dto.BookingContextResponse;
+import com.ticket.event.dto.BulkSeatBookingRequest;
+import com.ticket.event.dto.CreateEventRequest;
 import com.ticket.event.dto.EventResponse;
+import com.ticket.event.dto.SeatSectionConfig;
 import com.ticket.event.entity.Event;
 import com.ticket.event.entity.EventStatus;
+import com.ticket.event.entity.InventoryHold;
 import com.ticket.event.entity.Seat;
 import com.ticket.event.entity.SeatStatus;
 import com.ticket.event.entity.SeatType;
+import com.ticket.event.entity.SectionInventory;
 import com.ticket.event.repository.EventRepository;
 import com.ticket.event.repository.SeatRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -17,14 +25,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,7 +52,19 @@ class EventServiceTest {
     private SeatRepository seatRepository;
 
     @Mock
-    private EventPublisher eventPublisher;
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private SeatAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private SeatMapStreamService seatMapStream;
+
+    @Mock
+    private SectionInventoryService sectionInventoryService;
+
+    @Mock
+    private AvailableSeatCounter seatCounter;
 
     @InjectMocks
     private EventService eventService;
@@ -98,6 +121,196 @@ class EventServiceTest {
         verify(eventRepository).save(any(Event.class));
     }
 
+    @Test
+    @DisplayName("Should bulk insert seats for every configured section")
+    void shouldBulkInsertSeatsForSections() {
+        CreateEventRequest request = new CreateEventRequest("Test Concert", null, "Test Arena", null,
+            LocalDateTime.now().plusDays(30), null, null, 100, new BigDecimal("50.00"), null, null,
+            null, null, null, null, null, null, List.of(
+                new SeatSectionConfig("VIP", 2, 5, SeatType.VIP, new BigDecimal("2.0")),
+                new SeatSectionConfig("FLOOR", 10, 20, SeatType.REGULAR, BigDecimal.ONE)));
+        List<Seat> inserted = new ArrayList<>();
+        when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+        when(seatRepository.insertSeats(eq(1L), any())).thenAnswer(invocation -> {
+            Stream<Seat> seats = invocation.getArgument(1);
+            seats.forEach(inserted::add);
+            return inserted.size();
+        });
+
+        EventResponse result = eventService.createEvent(request, 1L, "Organizer");
+
+        assertThat(inserted).hasSize(210);
+        assertThat(inserted.get(0).getSeatIdentifier()).isEqualTo("VIP-1-1");
+        assertThat(inserted.get(0).getFinalPrice()).isEqualByComparingTo("100.00");
+        assertThat(inserted.get(209).getSeatIdentifier()).isEqualTo("FLOOR-10-20");
+        assertThat(result.totalSeats()).isEqualTo(210);
+        verify(seatRepository, never()).save(any(Seat.class));
+    }
+
+    @Test
+    @DisplayName("Should lay out default seats twenty per row")
+    void shouldBulkInsertDefaultSeats() {
+        List<Seat> inserted = new ArrayList<>();
+        when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+        when(seatRepository.insertSeats(eq(1L), any())).thenAnswer(invocation -> {
+            Stream<Seat> seats = invocation.getArgument(1);
+            seats.forEach(inserted::add);
+            return inserted.size();
+        });
+        CreateEventRequest request = new CreateEventRequest("Test Concert", null, "Test Arena", null,
+            LocalDateTime.now().plusDays(30), null, null, 45, new BigDecimal("50.00"), null, null,
+            null, null, null, null, null, null, null);
+
+        eventService.createEvent(request, 1L, "Organizer");
+
+        assertThat(inserted).hasSize(45);
+        assertThat(inserted.get(44).getSeatIdentifier()).isEqualTo("GENERAL-3-5");
+        assertThat(inserted).allMatch(seat -> seat.getStatus() == SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Should create a capacity counter instead of seat rows in counter mode")
+    void shouldCreateGeneralAdmissionCounter() {
+        ReflectionTestUtils.setField(eventService, "generalAdmissionMode", "counter");
+        when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+        CreateEventRequest request = new CreateEventRequest("Festival", null, "Field", null,
+            LocalDateTime.now().plusDays(30), null, null, 80000, new BigDecimal("50.00"), null, null,
+            null, null, null, null, null, null, null);
+
+        eventService.createEvent(request, 1L, "Organizer");
+
+        verify(sectionInventoryService).createInventory(testEvent, "GENERAL", SeatType.REGULAR, BigDecimal.ONE, 80000);
+        verify(seatRepository, never()).insertSeats(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should book a general-admission hold and take the quantity off the seat counter")
+    void shouldBookGeneralAdmission() {
+        SectionInventory inventory = new SectionInventory(
+            testEvent, "GENERAL", SeatType.REGULAR, new BigDecimal("50.00"), BigDecimal.ONE, 100);
+        InventoryHold hold = new InventoryHold("ga-1", inventory, 7L, 3, LocalDateTime.now().plusMinutes(5));
+        when(sectionInventoryService.book("ga-1", 3, 42L)).thenReturn(hold);
+
+        eventService.bookGeneralAdmission("ga-1", 3, 42L);
+
+        verify(seatCounter).adjust(1L, -3);
+        verify(eventRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should book many bookings with one seat update and one counter update per event")
+    void shouldBookSeatsInBulk() {
+        when(seatRepository.lockSeatsForBooking(eq(List.of(1L, 2L, 3L, 4L)), any(LocalDateTime.class)))
+            .thenReturn(List.of(
+                bookingView(1L, 1L, "AVAILABLE", null, false),
+                bookingView(2L, 1L, "AVAILABLE", null, false),
+                bookingView(3L, 1L, "BOOKED", null, false),
+                bookingView(4L, 2L, "LOCKED", 7L, true)));
+
+        List<Long> rejected = eventService.bookSeatsBulk(List.of(
+            new BulkSeatBookingRequest.Entry(10L, 7L, List.of(1L, 2L)),
+            new BulkSeatBookingRequest.Entry(11L, 7L, List.of(3L)),
+            new BulkSeatBookingRequest.Entry(12L, 7L, List.of(4L))));
+
+        assertThat(rejected).containsExactly(11L);
+        verify(seatRepository).bookSeats(Map.of(1L, 10L, 2L, 10L, 4L, 12L));
+        verify(seatCounter).adjust(1L, -2);
+        verify(seatCounter).adjust(2L, -1);
+        verify(eventRepository, never()).save(any());
+        verify(seatMapStream).publish(1L, List.of(1L, 2L), SeatStatus.BOOKED);
+        verify(seatMapStream).publish(2L, List.of(4L), SeatStatus.BOOKED);
+    }
+
+    @Test
+    @DisplayName("Should reject a locked seat unless the booking's user holds the lock")
+    void shouldRejectSeatLockedByAnotherUser() {
+        when(seatRepository.lockSeatsForBooking(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+            .thenReturn(List.of(
+                bookingView(1L, 1L, "LOCKED", 10L, true),
+                bookingView(2L, 1L, "LOCKED", 8L, true)));
+
+        List<Long> rejected = eventService.bookSeatsBulk(List.of(
+            new BulkSeatBookingRequest.Entry(10L, 7L, List.of(1L)),
+            new BulkSeatBookingRequest.Entry(11L, 8L, List.of(2L))));
+
+        // Seat 1 is locked by user 10, which only shares its ID with booking 10
+        assertThat(rejected).containsExactly(10L);
+        verify(seatRepository).bookSeats(Map.of(2L, 11L));
+    }
+
+    @Test
+    @DisplayName("Should book general-admission holds in a bulk call and reject holds that cannot be booked")
+    void shouldBookGeneralAdmissionHoldsInBulk() {
+        SectionInventory inventory = new SectionInventory(
+            testEvent, "GENERAL", SeatType.REGULAR, new BigDecimal("50.00"), BigDecimal.ONE, 100);
+        InventoryHold hold = new InventoryHold("ga-1", inventory, 7L, 3, LocalDateTime.now().plusMinutes(5));
+        when(seatRepository.lockSeatsForBooking(eq(List.of(1L)), any(LocalDateTime.class)))
+            .thenReturn(List.of(bookingView(1L, 1L, "AVAILABLE", null, false)));
+        when(sectionInventoryService.tryBook("ga-1", 3, 20L)).thenReturn(Optional.of(hold));
+        when(sectionInventoryService.tryBook("ga-2", 2, 21L)).thenReturn(Optional.empty());
+
+        List<Long> rejected = eventService.bookSeatsBulk(List.of(
+            new BulkSeatBookingRequest.Entry(10L, 7L, List.of(1L)),
+            new BulkSeatBookingRequest.Entry(20L, 7L, null, "ga-1", 3),
+            new BulkSeatBookingRequest.Entry(21L, 8L, List.of(), "ga-2", 2)));
+
+        assertThat(rejected).containsExactly(21L);
+        verify(seatRepository).bookSeats(Map.of(1L, 10L));
+        verify(seatCounter).adjust(1L, -4);
+        verify(seatMapStream).publish(1L, List.of(1L), SeatStatus.BOOKED);
+    }
+
+    @Test
+    @DisplayName("Should price a general-admission booking context as one ticket line per held unit")
+    void shouldBuildGeneralAdmissionBookingContext() {
+        SectionInventory inventory = new SectionInventory(
+            testEvent, "GENERAL", SeatType.REGULAR, new BigDecimal("50.00"), BigDecimal.ONE, 100);
+        InventoryHold hold = new InventoryHold("ga-1", inventory, 7L, 3, LocalDateTime.now().plusMinutes(5));
+        when(sectionInventoryService.findHold("ga-1")).thenReturn(Optional.of(hold));
+        when(seatCounter.availableSeats(List.of(1L))).thenReturn(Map.of(1L, 97));
+
+        BookingContextResponse context = eventService.getGeneralAdmissionContext(1L, "ga-1", 7L, 3);
+        BookingContextResponse otherUser = eventService.getGeneralAdmissionContext(1L, "ga-1", 8L, 3);
+        BookingContextResponse otherQuantity = eventService.getGeneralAdmissionContext(1L, "ga-1", 7L, 2);
+
+        assertThat(context.lockValid()).isTrue();
+        assertThat(context.seats()).hasSize(3)
+            .allSatisfy(ticket -> {
+                assertThat(ticket.id()).isNull();
+                assertThat(ticket.section()).isEqualTo("GENERAL");
+                assertThat(ticket.finalPrice()).isEqualByComparingTo("50.00");
+            });
+        assertThat(otherUser.lockValid()).isFalse();
+        assertThat(otherQuantity.lockValid()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a single booking whose seat was taken")
+    void shouldRejectSingleBookingWithTakenSeat() {
+        when(seatRepository.lockSeatsForBooking(eq(List.of(1L)), any(LocalDateTime.class)))
+            .thenReturn(List.of(bookingView(1L, 1L, "LOCKED", 99L, true)));
+
+        assertThatThrownBy(() -> eventService.bookSeats(List.of(1L), 10L, 7L))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("no longer available");
+        verifyNoInteractions(seatCounter);
+    }
+
+    @Test
+    @DisplayName("Should release many bookings with one counter update per event")
+    void shouldReleaseSeatsInBulk() {
+        when(sectionInventoryService.releaseBooked(anyLong())).thenReturn(List.of());
+        when(seatRepository.releaseSeatsForBookings(List.of(10L, 11L)))
+            .thenReturn(List.of(released(1L, 1L), released(2L, 1L), released(5L, 2L)));
+
+        eventService.releaseSeatsBulk(List.of(10L, 11L));
+
+        verify(seatCounter).adjust(1L, 2);
+        verify(seatCounter).adjust(2L, 1);
+        verify(seatMapStream).publish(1L, List.of(1L, 2L), SeatStatus.AVAILABLE);
+        verify(seatMapStream).publish(2L, List.of(5L), SeatStatus.AVAILABLE);
+    }
+
     @Test
     @DisplayName("Should get event by ID")
     void shouldGetEventById() {
@@ -109,6 +322,17 @@ class EventServiceTest {
         assertThat(result.id()).isEqualTo(1L);
     }
 
+    @Test
+    @DisplayName("Should report available seats from the striped counter")
+    void shouldReadAvailableSeatsFromCounter() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(seatCounter.availableSeats(List.of(1L))).thenReturn(Map.of(1L, 42));
+
+        EventResponse result = eventService.getEvent(1L);
+
+        assertThat(result.availableSeats()).isEqualTo(42);
+    }
+
     @Test
     @DisplayName("Should throw when event not found")
     void shouldThrowWhenEventNotFound() {
@@ -162,12 +386,17 @@ class EventServiceTest {
         testEvent.setStatus(EventStatus.PUBLISHED);
         when(eventRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testEvent));
         when(eventRepository.save(any(Event.class))).thenAnswer(i -> i.getArgument(0));
-        when(seatRepository.releaseBookedSeats(1L)).thenReturn(5);
+        when(seatRepository.countBookingsForEvent(1L)).thenReturn(3L);
+        when(sectionInventoryService.countBookings(1L)).thenReturn(2L);
 
         EventResponse result = eventService.cancelEvent(1L, organizerId, "Weather conditions");
 
         assertThat(result.status()).isEqualTo(EventStatus.CANCELLED);
-        verify(eventPublisher).publish(anyString(), anyString(), any());
+        ArgumentCaptor<EventCancelledEvent> cancelled = ArgumentCaptor.forClass(EventCancelledEvent.class);
+        verify(outboxPublisher).publish(eq(KafkaTopics.EVENT_CANCELLED), eq("1"), cancelled.capture());
+        assertThat(cancelled.getValue().getAffectedBookings()).isEqualTo(5);
+        verify(seatRepository).releaseSeatsForEvent(1L);
+        verify(availabilityIndex).evict(1L);
     }
 
     @Test
@@ -191,4 +420,68 @@ class EventServiceTest {
             .isInstanceOf(BusinessException.class)
             .hasMessageContaining("Not enough seats");
     }
+
+    @Test
+    @DisplayName("Should return only the requested seats of the event in the booking context")
+    void shouldBuildBookingContextFromRequestedSeats() {
+        Event otherEvent = new Event();
+        otherEvent.setId(2L);
+        Seat foreignSeat = new Seat();
+        foreignSeat.setId(99L);
+        foreignSeat.setEvent(otherEvent);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(seatRepository.findAllById(List.of(1L, 2L, 99L)))
+            .thenReturn(List.of(testSeats.get(0), testSeats.get(1), foreignSeat));
+
+        BookingContextResponse context = eventService.getBookingContext(1L, List.of(1L, 2L, 99L));
+
+        assertThat(context.lockValid()).isTrue();
+        assertThat(context.event().id()).isEqualTo(1L);
+        assertThat(context.seats()).extracting(s -> s.id()).containsExactly(1L, 2L);
+        verify(seatRepository, never()).findByEventId(anyLong());
+    }
+
+    private static SeatRepository.SeatBookingView bookingView(Long id, Long eventId, String status,
+                                                              Long lockedBy, boolean lockHeld) {
+        return new SeatRepository.SeatBookingView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getLockedBy() {
+                return lockedBy;
+            }
+
+            @Override
+            public Boolean getLockHeld() {
+                return lockHeld;
+            }
+        };
+    }
+
+    private static SeatRepository.ReleasedSeatView released(Long seatId, Long eventId) {
+        return new SeatRepository.ReleasedSeatView() {
+            @Override
+            public Long getId() {
+                return seatId;
+            }
+
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+        };
+    }
 }
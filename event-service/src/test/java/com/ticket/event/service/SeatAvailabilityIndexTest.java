@@ -0,0 +1,173 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.dto.SeatAvailabilityResponse;
+import com.ticket.event.entity.SeatStatus;
+import com.ticket.event.repository.SeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Seat Availability Index Unit Tests")
+class SeatAvailabilityIndexTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    private SeatAvailabilityIndex availabilityIndex;
+
+    private MockedStatic<TenantContext> tenantContextMock;
+
+    private static final Long EVENT_ID = 1L;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new SeatAvailabilityIndex(seatRepository);
+        ReflectionTestUtils.setField(availabilityIndex, "refreshSeconds", 60L);
+        ReflectionTestUtils.setField(availabilityIndex, "maxEvents", 16);
+
+        tenantContextMock = mockStatic(TenantContext.class);
+        tenantContextMock.when(TenantContext::getTenantId).thenReturn("tenant1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantContextMock.close();
+    }
+
+    @Test
+    @DisplayName("Should serve availability from memory after the first load")
+    void shouldServeAvailabilityFromMemory() {
+        when(seatRepository.findSeatStatusesByEventId(EVENT_ID))
+            .thenReturn(seats(100L, SeatStatus.AVAILABLE, SeatStatus.LOCKED, SeatStatus.AVAILABLE));
+
+        SeatAvailabilityResponse first = availabilityIndex.getAvailability(EVENT_ID);
+        SeatAvailabilityResponse second = availabilityIndex.getAvailability(EVENT_ID);
+
+        assertThat(first.firstSeatId()).isEqualTo(100L);
+        assertThat(first.seatIds()).isNull();
+        assertThat(first.seatCount()).isEqualTo(3);
+        assertThat(first.availableCount()).isEqualTo(2);
+        assertThat(second).isEqualTo(first);
+        verify(seatRepository, times(1)).findSeatStatusesByEventId(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should apply seat transitions to an indexed event")
+    void shouldApplySeatTransitions() {
+        when(seatRepository.findSeatStatusesByEventId(EVENT_ID))
+            .thenReturn(seats(100L, SeatStatus.AVAILABLE, SeatStatus.AVAILABLE, SeatStatus.BOOKED));
+        availabilityIndex.getAvailability(EVENT_ID);
+
+        availabilityIndex.markUnavailable(EVENT_ID, List.of(100L));
+        availabilityIndex.markAvailable(EVENT_ID, List.of(102L));
+        SeatAvailabilityResponse result = availabilityIndex.getAvailability(EVENT_ID);
+
+        BitSet bitmap = BitSet.valueOf(Base64.getDecoder().decode(result.bitmap()));
+        assertThat(bitmap.get(0)).isFalse();
+        assertThat(bitmap.get(1)).isTrue();
+        assertThat(bitmap.get(2)).isTrue();
+        assertThat(result.availableCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fall back to explicit seat ids when ids are not consecutive")
+    void shouldListSeatIdsWhenNotConsecutive() {
+        List<SeatRepository.SeatStatusView> seats = new ArrayList<>(seats(100L, SeatStatus.AVAILABLE));
+        seats.add(view(205L, SeatStatus.AVAILABLE));
+        when(seatRepository.findSeatStatusesByEventId(EVENT_ID)).thenReturn(seats);
+        availabilityIndex.getAvailability(EVENT_ID);
+
+        availabilityIndex.markUnavailable(EVENT_ID, List.of(205L));
+        SeatAvailabilityResponse result = availabilityIndex.getAvailability(EVENT_ID);
+
+        assertThat(result.firstSeatId()).isNull();
+        assertThat(result.seatIds()).containsExactly(100L, 205L);
+        assertThat(result.availableCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload an evicted event from the database")
+    void shouldReloadAfterEviction() {
+        when(seatRepository.findSeatStatusesByEventId(EVENT_ID))
+            .thenReturn(seats(100L, SeatStatus.AVAILABLE));
+        availabilityIndex.getAvailability(EVENT_ID);
+
+        availabilityIndex.evict(EVENT_ID);
+        availabilityIndex.getAvailability(EVENT_ID);
+
+        verify(seatRepository, times(2)).findSeatStatusesByEventId(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should serve the stale index instead of starting a second reload")
+    void shouldCoalesceReloads() {
+        ReflectionTestUtils.setField(availabilityIndex, "refreshSeconds", -1L);
+        when(seatRepository.findSeatStatusesByEventId(EVENT_ID))
+            .thenReturn(seats(100L, SeatStatus.AVAILABLE))
+            .thenAnswer(invocation -> {
+                // A reader arriving while the reload runs
+                assertThat(availabilityIndex.getAvailability(EVENT_ID).availableCount()).isEqualTo(1);
+                return seats(100L, SeatStatus.BOOKED);
+            });
+        availabilityIndex.getAvailability(EVENT_ID);
+
+        SeatAvailabilityResponse reloaded = availabilityIndex.getAvailability(EVENT_ID);
+
+        assertThat(reloaded.availableCount()).isZero();
+        verify(seatRepository, times(2)).findSeatStatusesByEventId(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should apply transitions that arrive during a load to the loaded index")
+    void shouldReplayTransitionsDuringLoad() {
+        when(seatRepository.findSeatStatusesByEventId(EVENT_ID)).thenAnswer(invocation -> {
+            // Committed after the projection was read
+            availabilityIndex.markUnavailable(EVENT_ID, List.of(100L));
+            return seats(100L, SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+        });
+
+        SeatAvailabilityResponse result = availabilityIndex.getAvailability(EVENT_ID);
+
+        BitSet bitmap = BitSet.valueOf(Base64.getDecoder().decode(result.bitmap()));
+        assertThat(bitmap.get(0)).isFalse();
+        assertThat(result.availableCount()).isEqualTo(1);
+    }
+
+    private static List<SeatRepository.SeatStatusView> seats(long firstId, SeatStatus... statuses) {
+        List<SeatRepository.SeatStatusView> seats = new ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            seats.add(view(firstId + i, statuses[i]));
+        }
+        return seats;
+    }
+
+    private static SeatRepository.SeatStatusView view(long id, SeatStatus status) {
+        return new SeatRepository.SeatStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public SeatStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.entity.SeatStatus;
+import com.ticket.event.repository.SeatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Seat Lock Expiry Service Unit Tests")
+class SeatLockExpiryServiceTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private SeatMapStreamService seatMapStream;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SeatLockExpiryService expiryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        expiryService = new SeatLockExpiryService(seatRepository, redisTemplate, seatMapStream,
+            transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(expiryService, "batchSize", 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should release due locks with one statement per tenant and publish freed seats")
+    void releaseDueLocks_GroupsByTenant() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("seat:lock:deadlines")), anyLong(), eq(500)))
+            .thenReturn(List.of("tenant1|1|lock-a", "tenant1|2|lock-b", "tenant2|1|lock-c", "tenant1|1|lock-d"));
+        List<String> tenantsSeen = new ArrayList<>();
+        when(seatRepository.releaseExpiredLocksForEvents(anyCollection(), any(LocalDateTime.class)))
+            .thenAnswer(invocation -> {
+                tenantsSeen.add(TenantContext.getTenantId());
+                return "tenant1".equals(TenantContext.getTenantId())
+                    ? List.of(released(10L, 1L), released(11L, 1L), released(20L, 2L))
+                    : List.of(released(30L, 1L));
+            });
+
+        expiryService.releaseDueLocks();
+
+        assertThat(tenantsSeen).containsExactly("tenant1", "tenant2");
+        verify(seatRepository).releaseExpiredLocksForEvents(eq(Set.of(1L, 2L)), any(LocalDateTime.class));
+        verify(seatRepository).releaseExpiredLocksForEvents(eq(Set.of(1L)), any(LocalDateTime.class));
+        verify(seatMapStream).publish(1L, List.of(10L, 11L), SeatStatus.AVAILABLE);
+        verify(seatMapStream).publish(2L, List.of(20L), SeatStatus.AVAILABLE);
+        verify(seatMapStream).publish(1L, List.of(30L), SeatStatus.AVAILABLE);
+        assertThat(meterRegistry.counter("seat.lock.expired", "tenant", "tenant1").count()).isEqualTo(3);
+        assertThat(TenantContext.getTenantId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing is due")
+    void releaseDueLocks_NothingDue() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyLong(), anyInt())).thenReturn(List.of());
+
+        expiryService.releaseDueLocks();
+
+        verifyNoInteractions(seatRepository, seatMapStream, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should score deadlines so they are never due before the lock expires")
+    void score_RoundsUp() {
+        LocalDateTime expiresAt = LocalDateTime.of(2030, 1, 1, 12, 0, 0, 500_000);
+        long expiresAtMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertThat(SeatLockExpiryService.score(expiresAt)).isGreaterThan(expiresAtMillis);
+        assertThat(SeatLockExpiryService.member("tenant1", 5L, "abc")).isEqualTo("tenant1|5|abc");
+    }
+
+    private static SeatRepository.ReleasedSeatView released(Long seatId, Long eventId) {
+        return new SeatRepository.ReleasedSeatView() {
+            @Override
+            public Long getId() {
+                return seatId;
+            }
+
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+        };
+    }
+}
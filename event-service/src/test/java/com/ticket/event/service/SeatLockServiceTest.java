@@ -2,16 +2,25 @@ package com.ticket.event.service;
 
 import com.ticket.common.exception.BusinessException;
 import com.ticket.common.exception.ResourceNotFoundException;
+import com.ticket.common.exception.SeatAlreadyLockedException;
+import com.ticket.common.exception.WaitingRoomException;
 import com.ticket.common.redis.RedisLockService;
+import com.ticket.common.tenant.SweepPage;
 import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.event.dto.BestAvailableRequest;
 import com.ticket.event.dto.LockSeatsRequest;
 import com.ticket.event.dto.SeatLockResponse;
 import com.ticket.event.entity.Event;
 import com.ticket.event.entity.EventStatus;
+import com.ticket.event.entity.InventoryHold;
 import com.ticket.event.entity.Seat;
 import com.ticket.event.entity.SeatStatus;
+import com.ticket.event.entity.SeatType;
+import com.ticket.event.entity.SectionInventory;
 import com.ticket.event.repository.EventRepository;
 import com.ticket.event.repository.SeatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +30,7 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -29,6 +39,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -53,8 +64,25 @@ class SeatLockServiceTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
+    @Mock
+    private SeatMapStreamService seatMapStream;
+
+    @Mock
+    private SectionInventoryService sectionInventoryService;
+
+    @Mock
+    private BestAvailableAllocator allocator;
+
+    @Mock
+    private WaitingRoomService waitingRoom;
+
+    @Mock
+    private TenantSweeper tenantSweeper;
+
     private SeatLockService seatLockService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private MockedStatic<TenantContext> tenantContextMock;
 
     private static final Long USER_ID = 100L;
@@ -66,9 +94,12 @@ class SeatLockServiceTest {
 
     @BeforeEach
     void setUp() {
-        seatLockService = new SeatLockService(seatRepository, eventRepository, redisLockService, redisTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+        seatLockService = new SeatLockService(seatRepository, eventRepository, redisLockService, redisTemplate, meterRegistry,
+            seatMapStream, sectionInventoryService, allocator, waitingRoom, tenantSweeper);
         ReflectionTestUtils.setField(seatLockService, "lockTtlSeconds", 600);
         ReflectionTestUtils.setField(seatLockService, "maxSeatsPerBooking", 10);
+        ReflectionTestUtils.setField(seatLockService, "bestAvailableAttempts", 5);
 
         tenantContextMock = mockStatic(TenantContext.class);
         tenantContextMock.when(TenantContext::getTenantId).thenReturn("tenant1");
@@ -116,6 +147,24 @@ class SeatLockServiceTest {
         assertThat(result.seatIds()).hasSize(3);
         verify(redisLockService).tryLock(anyString(), any(Duration.class));
         verify(redisLockService).unlock(anyString());
+        verify(redisTemplate).executePipelined(any(SessionCallback.class));
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+        assertThat(meterRegistry.summary("seat.lock.redis.round_trips", "operation", "lock").totalAmount())
+            .isEqualTo(4);
+        verify(seatMapStream).publish(EVENT_ID, SEAT_IDS, SeatStatus.LOCKED);
+        verify(waitingRoom).leave(EVENT_ID, USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should keep users out of the lock path until admitted from the waiting room")
+    void shouldRejectUserStillInWaitingRoom() {
+        LockSeatsRequest request = new LockSeatsRequest(EVENT_ID, SEAT_IDS);
+        doThrow(new WaitingRoomException(42)).when(waitingRoom).requireAdmission(EVENT_ID, USER_ID);
+
+        assertThatThrownBy(() -> seatLockService.lockSeats(request, USER_ID))
+            .isInstanceOf(WaitingRoomException.class)
+            .hasMessageContaining("number 42");
+        verifyNoInteractions(eventRepository, seatRepository, redisLockService);
     }
 
     @Test
@@ -152,4 +201,255 @@ class SeatLockServiceTest {
             .isInstanceOf(BusinessException.class)
             .hasMessageContaining("Cannot lock more than");
     }
+
+    @Test
+    @DisplayName("Should lock seats individually without the event-wide lock in seat mode")
+    void shouldLockSeatsIndividuallyInSeatMode() {
+        ReflectionTestUtils.setField(seatLockService, "lockMode", "seat");
+        LockSeatsRequest request = new LockSeatsRequest(EVENT_ID, SEAT_IDS);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(testEvent));
+        when(redisLockService.tryLockSeats(eq("tenant1"), eq(List.of("1", "2", "3")), anyString(), any(Duration.class)))
+            .thenReturn(null);
+        when(seatRepository.findAllByIdWithLock(SEAT_IDS)).thenReturn(testSeats);
+        when(seatRepository.findLockedSeatsByUserAndEvent(USER_ID, EVENT_ID)).thenReturn(List.of());
+        when(seatRepository.saveAll(anyList())).thenReturn(testSeats);
+
+        SeatLockResponse result = seatLockService.lockSeats(request, USER_ID);
+
+        assertThat(result.seatIds()).hasSize(3);
+        verify(redisLockService, never()).tryLock(anyString(), any(Duration.class));
+        verify(redisLockService, never()).releaseSeatLocks(anyString(), anyList(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject when a requested seat is already claimed in seat mode")
+    void shouldRejectAlreadyClaimedSeatInSeatMode() {
+        ReflectionTestUtils.setField(seatLockService, "lockMode", "seat");
+        LockSeatsRequest request = new LockSeatsRequest(EVENT_ID, SEAT_IDS);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(testEvent));
+        when(redisLockService.tryLockSeats(anyString(), anyList(), anyString(), any(Duration.class)))
+            .thenReturn("2");
+
+        assertThatThrownBy(() -> seatLockService.lockSeats(request, USER_ID))
+            .isInstanceOf(SeatAlreadyLockedException.class)
+            .hasMessageContaining("2");
+        verify(seatRepository, never()).findAllByIdWithLock(anyList());
+    }
+
+    @Test
+    @DisplayName("Should release claimed seats when database validation fails in seat mode")
+    void shouldReleaseClaimedSeatsOnFailureInSeatMode() {
+        ReflectionTestUtils.setField(seatLockService, "lockMode", "seat");
+        testSeats.get(1).setStatus(SeatStatus.BOOKED);
+        LockSeatsRequest request = new LockSeatsRequest(EVENT_ID, SEAT_IDS);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(testEvent));
+        when(redisLockService.tryLockSeats(anyString(), anyList(), anyString(), any(Duration.class)))
+            .thenReturn(null);
+        when(seatRepository.findAllByIdWithLock(SEAT_IDS)).thenReturn(testSeats);
+
+        assertThatThrownBy(() -> seatLockService.lockSeats(request, USER_ID))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("not available");
+        verify(redisLockService).releaseSeatLocks(eq("tenant1"), eq(List.of("1", "2", "3")), anyString());
+        // existing-lock lookup, seat claim and claim release
+        assertThat(meterRegistry.summary("seat.lock.redis.round_trips", "operation", "lock").totalAmount())
+            .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should count the Redis calls of releasing a previous lock as part of the new lock")
+    void shouldCountReleaseOfPreviousLockInRoundTrips() {
+        ReflectionTestUtils.setField(seatLockService, "lockMode", "seat");
+        LockSeatsRequest request = new LockSeatsRequest(EVENT_ID, SEAT_IDS);
+        SeatLockService.SeatLockData previous = new SeatLockService.SeatLockData(
+            "old-lock", "tenant1", EVENT_ID, USER_ID, List.of(4L), LocalDateTime.now().plusMinutes(5));
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("user:locks:tenant1:100:1")).thenReturn("old-lock");
+        when(valueOperations.get("seat:lock:tenant1:lock:old-lock")).thenReturn(previous);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(testEvent));
+        when(redisLockService.tryLockSeats(anyString(), anyList(), anyString(), any(Duration.class)))
+            .thenReturn(null);
+        when(seatRepository.findAllByIdWithLock(SEAT_IDS)).thenReturn(testSeats);
+        when(seatRepository.findLockedSeatsByUserAndEvent(USER_ID, EVENT_ID)).thenReturn(List.of());
+        when(seatRepository.saveAll(anyList())).thenReturn(testSeats);
+
+        seatLockService.lockSeats(request, USER_ID);
+
+        // lookup, release (lookup, lock read, delete), seat claim and bookkeeping pipeline
+        assertThat(meterRegistry.summary("seat.lock.redis.round_trips", "operation", "lock").totalAmount())
+            .isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should remove all lock keys with a single delete on release")
+    void shouldReleaseLockWithSingleDelete() {
+        SeatLockService.SeatLockData lockData = new SeatLockService.SeatLockData(
+            "lock-1", "tenant1", EVENT_ID, USER_ID, SEAT_IDS, LocalDateTime.now().plusMinutes(5));
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("seat:lock:tenant1:lock:lock-1")).thenReturn(lockData);
+        when(seatRepository.findAllById(SEAT_IDS)).thenReturn(testSeats);
+
+        seatLockService.releaseLock("lock-1", USER_ID);
+
+        verify(redisTemplate).delete(List.of(
+            "seat:lock:tenant1:lock:lock-1",
+            "user:locks:tenant1:100:1",
+            "seat:lock:tenant1:1",
+            "seat:lock:tenant1:2",
+            "seat:lock:tenant1:3"));
+        verify(redisTemplate, never()).delete(anyString());
+        assertThat(meterRegistry.summary("seat.lock.redis.round_trips", "operation", "release").totalAmount())
+            .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should hold a general-admission quantity without seat locks")
+    void shouldHoldGeneralAdmissionQuantity() {
+        LockSeatsRequest request = new LockSeatsRequest(EVENT_ID, null, "GENERAL", 4);
+        testEvent.setBasePrice(new BigDecimal("40.00"));
+        SectionInventory inventory = new SectionInventory(
+            testEvent, "GENERAL", SeatType.REGULAR, new BigDecimal("40.00"), BigDecimal.ONE, 1000);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(testEvent));
+        when(sectionInventoryService.hold(eq(EVENT_ID), eq("GENERAL"), eq(4), eq(USER_ID), anyString(), any()))
+            .thenAnswer(invocation -> new InventoryHold(invocation.getArgument(4), inventory, USER_ID, 4,
+                invocation.getArgument(5)));
+
+        SeatLockResponse result = seatLockService.lockSeats(request, USER_ID);
+
+        assertThat(result.quantity()).isEqualTo(4);
+        assertThat(result.section()).isEqualTo("GENERAL");
+        assertThat(result.seatIds()).isEmpty();
+        assertThat(result.totalPrice()).isEqualByComparingTo("160.00");
+        verify(valueOperations).set("user:locks:tenant1:100:1", result.lockId(), 600, TimeUnit.SECONDS);
+        verifyNoInteractions(redisLockService, seatRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a request without seats or quantity")
+    void shouldRejectEmptySelection() {
+        LockSeatsRequest request = new LockSeatsRequest(EVENT_ID, List.of());
+
+        assertThatThrownBy(() -> seatLockService.lockSeats(request, USER_ID))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Select seats");
+    }
+
+    @Test
+    @DisplayName("Should release a general-admission hold when no seat lock exists")
+    void shouldReleaseGeneralAdmissionHold() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("seat:lock:tenant1:lock:ga-1")).thenReturn(null);
+        when(sectionInventoryService.releaseHold("ga-1", USER_ID)).thenReturn(true);
+
+        seatLockService.releaseLock("ga-1", USER_ID);
+
+        verify(sectionInventoryService).releaseHold("ga-1", USER_ID);
+        verify(redisTemplate, never()).delete(anyList());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the next best block when another buyer claims the first")
+    void shouldLockNextBestBlockOnConflict() {
+        BestAvailableRequest request = new BestAvailableRequest(EVENT_ID, "FLOOR", null, 3);
+        List<Long> firstBlock = List.of(7L, 8L, 9L);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(testEvent));
+        when(allocator.findCandidates(EVENT_ID, "FLOOR", null, 3, 5)).thenReturn(List.of(firstBlock, SEAT_IDS));
+        when(redisLockService.tryLockSeats(eq("tenant1"), eq(List.of("7", "8", "9")), anyString(), any(Duration.class)))
+            .thenReturn("8");
+        when(redisLockService.tryLockSeats(eq("tenant1"), eq(List.of("1", "2", "3")), anyString(), any(Duration.class)))
+            .thenReturn(null);
+        when(seatRepository.findAllByIdWithLock(SEAT_IDS)).thenReturn(testSeats);
+        when(seatRepository.findLockedSeatsByUserAndEvent(USER_ID, EVENT_ID)).thenReturn(List.of());
+
+        SeatLockResponse result = seatLockService.lockBestAvailable(request, USER_ID);
+
+        assertThat(result.seatIds()).isEqualTo(SEAT_IDS);
+        verify(seatRepository, never()).findAllByIdWithLock(firstBlock);
+        verify(redisLockService, never()).tryLock(anyString(), any(Duration.class));
+        assertThat(meterRegistry.summary("seat.lock.best_available.attempts").totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should release a claimed block and stop when locking it fails unexpectedly")
+    void shouldReleaseClaimedBlockOnUnexpectedFailure() {
+        BestAvailableRequest request = new BestAvailableRequest(EVENT_ID, "FLOOR", null, 3);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(testEvent));
+        when(allocator.findCandidates(EVENT_ID, "FLOOR", null, 3, 5)).thenReturn(List.of(SEAT_IDS, List.of(7L, 8L, 9L)));
+        when(redisLockService.tryLockSeats(anyString(), anyList(), anyString(), any(Duration.class))).thenReturn(null);
+        when(seatRepository.findAllByIdWithLock(SEAT_IDS)).thenThrow(new IllegalStateException("connection reset"));
+
+        assertThatThrownBy(() -> seatLockService.lockBestAvailable(request, USER_ID))
+            .isInstanceOf(IllegalStateException.class);
+        verify(redisLockService).releaseSeatLocks(eq("tenant1"), eq(List.of("1", "2", "3")), anyString());
+        verify(redisLockService, never()).tryLockSeats(eq("tenant1"), eq(List.of("7", "8", "9")), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should report when no adjacent block is free")
+    void shouldFailWhenNoBlockAvailable() {
+        BestAvailableRequest request = new BestAvailableRequest(EVENT_ID, "FLOOR", null, 4);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(testEvent));
+        when(allocator.findCandidates(EVENT_ID, "FLOOR", null, 4, 5)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> seatLockService.lockBestAvailable(request, USER_ID))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("No 4 adjacent seats available in section FLOOR");
+    }
+
+    @Test
+    @DisplayName("Should sweep expired locks through the tenant sweeper")
+    void shouldSweepExpiredLocksPerTenant() {
+        seatLockService.cleanupExpiredLocks();
+
+        verify(tenantSweeper).sweep(eq("seat-lock-cleanup"), any());
+    }
+
+    @Test
+    @DisplayName("Should publish freed seats per event and continue after the highest id")
+    void shouldPublishSeatsFreedByCleanupPage() {
+        when(seatRepository.releaseExpiredLocks(any(LocalDateTime.class), eq(0L), eq(500)))
+            .thenReturn(List.of(released(4L, EVENT_ID), released(9L, 2L), released(5L, EVENT_ID)));
+
+        SweepPage page = seatLockService.cleanupExpiredLocks(0L, 500);
+
+        assertThat(page).isEqualTo(new SweepPage(3, 9L));
+        verify(seatMapStream).publish(EVENT_ID, List.of(4L, 5L), SeatStatus.AVAILABLE);
+        verify(seatMapStream).publish(2L, List.of(9L), SeatStatus.AVAILABLE);
+    }
+
+    private static SeatRepository.ReleasedSeatView released(Long seatId, Long eventId) {
+        return new SeatRepository.ReleasedSeatView() {
+            @Override
+            public Long getId() {
+                return seatId;
+            }
+
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+        };
+    }
 }
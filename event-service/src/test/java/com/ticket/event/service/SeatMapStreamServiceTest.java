@@ -0,0 +1,89 @@
+package com.ticket.event.service;
+
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.dto.SeatStatusDelta;
+import com.ticket.event.entity.SeatStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Seat Map Stream Service Unit Tests")
+class SeatMapStreamServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private SeatAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RedisSerializer<Object> valueSerializer;
+
+    @Mock
+    private Message message;
+
+    private SeatMapStreamService seatMapStreamService;
+
+    private MockedStatic<TenantContext> tenantContextMock;
+
+    private static final Long EVENT_ID = 1L;
+    private static final List<Long> SEAT_IDS = List.of(1L, 2L);
+
+    @BeforeEach
+    void setUp() {
+        seatMapStreamService = new SeatMapStreamService(redisTemplate, availabilityIndex);
+        tenantContextMock = mockStatic(TenantContext.class);
+        tenantContextMock.when(TenantContext::getTenantId).thenReturn("tenant1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantContextMock.close();
+    }
+
+    @Test
+    @DisplayName("Should update local index and broadcast delta on tenant channel")
+    void publish_Locked_UpdatesIndexAndBroadcasts() {
+        seatMapStreamService.publish(EVENT_ID, SEAT_IDS, SeatStatus.LOCKED);
+
+        verify(availabilityIndex).markUnavailable(EVENT_ID, SEAT_IDS);
+        verify(redisTemplate).convertAndSend("seat:updates:tenant1:1",
+            new SeatStatusDelta("tenant1", EVENT_ID, SEAT_IDS, SeatStatus.LOCKED));
+    }
+
+    @Test
+    @DisplayName("Should skip publishing when no seats changed")
+    void publish_EmptySeats_DoesNothing() {
+        seatMapStreamService.publish(EVENT_ID, List.of(), SeatStatus.AVAILABLE);
+
+        verifyNoInteractions(availabilityIndex, redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should apply deltas received from other instances")
+    void onMessage_AppliesDelta() {
+        SeatStatusDelta delta = new SeatStatusDelta("tenant1", EVENT_ID, SEAT_IDS, SeatStatus.AVAILABLE);
+        byte[] body = new byte[]{1};
+        when(message.getBody()).thenReturn(body);
+        doReturn(valueSerializer).when(redisTemplate).getValueSerializer();
+        when(valueSerializer.deserialize(body)).thenReturn(delta);
+
+        seatMapStreamService.onMessage(message, null);
+
+        verify(availabilityIndex).apply(delta);
+    }
+}
@@ -0,0 +1,166 @@
+package com.ticket.event.service;
+
+import com.ticket.common.exception.BusinessException;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.event.entity.Event;
+import com.ticket.event.entity.InventoryHold;
+import com.ticket.event.entity.InventoryHoldStatus;
+import com.ticket.event.entity.SeatType;
+import com.ticket.event.entity.SectionInventory;
+import com.ticket.event.repository.InventoryHoldRepository;
+import com.ticket.event.repository.SectionInventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Section Inventory Service Unit Tests")
+class SectionInventoryServiceTest {
+
+    @Mock
+    private SectionInventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryHoldRepository holdRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TenantSweeper tenantSweeper;
+
+    private SectionInventoryService sectionInventoryService;
+
+    private MockedStatic<TenantContext> tenantContextMock;
+
+    private static final Long EVENT_ID = 1L;
+    private static final Long USER_ID = 100L;
+    private static final String COUNTER_KEY = "ga:available:tenant1:5";
+
+    private SectionInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        sectionInventoryService = new SectionInventoryService(inventoryRepository, holdRepository, redisTemplate,
+            tenantSweeper);
+        ReflectionTestUtils.setField(sectionInventoryService, "counterTtlSeconds", 300L);
+
+        tenantContextMock = mockStatic(TenantContext.class);
+        tenantContextMock.when(TenantContext::getTenantId).thenReturn("tenant1");
+
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        inventory = new SectionInventory(event, "GENERAL", SeatType.REGULAR, new BigDecimal("50.00"), BigDecimal.ONE, 100);
+        inventory.setId(5L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantContextMock.close();
+    }
+
+    @Test
+    @DisplayName("Should hold when both the counter and the inventory row admit the quantity")
+    void hold_Success() {
+        when(inventoryRepository.findByEventIdAndSection(EVENT_ID, "GENERAL")).thenReturn(Optional.of(inventory));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(COUNTER_KEY)), eq("4"))).thenReturn(96L);
+        when(inventoryRepository.reserve(5L, 4)).thenReturn(1);
+        when(holdRepository.save(any(InventoryHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        InventoryHold hold = sectionInventoryService.hold(EVENT_ID, "GENERAL", 4, USER_ID, "ga-1",
+            LocalDateTime.now().plusMinutes(10));
+
+        assertThat(hold.getQuantity()).isEqualTo(4);
+        assertThat(hold.getStatus()).isEqualTo(InventoryHoldStatus.HELD);
+        assertThat(hold.getLockId()).isEqualTo("ga-1");
+    }
+
+    @Test
+    @DisplayName("Should seed a missing counter from the inventory row")
+    void hold_SeedsMissingCounter() {
+        when(inventoryRepository.findByEventIdAndSection(EVENT_ID, "GENERAL")).thenReturn(Optional.of(inventory));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(COUNTER_KEY)), eq("4"))).thenReturn(-1L, 96L);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(inventoryRepository.reserve(5L, 4)).thenReturn(1);
+        when(holdRepository.save(any(InventoryHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        sectionInventoryService.hold(EVENT_ID, "GENERAL", 4, USER_ID, "ga-1", LocalDateTime.now().plusMinutes(10));
+
+        verify(valueOperations).setIfAbsent(COUNTER_KEY, "100", Duration.ofSeconds(300));
+    }
+
+    @Test
+    @DisplayName("Should reject without touching Postgres when the counter is exhausted")
+    void hold_CounterExhausted() {
+        when(inventoryRepository.findByEventIdAndSection(EVENT_ID, "GENERAL")).thenReturn(Optional.of(inventory));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(COUNTER_KEY)), eq("4"))).thenReturn(-2L);
+
+        assertThatThrownBy(() -> sectionInventoryService.hold(EVENT_ID, "GENERAL", 4, USER_ID, "ga-1",
+            LocalDateTime.now().plusMinutes(10)))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Not enough tickets");
+        verify(inventoryRepository, never()).reserve(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should drop the counter when Postgres has fewer tickets than Redis")
+    void hold_InventoryRowRejects() {
+        when(inventoryRepository.findByEventIdAndSection(EVENT_ID, "GENERAL")).thenReturn(Optional.of(inventory));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(COUNTER_KEY)), eq("4"))).thenReturn(10L);
+        when(inventoryRepository.reserve(5L, 4)).thenReturn(0);
+
+        assertThatThrownBy(() -> sectionInventoryService.hold(EVENT_ID, "GENERAL", 4, USER_ID, "ga-1",
+            LocalDateTime.now().plusMinutes(10)))
+            .isInstanceOf(BusinessException.class);
+        verify(redisTemplate).delete(COUNTER_KEY);
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should return a released hold to the inventory and the counter")
+    void releaseHold_Restocks() {
+        InventoryHold hold = new InventoryHold("ga-1", inventory, USER_ID, 4, LocalDateTime.now().plusMinutes(10));
+        when(holdRepository.findByLockId("ga-1")).thenReturn(Optional.of(hold));
+
+        boolean released = sectionInventoryService.releaseHold("ga-1", USER_ID);
+
+        assertThat(released).isTrue();
+        assertThat(hold.getStatus()).isEqualTo(InventoryHoldStatus.RELEASED);
+        verify(inventoryRepository).restock(5L, 4);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(COUNTER_KEY)), eq("4"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to book an expired hold")
+    void book_ExpiredHold() {
+        InventoryHold hold = new InventoryHold("ga-1", inventory, USER_ID, 4, LocalDateTime.now().minusSeconds(1));
+        when(holdRepository.findByLockId("ga-1")).thenReturn(Optional.of(hold));
+
+        assertThatThrownBy(() -> sectionInventoryService.book("ga-1", 4, 42L))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("expired");
+    }
+}
@@ -0,0 +1,124 @@
+package com.ticket.event.service;
+
+import com.ticket.common.exception.WaitingRoomException;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.event.dto.QueueStatusResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Waiting Room Service Unit Tests")
+class WaitingRoomServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WaitingRoomService waitingRoomService;
+
+    private MockedStatic<TenantContext> tenantContextMock;
+
+    private static final Long EVENT_ID = 1L;
+    private static final Long USER_ID = 100L;
+    private static final List<String> KEYS = List.of(
+        "waitroom:tenant1:1:queue", "waitroom:tenant1:1:active", "waitroom:tenant1:1:seq");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        waitingRoomService = new WaitingRoomService(redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(waitingRoomService, "enabled", true);
+        ReflectionTestUtils.setField(waitingRoomService, "activeShoppers", 500);
+        ReflectionTestUtils.setField(waitingRoomService, "sessionSeconds", 600L);
+        ReflectionTestUtils.setField(waitingRoomService, "idleTtlSeconds", 3600L);
+
+        tenantContextMock = mockStatic(TenantContext.class);
+        tenantContextMock.when(TenantContext::getTenantId).thenReturn("tenant1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantContextMock.close();
+    }
+
+    @Test
+    @DisplayName("Should report admission with the session deadline")
+    void enter_Admitted() {
+        long deadline = System.currentTimeMillis() + 600_000;
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("100"), anyString(), eq("500"),
+            eq("600000"), eq("3600"))).thenReturn(List.of(1L, 7L, deadline));
+
+        QueueStatusResponse status = waitingRoomService.enter(EVENT_ID, USER_ID);
+
+        assertThat(status.admitted()).isTrue();
+        assertThat(status.ticket()).isEqualTo(7L);
+        assertThat(status.admittedUntil()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should reject with the queue position while waiting")
+    void requireAdmission_Queued() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), any(Object[].class)))
+            .thenReturn(List.of(0L, 812L, 312L));
+
+        assertThatThrownBy(() -> waitingRoomService.requireAdmission(EVENT_ID, USER_ID))
+            .isInstanceOf(WaitingRoomException.class)
+            .hasMessageContaining("number 312");
+        assertThat(meterRegistry.counter("waiting_room.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report the queue position without joining or promoting")
+    void status_Queued() {
+        when(redisTemplate.execute(any(RedisScript.class),
+            eq(List.of("waitroom:tenant1:1:queue", "waitroom:tenant1:1:active")),
+            eq("100"), anyString(), eq("500"))).thenReturn(List.of(0L, 812L, 312L));
+
+        QueueStatusResponse status = waitingRoomService.status(EVENT_ID, USER_ID);
+
+        assertThat(status.admitted()).isFalse();
+        assertThat(status.ticket()).isEqualTo(812L);
+        assertThat(status.position()).isEqualTo(312L);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), eq(KEYS), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should report a user who is not in line without a position")
+    void status_NotInLine() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenReturn(List.of(0L, 0L, -1L));
+
+        QueueStatusResponse status = waitingRoomService.status(EVENT_ID, USER_ID);
+
+        assertThat(status.admitted()).isFalse();
+        assertThat(status.position()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should admit everyone without touching Redis when disabled")
+    void enter_Disabled() {
+        ReflectionTestUtils.setField(waitingRoomService, "enabled", false);
+
+        QueueStatusResponse status = waitingRoomService.enter(EVENT_ID, USER_ID);
+
+        assertThat(status.admitted()).isTrue();
+        verifyNoInteractions(redisTemplate);
+    }
+}
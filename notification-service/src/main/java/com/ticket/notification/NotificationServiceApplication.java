@@ -2,14 +2,18 @@ package com.ticket.notification;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.TimeZone;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 @ComponentScan(basePackages = {"com.ticket.notification", "com.ticket.common"})
+@EntityScan(basePackages = {"com.ticket.notification", "com.ticket.common.entity"})
 public class NotificationServiceApplication {
     static {
         TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
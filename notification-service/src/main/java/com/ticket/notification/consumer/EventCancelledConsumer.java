@@ -50,20 +50,15 @@ public class EventCancelledConsumer {
                 Map<String, Object> data = objectMapper.readValue(payload, 
                         new TypeReference<Map<String, Object>>() {});
 
-                // The event cancelled message contains event details
-                // In production, we would need to lookup all affected bookings and notify each user
-                Long eventEntityId = getLong(data, "eventId");
-                String eventName = getString(data, "eventName");
-                String reason = getString(data, "reason");
+                // Users are notified per booking: the booking service cancels each affected
+                // booking and publishes BookingCancelled, which BookingEventConsumer handles
+                Long eventEntityId = getLong(data, "eventEntityId");
+                String eventName = getString(data, "name");
+                String reason = getString(data, "cancellationReason");
+                Long affectedBookings = getLong(data, "affectedBookings");
 
-                // For affected users notification, we would need to:
-                // 1. Query booking service for all bookings for this event
-                // 2. Send notification to each affected user
-                // This would typically be handled by the booking service which has the user information
-                
-                logger.info("Event {} ({}) has been cancelled. Reason: {}", 
-                        eventEntityId, eventName, reason);
-                logger.info("Affected users would be notified via booking service cascading events");
+                logger.info("Event {} ({}) has been cancelled with {} affected bookings. Reason: {}", 
+                        eventEntityId, eventName, affectedBookings, reason);
 
                 logger.info("Successfully processed event cancelled: {}", eventId);
             } catch (Exception e) {
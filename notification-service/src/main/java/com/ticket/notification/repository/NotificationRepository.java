@@ -34,8 +34,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.read = false ORDER BY n.createdAt DESC")
     List<Notification> findUnreadByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT n FROM Notification n WHERE n.status = 'PENDING' OR (n.status = 'FAILED' AND n.retryCount < :maxRetries)")
-    List<Notification> findPendingOrFailedForRetry(@Param("maxRetries") int maxRetries);
+    @Query("SELECT n FROM Notification n WHERE (n.status = 'PENDING' OR (n.status = 'FAILED' AND n.retryCount < :maxRetries)) " +
+           "AND n.id > :afterId ORDER BY n.id")
+    List<Notification> findPendingOrFailedForRetry(@Param("maxRetries") int maxRetries, @Param("afterId") Long afterId,
+                                                   Pageable pageable);
 
     @Query("SELECT n FROM Notification n WHERE n.referenceType = :refType AND n.referenceId = :refId")
     List<Notification> findByReference(@Param("refType") String referenceType, @Param("refId") Long referenceId);
@@ -1,10 +1,13 @@
 package com.ticket.notification.service;
 
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantSweeper;
 import com.ticket.notification.entity.*;
 import com.ticket.notification.repository.NotificationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -30,6 +33,7 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final TenantSweeper tenantSweeper;
 
     @Value("${notification.email.simulation.enabled:true}")
     private boolean simulationEnabled;
@@ -42,10 +46,12 @@ public class NotificationService {
 
     public NotificationService(NotificationRepository notificationRepository,
                               JavaMailSender mailSender,
-                              TemplateEngine templateEngine) {
+                              TemplateEngine templateEngine,
+                              TenantSweeper tenantSweeper) {
         this.notificationRepository = notificationRepository;
         this.mailSender = mailSender;
         this.templateEngine = templateEngine;
+        this.tenantSweeper = tenantSweeper;
     }
 
     @Transactional
@@ -316,17 +322,22 @@ public class NotificationService {
             """, eventName, reason);
     }
 
-    // Scheduled retry for failed notifications
+    // Scheduled retry for failed notifications in every tenant
     @Scheduled(fixedRate = 300000) // Every 5 minutes
-    @Transactional
     public void retryFailedNotifications() {
+        tenantSweeper.sweep("notification-retry", this::retryFailedNotifications);
+    }
+
+    // Paging by id means a notification that fails again is not retried twice in one sweep
+    SweepPage retryFailedNotifications(long afterId, int limit) {
         List<Notification> notifications = notificationRepository
-                .findPendingOrFailedForRetry(MAX_RETRIES);
+                .findPendingOrFailedForRetry(MAX_RETRIES, afterId, PageRequest.of(0, limit));
 
         for (Notification notification : notifications) {
             logger.info("Retrying notification {}", notification.getId());
             notification.markRetrying();
             sendNotification(notification);
         }
+        return SweepPage.of(notifications, Notification::getId);
     }
 }
@@ -0,0 +1,41 @@
+package com.ticket.payment.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class PaymentGatewayConfig {
+
+    // Applies gateway results; each task is one short transaction, so a few threads go a long way
+    @Bean(name = "paymentCompletionExecutor")
+    public Executor paymentCompletionExecutor(
+            @Value("${payment.gateway.completion-threads:8}") int threads,
+            @Value("${payment.gateway.max-in-flight:200}") int maxInFlight) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(maxInFlight);
+        executor.setThreadNamePrefix("payment-completion-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs refund fan-outs after the requesting transaction has finished, so no request
+    // or listener thread and no connection waits on the gateway
+    @Bean(name = "refundExecutor")
+    public Executor refundExecutor(
+            @Value("${refund.executor-threads:4}") int threads,
+            @Value("${refund.executor-queue:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("refund-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ticket.payment.consumer;
+
+import com.ticket.common.event.BookingCancelledEvent;
+import com.ticket.common.kafka.KafkaTopics;
+import com.ticket.common.kafka.TenantBatchProcessor;
+import com.ticket.payment.service.BulkRefundService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Refunds cancelled bookings a poll at a time. Each tenant's records are deduplicated
+ * and their payments marked for refund in one transaction; the gateway calls run
+ * on the refund executor once it commits, so a slow gateway does not hold up the
+ * listener or a database connection.
+ */
+@Component
+public class BookingCancelledConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingCancelledConsumer.class);
+    private static final String CONSUMER_GROUP = "payment-service";
+
+    private final BulkRefundService bulkRefundService;
+    private final TenantBatchProcessor batchProcessor;
+
+    public BookingCancelledConsumer(BulkRefundService bulkRefundService, TenantBatchProcessor batchProcessor) {
+        this.bulkRefundService = bulkRefundService;
+        this.batchProcessor = batchProcessor;
+    }
+
+    @KafkaListener(topics = KafkaTopics.BOOKING_CANCELLED, groupId = "payment-service-group",
+                   containerFactory = "batchListenerContainerFactory")
+    public void handleBookingsCancelled(List<BookingCancelledEvent> events) {
+        logger.info("Received {} BookingCancelled events", events.size());
+        List<BookingCancelledEvent> refundable = events.stream()
+                .filter(BookingCancelledEvent::isRefundRequired)
+                .toList();
+        batchProcessor.process(refundable, CONSUMER_GROUP, "BookingCancelled",
+                fresh -> bulkRefundService.refundBookings(fresh.stream()
+                        .map(event -> Long.valueOf(event.getBookingId()))
+                        .toList()));
+    }
+}
@@ -37,7 +37,7 @@ public class PaymentController {
             @AuthenticationPrincipal UserPrincipal principal) {
         logger.info("Processing payment for booking {} by user {}", 
                    request.bookingId(), principal.getId());
-        return ResponseEntity.ok(paymentService.processPayment(request, Long.valueOf(principal.getId())));
+        return ResponseEntity.accepted().body(paymentService.processPayment(request, Long.valueOf(principal.getId())));
     }
 
     @GetMapping("/{paymentId}")
@@ -74,6 +74,7 @@ public class PaymentController {
         if (body != null && body.containsKey("amount")) {
             amount = new BigDecimal(body.get("amount").toString());
         }
-        return ResponseEntity.ok(paymentService.initiateRefund(paymentId, Long.valueOf(principal.getId()), amount));
+        // The refund stays PENDING until the gateway answers; poll the payment for the outcome
+        return ResponseEntity.accepted().body(paymentService.initiateRefund(paymentId, Long.valueOf(principal.getId()), amount));
     }
 }
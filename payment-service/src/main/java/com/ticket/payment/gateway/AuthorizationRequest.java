@@ -0,0 +1,24 @@
+package com.ticket.payment.gateway;
+
+import com.ticket.payment.entity.Payment;
+import com.ticket.payment.entity.PaymentMethod;
+
+import java.math.BigDecimal;
+
+/**
+ * What the gateway needs to authorize a payment. The idempotency key is stable per
+ * payment, so a retried authorization is not charged twice.
+ */
+public record AuthorizationRequest(
+    Long paymentId,
+    String idempotencyKey,
+    BigDecimal amount,
+    String currency,
+    PaymentMethod paymentMethod
+) {
+    public static AuthorizationRequest of(Payment payment) {
+        return new AuthorizationRequest(payment.getId(), "PAY-" + payment.getId(),
+                payment.getTotalAmount() != null ? payment.getTotalAmount() : payment.getAmount(),
+                payment.getCurrency(), payment.getPaymentMethod());
+    }
+}
@@ -0,0 +1,16 @@
+package com.ticket.payment.gateway;
+
+public record GatewayResult(
+    boolean success,
+    String transactionReference,
+    String gatewayResponse,
+    String failureReason
+) {
+    public static GatewayResult approved(String transactionReference, String gatewayResponse) {
+        return new GatewayResult(true, transactionReference, gatewayResponse, null);
+    }
+
+    public static GatewayResult declined(String failureReason) {
+        return new GatewayResult(false, null, null, failureReason);
+    }
+}
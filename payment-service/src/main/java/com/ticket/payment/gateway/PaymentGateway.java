@@ -0,0 +1,22 @@
+package com.ticket.payment.gateway;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Card processor used by the payment service. Calls must not block the caller;
+ * declines complete normally with an unsuccessful result, while transport and
+ * provider errors complete the future exceptionally. Callers apply their own timeout.
+ */
+public interface PaymentGateway {
+
+    CompletableFuture<GatewayResult> authorize(AuthorizationRequest request);
+
+    CompletableFuture<GatewayResult> capture(String transactionReference, BigDecimal amount);
+
+    CompletableFuture<GatewayResult> refund(String transactionReference, BigDecimal amount, String idempotencyKey);
+
+    // Cancels whatever the authorization with this idempotency key left behind, voiding
+    // the hold or reversing the capture; succeeds when there is nothing to cancel
+    CompletableFuture<GatewayResult> voidAuthorization(String idempotencyKey);
+}
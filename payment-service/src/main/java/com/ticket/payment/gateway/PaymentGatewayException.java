@@ -0,0 +1,11 @@
+package com.ticket.payment.gateway;
+
+/**
+ * The gateway could not give an answer. Unlike a decline, the call may be retried.
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+}
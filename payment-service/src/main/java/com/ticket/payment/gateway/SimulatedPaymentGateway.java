@@ -0,0 +1,135 @@
+package com.ticket.payment.gateway;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Local stand-in for a card processor, for development and load tests. Latency
+ * follows the configured percentiles and outcomes the configured ratios, and a share
+ * of calls never answer so that callers' timeouts get exercised. With a seed set,
+ * the same sequence of calls sees the same latencies and outcomes.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.simulation.enabled", havingValue = "true", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private static final double[] QUANTILES = {0.0, 0.5, 0.9, 0.99, 1.0};
+
+    private static final String[] DECLINE_REASONS = {
+        "Insufficient funds",
+        "Card declined",
+        "Invalid card details",
+        "Suspected fraud"
+    };
+
+    private final SplittableRandom seedRandom;
+    private final long[] latencies;
+    private final double declineRatio;
+    private final double errorRatio;
+    private final double timeoutRatio;
+    private final double refundFailureRatio;
+
+    public SimulatedPaymentGateway(
+            @Value("${payment.simulation.seed:#{null}}") Long seed,
+            @Value("${payment.simulation.latency.min-ms:50}") long minMs,
+            @Value("${payment.simulation.latency.p50-ms:300}") long p50Ms,
+            @Value("${payment.simulation.latency.p90-ms:800}") long p90Ms,
+            @Value("${payment.simulation.latency.p99-ms:2000}") long p99Ms,
+            @Value("${payment.simulation.latency.max-ms:4000}") long maxMs,
+            @Value("${payment.simulation.decline-ratio:0.05}") double declineRatio,
+            @Value("${payment.simulation.error-ratio:0.0}") double errorRatio,
+            @Value("${payment.simulation.timeout-ratio:0.0}") double timeoutRatio,
+            @Value("${payment.simulation.refund-failure-ratio:0.02}") double refundFailureRatio) {
+        if (!(minMs <= p50Ms && p50Ms <= p90Ms && p90Ms <= p99Ms && p99Ms <= maxMs)) {
+            throw new IllegalArgumentException("Simulated gateway latency percentiles must be non-decreasing");
+        }
+        this.seedRandom = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        this.latencies = new long[] {minMs, p50Ms, p90Ms, p99Ms, maxMs};
+        this.declineRatio = declineRatio;
+        this.errorRatio = errorRatio;
+        this.timeoutRatio = timeoutRatio;
+        this.refundFailureRatio = refundFailureRatio;
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> authorize(AuthorizationRequest request) {
+        return respond(declineRatio, random -> GatewayResult.approved(reference("TXN", random),
+                "{\"status\":\"approved\",\"authCode\":\"" + code(random) + "\"}"));
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> capture(String transactionReference, BigDecimal amount) {
+        return respond(0.0, random -> GatewayResult.approved(transactionReference,
+                "{\"status\":\"captured\",\"authCode\":\"" + code(random) + "\"}"));
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> refund(String transactionReference, BigDecimal amount, String idempotencyKey) {
+        return respond(refundFailureRatio, random -> GatewayResult.approved(reference("REF", random),
+                "{\"status\":\"refunded\"}"));
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> voidAuthorization(String idempotencyKey) {
+        return respond(0.0, random -> GatewayResult.approved(null, "{\"status\":\"voided\"}"));
+    }
+
+    private CompletableFuture<GatewayResult> respond(double failureRatio, Function<SplittableRandom, GatewayResult> approval) {
+        SplittableRandom random = nextRandom();
+        double roll = random.nextDouble();
+        if (roll < timeoutRatio) {
+            // Never answers; the caller's timeout fires
+            return new CompletableFuture<>();
+        }
+
+        long latency = sampleLatency(random);
+        CompletableFuture<GatewayResult> response = new CompletableFuture<>();
+        if (roll < timeoutRatio + errorRatio) {
+            response.completeExceptionally(new PaymentGatewayException("Simulated gateway error"));
+        } else if (roll < timeoutRatio + errorRatio + failureRatio) {
+            response.complete(GatewayResult.declined(DECLINE_REASONS[random.nextInt(DECLINE_REASONS.length)]));
+        } else {
+            response.complete(approval.apply(random));
+        }
+        if (latency <= 0) {
+            return response;
+        }
+        // Latency is a timer, not a sleeping thread
+        return response.thenApplyAsync(Function.identity(),
+                CompletableFuture.delayedExecutor(latency, TimeUnit.MILLISECONDS));
+    }
+
+    // Piecewise-linear inverse CDF through the configured percentiles
+    long sampleLatency(SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 1; i < QUANTILES.length; i++) {
+            if (u <= QUANTILES[i]) {
+                double fraction = (u - QUANTILES[i - 1]) / (QUANTILES[i] - QUANTILES[i - 1]);
+                return Math.round(latencies[i - 1] + fraction * (latencies[i] - latencies[i - 1]));
+            }
+        }
+        return latencies[latencies.length - 1];
+    }
+
+    // SplittableRandom is not thread-safe; each call gets its own split
+    private SplittableRandom nextRandom() {
+        synchronized (seedRandom) {
+            return seedRandom.split();
+        }
+    }
+
+    private static String reference(String prefix, SplittableRandom random) {
+        return prefix + String.format("%016X", random.nextLong());
+    }
+
+    private static String code(SplittableRandom random) {
+        return String.format("%08X", random.nextInt());
+    }
+}
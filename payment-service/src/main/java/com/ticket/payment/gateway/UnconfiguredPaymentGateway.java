@@ -0,0 +1,39 @@
+package com.ticket.payment.gateway;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Declines everything while simulation is off and no real provider is wired in.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.simulation.enabled", havingValue = "false")
+public class UnconfiguredPaymentGateway implements PaymentGateway {
+
+    private static final GatewayResult NOT_CONFIGURED = GatewayResult.declined("Payment gateway not configured");
+    private static final GatewayResult NOTHING_TO_VOID = GatewayResult.approved(null, "{\"status\":\"voided\"}");
+
+    @Override
+    public CompletableFuture<GatewayResult> authorize(AuthorizationRequest request) {
+        return CompletableFuture.completedFuture(NOT_CONFIGURED);
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> capture(String transactionReference, BigDecimal amount) {
+        return CompletableFuture.completedFuture(NOT_CONFIGURED);
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> refund(String transactionReference, BigDecimal amount, String idempotencyKey) {
+        return CompletableFuture.completedFuture(NOT_CONFIGURED);
+    }
+
+    // Nothing is ever authorized, so there is nothing to cancel
+    @Override
+    public CompletableFuture<GatewayResult> voidAuthorization(String idempotencyKey) {
+        return CompletableFuture.completedFuture(NOTHING_TO_VOID);
+    }
+}
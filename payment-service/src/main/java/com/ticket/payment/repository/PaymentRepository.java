@@ -11,7 +11,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +26,33 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.bookingId = :bookingId")
     Optional<Payment> findByBookingIdWithLock(@Param("bookingId") Long bookingId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id = :id")
+    Optional<Payment> findByIdWithLock(@Param("id") Long id);
+
+    // Accepted payments whose gateway result has not been recorded since the cutoff
+    @Query(value = "SELECT * FROM payments WHERE status = 'PROCESSING' AND updated_at < :before " +
+            "AND id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Payment> findStalledProcessing(@Param("before") Instant before,
+                                     @Param("afterId") long afterId,
+                                     @Param("limit") int limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id IN :ids ORDER BY p.id")
+    List<Payment> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.bookingId IN :bookingIds AND p.status = 'COMPLETED' " +
+           "AND p.refundStatus IS NULL ORDER BY p.id")
+    List<Payment> findRefundableByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Refunds marked PENDING whose outcome has not been recorded since the cutoff
+    @Query(value = "SELECT * FROM payments WHERE refund_status = 'PENDING' AND updated_at < :before " +
+            "AND id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Payment> findStalledRefunds(@Param("before") Instant before,
+                                     @Param("afterId") long afterId,
+                                     @Param("limit") int limit);
+
     Optional<Payment> findByTransactionReference(String transactionReference);
 
     Page<Payment> findByUserId(Long userId, Pageable pageable);
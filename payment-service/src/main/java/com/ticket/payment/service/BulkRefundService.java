@@ -0,0 +1,208 @@
+package com.ticket.payment.service;
+
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.payment.entity.Payment;
+import com.ticket.payment.entity.PaymentStatus;
+import com.ticket.payment.entity.RefundStatus;
+import com.ticket.payment.gateway.GatewayResult;
+import com.ticket.payment.gateway.PaymentGateway;
+import com.ticket.payment.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refunds payments in bulk, e.g. every booking of a cancelled event. A batch is marked
+ * refund PENDING in the caller's transaction; once that has completed and given back
+ * its connection, the batch is handed to the refund executor, where gateway calls fan
+ * out with at most refund.max-parallel in flight and the outcomes are recorded together
+ * in one transaction. Refunds left PENDING by a crash or a gateway error are
+ * retried by a sweep, and the per-payment idempotency key keeps a repeated call from
+ * refunding twice.
+ */
+@Service
+public class BulkRefundService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkRefundService.class);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final TenantSweeper tenantSweeper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate recordTemplate;
+    private final Executor refundExecutor;
+
+    @Value("${refund.max-parallel:32}")
+    private int maxParallel;
+
+    @Value("${payment.gateway.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${refund.stall-seconds:120}")
+    private long stallSeconds;
+
+    public BulkRefundService(PaymentRepository paymentRepository,
+                             PaymentGateway paymentGateway,
+                             TenantSweeper tenantSweeper,
+                             MeterRegistry meterRegistry,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier("refundExecutor") Executor refundExecutor) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.tenantSweeper = tenantSweeper;
+        this.meterRegistry = meterRegistry;
+        this.recordTemplate = new TransactionTemplate(transactionManager);
+        this.refundExecutor = refundExecutor;
+    }
+
+    /**
+     * Refund the completed payments of the given bookings in full. Payments already
+     * being refunded are skipped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refundBookings(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        List<Payment> payments = paymentRepository.findRefundableByBookingIds(bookingIds);
+        payments.forEach(payment -> payment.initiateRefund(payment.getAmount()));
+        paymentRepository.saveAll(payments);
+        refundAfterCommit(payments);
+    }
+
+    /**
+     * Refund the given payments, already marked PENDING, on the refund executor once the
+     * caller's transaction commits. Returns at once; the outcome is recorded off-thread.
+     */
+    public void refundAfterCommit(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return;
+        }
+        String tenantId = TenantContext.getTenantId();
+        List<RefundCall> calls = payments.stream()
+                .map(payment -> new RefundCall(payment.getId(), payment.getTransactionReference(), payment.getRefundAmount()))
+                .toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(tenantId, calls);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    submit(tenantId, calls);
+                }
+            }
+        });
+    }
+
+    private void submit(String tenantId, List<RefundCall> calls) {
+        try {
+            refundExecutor.execute(() -> executeRefunds(tenantId, calls));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Refund queue is full, {} refunds wait for the recovery sweep", calls.size());
+        }
+    }
+
+    void executeRefunds(String tenantId, List<RefundCall> calls) {
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            executeRefunds(calls);
+        } catch (Exception e) {
+            logger.error("Failed to refund {} payments, the recovery sweep retries them: {}",
+                        calls.size(), e.getMessage(), e);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    void executeRefunds(List<RefundCall> calls) {
+        Semaphore permits = new Semaphore(maxParallel);
+        Map<Long, CompletableFuture<GatewayResult>> results = new LinkedHashMap<>();
+        for (RefundCall call : calls) {
+            permits.acquireUninterruptibly();
+            CompletableFuture<GatewayResult> result = paymentGateway
+                    .refund(call.transactionReference(), call.amount(), "REFUND-" + call.paymentId())
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+            result.whenComplete((r, e) -> permits.release());
+            results.put(call.paymentId(), result);
+        }
+        // Every call settles within the timeout
+        CompletableFuture.allOf(results.values().toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+
+        recordTemplate.executeWithoutResult(status -> recordRefunds(results));
+    }
+
+    private void recordRefunds(Map<Long, CompletableFuture<GatewayResult>> results) {
+        int refunded = 0;
+        int failed = 0;
+        int retrying = 0;
+        for (Payment payment : paymentRepository.findAllByIdWithLock(results.keySet())) {
+            if (payment.getRefundStatus() != RefundStatus.PENDING) {
+                continue;
+            }
+            CompletableFuture<GatewayResult> future = results.get(payment.getId());
+            if (future.isCompletedExceptionally()) {
+                // No answer; the sweep retries once the refund looks stalled
+                retrying++;
+                continue;
+            }
+            GatewayResult result = future.join();
+            if (result.success()) {
+                payment.completeRefund(result.transactionReference());
+                payment.setStatus(PaymentStatus.REFUNDED);
+                refunded++;
+            } else {
+                payment.setRefundStatus(RefundStatus.FAILED);
+                failed++;
+            }
+            paymentRepository.save(payment);
+        }
+
+        meterRegistry.counter("payment.refunds", "outcome", "refunded").increment(refunded);
+        meterRegistry.counter("payment.refunds", "outcome", "failed").increment(failed);
+        meterRegistry.counter("payment.refunds", "outcome", "retrying").increment(retrying);
+        logger.info("Recorded {} refunds: {} refunded, {} failed, {} to retry",
+                   results.size(), refunded, failed, retrying);
+    }
+
+    @Scheduled(fixedDelayString = "${refund.recovery-interval-ms:60000}")
+    public void retryStalledRefunds() {
+        tenantSweeper.sweep("refund-recovery", this::retryStalledRefunds);
+    }
+
+    SweepPage retryStalledRefunds(long afterId, int limit) {
+        List<Payment> stalled = paymentRepository.findStalledRefunds(
+                Instant.now().minusSeconds(stallSeconds), afterId, limit);
+        refundAfterCommit(stalled);
+        return SweepPage.of(stalled, Payment::getId);
+    }
+
+    record RefundCall(Long paymentId, String transactionReference, BigDecimal amount) {}
+}
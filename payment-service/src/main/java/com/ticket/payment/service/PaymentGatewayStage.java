@@ -0,0 +1,303 @@
+package com.ticket.payment.service;
+
+import com.ticket.common.event.PaymentCompletedEvent;
+import com.ticket.common.event.PaymentFailedEvent;
+import com.ticket.common.kafka.KafkaTopics;
+import com.ticket.common.kafka.OutboxPublisher;
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.common.tenant.TransactionCallbacks;
+import com.ticket.payment.entity.Payment;
+import com.ticket.payment.entity.PaymentStatus;
+import com.ticket.payment.gateway.AuthorizationRequest;
+import com.ticket.payment.gateway.GatewayResult;
+import com.ticket.payment.gateway.PaymentGateway;
+import com.ticket.payment.repository.PaymentRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authorizes accepted payments off the request thread. No thread or connection is
+ * held while the gateway answers; concurrency is bounded by a permit count instead
+ * of the Tomcat and Hikari pools, and each result is applied in a short transaction
+ * on the completion executor. A failed call is retried after a short backoff; once
+ * the attempts run out, whatever the gateway may have authorized is voided before
+ * the payment is failed. Payments left PROCESSING because the stage was full, the
+ * void did not go through or the instance restarted are dispatched again by a
+ * periodic poll.
+ */
+@Component
+public class PaymentGatewayStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGatewayStage.class);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantSweeper tenantSweeper;
+    private final CircuitBreaker circuitBreaker;
+    private final Executor completionExecutor;
+    private final Semaphore permits;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${payment.gateway.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${payment.gateway.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${payment.gateway.stall-seconds:60}")
+    private long stallSeconds;
+
+    @Value("${payment.gateway.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    public PaymentGatewayStage(PaymentRepository paymentRepository,
+                               PaymentGateway paymentGateway,
+                               OutboxPublisher outboxPublisher,
+                               PlatformTransactionManager transactionManager,
+                               TenantSweeper tenantSweeper,
+                               CircuitBreakerRegistry circuitBreakerRegistry,
+                               @Qualifier("paymentCompletionExecutor") Executor completionExecutor,
+                               @Value("${payment.gateway.max-in-flight:200}") int maxInFlight) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tenantSweeper = tenantSweeper;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("paymentGateway");
+        this.completionExecutor = completionExecutor;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Start authorizing a payment once the caller's transaction commits, so the
+     * completion never races the PROCESSING update.
+     */
+    public void dispatchAfterCommit(Payment payment) {
+        String tenantId = TenantContext.getTenantId();
+        AuthorizationRequest request = AuthorizationRequest.of(payment);
+        TransactionCallbacks.afterCommit(() -> dispatch(tenantId, request));
+    }
+
+    void dispatch(String tenantId, AuthorizationRequest request) {
+        Long paymentId = request.paymentId();
+        String key = tenantId + ":" + paymentId;
+        if (!inFlight.add(key)) {
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            inFlight.remove(key);
+            logger.debug("Gateway stage is full, payment {} waits for the recovery poll", paymentId);
+            return;
+        }
+
+        circuitBreaker.executeCompletionStage(() -> authorizeAndCapture(request))
+                .whenComplete((result, error) -> {
+                    permits.release();
+                    inFlight.remove(key);
+                    try {
+                        completionExecutor.execute(() -> complete(tenantId, paymentId, result, error));
+                    } catch (RejectedExecutionException e) {
+                        logger.warn("Completion queue is full, payment {} waits for the recovery poll", paymentId);
+                    }
+                });
+    }
+
+    // Authorize, then capture what was approved
+    private CompletionStage<GatewayResult> authorizeAndCapture(AuthorizationRequest request) {
+        return paymentGateway.authorize(request)
+                .thenCompose(auth -> auth.success()
+                        ? paymentGateway.capture(auth.transactionReference(), request.amount())
+                        : CompletableFuture.completedFuture(auth))
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    void complete(String tenantId, Long paymentId, GatewayResult result, Throwable error) {
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            // Gateway calls that follow run after the transaction, so no connection waits on them
+            FollowUp followUp = transactionTemplate.execute(status -> applyResult(paymentId, result, error));
+            if (followUp != null && followUp.voidFirst()) {
+                voidThenFail(tenantId, followUp.request());
+            } else if (followUp != null) {
+                scheduleRetry(tenantId, followUp.request(), followUp.attempt());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to record gateway result for payment {}: {}", paymentId, e.getMessage(), e);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private FollowUp applyResult(Long paymentId, GatewayResult result, Throwable error) {
+        Payment payment = findProcessing(paymentId);
+        if (payment == null) {
+            return null;
+        }
+
+        if (error != null) {
+            payment.incrementRetry();
+            paymentRepository.save(payment);
+            AuthorizationRequest request = AuthorizationRequest.of(payment);
+            if (payment.getRetryCount() < maxAttempts) {
+                logger.warn("Gateway call for payment {} failed, will retry: {}", paymentId, error.getMessage());
+                // An open breaker rejects every call for a while; the recovery poll comes back after that
+                return unwrap(error) instanceof CallNotPermittedException ? null
+                        : new FollowUp(request, payment.getRetryCount(), false);
+            }
+            logger.warn("Gateway call for payment {} failed {} times, voiding it before failing: {}",
+                       paymentId, payment.getRetryCount(), error.getMessage());
+            return new FollowUp(request, payment.getRetryCount(), true);
+        }
+
+        if (result.success()) {
+            payment.markCompleted(result.transactionReference(), result.gatewayResponse());
+        } else {
+            payment.markFailed(result.failureReason());
+        }
+        settle(payment);
+        return null;
+    }
+
+    // Doubles the backoff per attempt; the dispatch itself holds no thread while it waits
+    private void scheduleRetry(String tenantId, AuthorizationRequest request, int attempt) {
+        long delayMs = retryBackoffMs << Math.min(attempt - 1, 10);
+        if (delayMs <= 0) {
+            dispatch(tenantId, request);
+            return;
+        }
+        CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS)
+                .execute(() -> dispatch(tenantId, request));
+    }
+
+    // A timed-out call may still have been authorized, so it is voided by idempotency key
+    // first. If the void does not go through, the payment stays PROCESSING for the poll
+    private void voidThenFail(String tenantId, AuthorizationRequest request) {
+        Long paymentId = request.paymentId();
+        circuitBreaker.executeCompletionStage(() -> paymentGateway.voidAuthorization(request.idempotencyKey())
+                        .orTimeout(timeoutMs, TimeUnit.MILLISECONDS))
+                .whenComplete((result, error) -> {
+                    if (error != null || !result.success()) {
+                        logger.warn("Could not void payment {}, it waits for the recovery poll: {}", paymentId,
+                                   error != null ? error.getMessage() : result.failureReason());
+                        return;
+                    }
+                    try {
+                        completionExecutor.execute(() -> failVoided(tenantId, paymentId));
+                    } catch (RejectedExecutionException e) {
+                        logger.warn("Completion queue is full, payment {} waits for the recovery poll", paymentId);
+                    }
+                });
+    }
+
+    void failVoided(String tenantId, Long paymentId) {
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Payment payment = findProcessing(paymentId);
+                if (payment != null) {
+                    payment.markFailed("Payment gateway unavailable");
+                    settle(payment);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Failed to fail voided payment {}: {}", paymentId, e.getMessage(), e);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    // Null when an earlier attempt has already settled the payment
+    private Payment findProcessing(Long paymentId) {
+        Payment payment = paymentRepository.findByIdWithLock(paymentId).orElse(null);
+        return payment != null && payment.getStatus() == PaymentStatus.PROCESSING ? payment : null;
+    }
+
+    private void settle(Payment payment) {
+        paymentRepository.save(payment);
+
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            publishPaymentCompleted(payment);
+            logger.info("Payment completed for booking {} with reference {}",
+                       payment.getBookingId(), payment.getTransactionReference());
+        } else {
+            publishPaymentFailed(payment);
+            logger.warn("Payment failed for booking {}: {}",
+                       payment.getBookingId(), payment.getFailureReason());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.gateway.recovery-interval-ms:30000}")
+    public void redispatchStalled() {
+        tenantSweeper.sweep("payment-gateway-recovery", this::redispatchStalled);
+    }
+
+    SweepPage redispatchStalled(long afterId, int limit) {
+        List<Payment> stalled = paymentRepository.findStalledProcessing(
+                Instant.now().minusSeconds(stallSeconds), afterId, limit);
+        String tenantId = TenantContext.getTenantId();
+        stalled.forEach(payment -> dispatch(tenantId, AuthorizationRequest.of(payment)));
+        return SweepPage.of(stalled, Payment::getId);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private void publishPaymentCompleted(Payment payment) {
+        PaymentCompletedEvent event = new PaymentCompletedEvent(
+            TenantContext.getTenantId(),
+            UUID.randomUUID().toString(),
+            payment.getId().toString(),
+            payment.getBookingId().toString(),
+            payment.getAmount(),
+            payment.getTransactionReference(),
+            payment.getPaymentMethod() != null ? payment.getPaymentMethod().name() : null
+        );
+        outboxPublisher.publish(KafkaTopics.PAYMENT_COMPLETED,
+                               payment.getBookingId().toString(), event);
+    }
+
+    private void publishPaymentFailed(Payment payment) {
+        PaymentFailedEvent event = new PaymentFailedEvent(
+            TenantContext.getTenantId(),
+            UUID.randomUUID().toString(),
+            payment.getId().toString(),
+            payment.getBookingId().toString(),
+            payment.getAmount(),
+            payment.getFailureReason(),
+            "PAYMENT_FAILED"
+        );
+        outboxPublisher.publish(KafkaTopics.PAYMENT_FAILED,
+                               payment.getBookingId().toString(), event);
+    }
+
+    // Gateway work left once an attempt's outcome is recorded
+    private record FollowUp(AuthorizationRequest request, int attempt, boolean voidFirst) {
+    }
+}
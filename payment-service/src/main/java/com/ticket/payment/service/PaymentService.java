@@ -1,20 +1,13 @@
 package com.ticket.payment.service;
 
 import com.ticket.common.event.BookingRequestedEvent;
-import com.ticket.common.event.PaymentCompletedEvent;
-import com.ticket.common.event.PaymentFailedEvent;
 import com.ticket.common.exception.BusinessException;
 import com.ticket.common.exception.ResourceNotFoundException;
-import com.ticket.common.kafka.EventPublisher;
-import com.ticket.common.kafka.KafkaTopics;
-import com.ticket.common.tenant.TenantContext;
 import com.ticket.payment.dto.*;
 import com.ticket.payment.entity.*;
 import com.ticket.payment.repository.PaymentRepository;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -25,7 +18,6 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import java.util.UUID;
 
 @Service
@@ -35,21 +27,15 @@ public class PaymentService {
     private static final BigDecimal FEE_PERCENTAGE = new BigDecimal("2.5");
 
     private final PaymentRepository paymentRepository;
-    private final EventPublisher eventPublisher;
-    private final Random random = new Random();
+    private final PaymentGatewayStage gatewayStage;
+    private final BulkRefundService refundService;
 
-    @Value("${payment.simulation.enabled:true}")
-    private boolean simulationEnabled;
-
-    @Value("${payment.simulation.success-rate:95}")
-    private int successRate;
-
-    @Value("${payment.simulation.delay-ms:1000}")
-    private int simulationDelay;
-
-    public PaymentService(PaymentRepository paymentRepository, EventPublisher eventPublisher) {
+    public PaymentService(PaymentRepository paymentRepository,
+                          PaymentGatewayStage gatewayStage,
+                          BulkRefundService refundService) {
         this.paymentRepository = paymentRepository;
-        this.eventPublisher = eventPublisher;
+        this.gatewayStage = gatewayStage;
+        this.refundService = refundService;
     }
 
     @Transactional
@@ -84,8 +70,11 @@ public class PaymentService {
         return paymentRepository.save(payment);
     }
 
+    /**
+     * Accept a payment for authorization. The payment is marked PROCESSING and handed
+     * to the gateway stage once this transaction commits; clients poll for the outcome.
+     */
     @Transactional
-    @CircuitBreaker(name = "paymentGateway", fallbackMethod = "processPaymentFallback")
     public PaymentResponse processPayment(ProcessPaymentRequest request, Long userId) {
         logger.info("Processing payment for booking {} by user {}", request.bookingId(), userId);
 
@@ -106,97 +95,12 @@ public class PaymentService {
         payment.setStatus(PaymentStatus.PROCESSING);
         paymentRepository.save(payment);
 
-        // Process with payment gateway (simulated)
-        PaymentGatewayResult result = processWithGateway(payment, request);
-
-        if (result.success()) {
-            payment.markCompleted(result.transactionReference(), result.gatewayResponse());
-            paymentRepository.save(payment);
-            publishPaymentCompleted(payment);
-            logger.info("Payment completed for booking {} with reference {}", 
-                       payment.getBookingId(), payment.getTransactionReference());
-        } else {
-            payment.markFailed(result.failureReason());
-            paymentRepository.save(payment);
-            publishPaymentFailed(payment);
-            logger.warn("Payment failed for booking {}: {}", 
-                       payment.getBookingId(), payment.getFailureReason());
-        }
+        gatewayStage.dispatchAfterCommit(payment);
+        logger.info("Payment {} accepted for booking {}", payment.getId(), payment.getBookingId());
 
         return PaymentMapper.toResponse(payment);
     }
 
-    public PaymentResponse processPaymentFallback(ProcessPaymentRequest request, Long userId, Throwable t) {
-        logger.error("Payment gateway circuit breaker triggered: {}", t.getMessage());
-        throw new BusinessException("Payment service is temporarily unavailable. Please try again later.");
-    }
-
-    private PaymentGatewayResult processWithGateway(Payment payment, ProcessPaymentRequest request) {
-        if (simulationEnabled) {
-            return simulatePaymentGateway(payment);
-        }
-        // In production, integrate with actual payment gateway here
-        return new PaymentGatewayResult(false, null, null, "Payment gateway not configured");
-    }
-
-    private PaymentGatewayResult simulatePaymentGateway(Payment payment) {
-        try {
-            // Simulate processing time
-            Thread.sleep(simulationDelay);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        // Simulate success/failure based on configured rate
-        boolean success = random.nextInt(100) < successRate;
-
-        if (success) {
-            String transactionRef = "TXN" + System.currentTimeMillis() + 
-                                   String.format("%06d", random.nextInt(1000000));
-            String response = "{\"status\":\"approved\",\"authCode\":\"" + 
-                             UUID.randomUUID().toString().substring(0, 8).toUpperCase() + "\"}";
-            return new PaymentGatewayResult(true, transactionRef, response, null);
-        } else {
-            String[] failureReasons = {
-                "Insufficient funds",
-                "Card declined",
-                "Transaction timeout",
-                "Invalid card details",
-                "Suspected fraud"
-            };
-            String reason = failureReasons[random.nextInt(failureReasons.length)];
-            return new PaymentGatewayResult(false, null, null, reason);
-        }
-    }
-
-    private void publishPaymentCompleted(Payment payment) {
-        PaymentCompletedEvent event = new PaymentCompletedEvent(
-            TenantContext.getTenantId(),
-            UUID.randomUUID().toString(),
-            payment.getId().toString(),
-            payment.getBookingId().toString(),
-            payment.getAmount(),
-            payment.getTransactionReference(),
-            payment.getPaymentMethod() != null ? payment.getPaymentMethod().name() : null
-        );
-        eventPublisher.publish(KafkaTopics.PAYMENT_COMPLETED, 
-                              payment.getBookingId().toString(), event);
-    }
-
-    private void publishPaymentFailed(Payment payment) {
-        PaymentFailedEvent event = new PaymentFailedEvent(
-            TenantContext.getTenantId(),
-            UUID.randomUUID().toString(),
-            payment.getId().toString(),
-            payment.getBookingId().toString(),
-            payment.getAmount(),
-            payment.getFailureReason(),
-            "PAYMENT_FAILED"
-        );
-        eventPublisher.publish(KafkaTopics.PAYMENT_FAILED, 
-                              payment.getBookingId().toString(), event);
-    }
-
     @Transactional(readOnly = true)
     public PaymentResponse getPayment(Long paymentId, Long userId) {
         Payment payment = paymentRepository.findById(paymentId)
@@ -244,36 +148,16 @@ public class PaymentService {
             amount = payment.getAmount();
         }
 
+        // Returned PENDING; once this commits the refund executor calls the gateway and
+        // records the outcome, so neither this thread nor its connection waits on it
         payment.initiateRefund(amount);
-        
-        // Simulate refund processing
-        if (simulationEnabled) {
-            simulateRefund(payment);
-        }
-
         paymentRepository.save(payment);
+        refundService.refundAfterCommit(List.of(payment));
         logger.info("Refund initiated for payment {} with amount {}", paymentId, amount);
         
         return PaymentMapper.toResponse(payment);
     }
 
-    private void simulateRefund(Payment payment) {
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        boolean success = random.nextInt(100) < 98; // 98% success rate for refunds
-        if (success) {
-            String refundRef = "REF" + System.currentTimeMillis();
-            payment.completeRefund(refundRef);
-            payment.setStatus(PaymentStatus.REFUNDED);
-        } else {
-            payment.setRefundStatus(RefundStatus.FAILED);
-        }
-    }
-
     // Helper methods for internal use and testing
     public Payment createPayment(Long bookingId, Long userId, BigDecimal amount, PaymentMethod method) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
@@ -319,12 +203,4 @@ public class PaymentService {
     public String generateTransactionReference() {
         return "TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
-
-    // Record for gateway result
-    private record PaymentGatewayResult(
-        boolean success,
-        String transactionReference,
-        String gatewayResponse,
-        String failureReason
-    ) {}
 }
@@ -0,0 +1,87 @@
+package com.ticket.payment.gateway;
+
+import com.ticket.payment.entity.PaymentMethod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Simulated Payment Gateway Unit Tests")
+class SimulatedPaymentGatewayTest {
+
+    private static final AuthorizationRequest REQUEST =
+            new AuthorizationRequest(1L, "PAY-1", new BigDecimal("100.00"), "USD", PaymentMethod.CREDIT_CARD);
+
+    @Test
+    @DisplayName("Should replay the same outcomes for the same seed")
+    void shouldBeDeterministicForSeed() {
+        List<GatewayResult> first = authorizeMany(gateway(42L, 0.3, 0.0, 0.0), 50);
+        List<GatewayResult> second = authorizeMany(gateway(42L, 0.3, 0.0, 0.0), 50);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).anyMatch(GatewayResult::success);
+        assertThat(first).anyMatch(result -> !result.success());
+    }
+
+    @Test
+    @DisplayName("Should sample latency within the configured percentiles")
+    void shouldSampleLatencyFromPercentiles() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(7L, 10, 100, 200, 500, 1000,
+                0.0, 0.0, 0.0, 0.0);
+        SplittableRandom random = new SplittableRandom(7L);
+
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            samples.add(gateway.sampleLatency(random));
+        }
+        samples.sort(null);
+
+        assertThat(samples.get(0)).isGreaterThanOrEqualTo(10);
+        assertThat(samples.get(samples.size() - 1)).isLessThanOrEqualTo(1000);
+        assertThat(samples.get(5_000)).isBetween(90L, 110L);
+        assertThat(samples.get(9_000)).isBetween(190L, 210L);
+    }
+
+    @Test
+    @DisplayName("Should fail calls exceptionally at the configured error ratio")
+    void shouldInjectErrors() {
+        CompletableFuture<GatewayResult> result = gateway(1L, 0.0, 1.0, 0.0).authorize(REQUEST);
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(PaymentGatewayException.class);
+    }
+
+    @Test
+    @DisplayName("Should leave calls unanswered at the configured timeout ratio")
+    void shouldInjectTimeouts() {
+        CompletableFuture<GatewayResult> result = gateway(1L, 0.0, 0.0, 1.0).authorize(REQUEST);
+
+        assertThat(result.orTimeout(50, TimeUnit.MILLISECONDS))
+                .failsWithin(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should reject latency percentiles out of order")
+    void shouldValidatePercentiles() {
+        assertThatThrownBy(() -> new SimulatedPaymentGateway(1L, 0, 500, 100, 600, 700, 0.0, 0.0, 0.0, 0.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SimulatedPaymentGateway gateway(Long seed, double declineRatio, double errorRatio, double timeoutRatio) {
+        return new SimulatedPaymentGateway(seed, 0, 0, 0, 0, 0, declineRatio, errorRatio, timeoutRatio, 0.0);
+    }
+
+    private static List<GatewayResult> authorizeMany(SimulatedPaymentGateway gateway, int count) {
+        List<GatewayResult> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(gateway.authorize(REQUEST).join());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,171 @@
+package com.ticket.payment.service;
+
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.payment.entity.Payment;
+import com.ticket.payment.entity.PaymentStatus;
+import com.ticket.payment.entity.RefundStatus;
+import com.ticket.payment.gateway.GatewayResult;
+import com.ticket.payment.gateway.PaymentGateway;
+import com.ticket.payment.gateway.PaymentGatewayException;
+import com.ticket.payment.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Bulk Refund Service Unit Tests")
+class BulkRefundServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    @Mock
+    private TenantSweeper tenantSweeper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkRefundService bulkRefundService;
+
+    @BeforeEach
+    void setUp() {
+        bulkRefundService = new BulkRefundService(paymentRepository, paymentGateway, tenantSweeper,
+                new SimpleMeterRegistry(), transactionManager, Runnable::run);
+        ReflectionTestUtils.setField(bulkRefundService, "maxParallel", 2);
+        ReflectionTestUtils.setField(bulkRefundService, "timeoutMs", 1000L);
+        ReflectionTestUtils.setField(bulkRefundService, "stallSeconds", 120L);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should mark payments for refund and refund them after commit")
+    void shouldRefundAfterCommit() {
+        Payment first = completedPayment(1L);
+        Payment second = completedPayment(2L);
+        when(paymentRepository.findRefundableByBookingIds(List.of(101L, 102L))).thenReturn(List.of(first, second));
+        when(paymentRepository.findAllByIdWithLock(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(paymentGateway.refund(eq("TXN-1"), any(), eq("REFUND-1")))
+                .thenReturn(CompletableFuture.completedFuture(GatewayResult.approved("REF-1", "{}")));
+        when(paymentGateway.refund(eq("TXN-2"), any(), eq("REFUND-2")))
+                .thenReturn(CompletableFuture.completedFuture(GatewayResult.declined("Card closed")));
+
+        bulkRefundService.refundBookings(List.of(101L, 102L));
+
+        assertThat(first.getRefundStatus()).isEqualTo(RefundStatus.PENDING);
+        verifyNoInteractions(paymentGateway);
+
+        commit();
+
+        assertThat(first.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        assertThat(first.getRefundReference()).isEqualTo("REF-1");
+        assertThat(second.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(second.getRefundStatus()).isEqualTo(RefundStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should not call the gateway when the marking transaction rolls back")
+    void shouldSkipRefundsOnRollback() {
+        Payment payment = completedPayment(1L);
+        payment.initiateRefund(payment.getAmount());
+
+        bulkRefundService.refundAfterCommit(List.of(payment));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(paymentGateway);
+    }
+
+    @Test
+    @DisplayName("Should leave refunds without an answer pending for the sweep")
+    void shouldLeaveUnansweredRefundsPending() {
+        Payment payment = completedPayment(1L);
+        payment.initiateRefund(payment.getAmount());
+        when(paymentRepository.findStalledRefunds(any(Instant.class), eq(0L), eq(50))).thenReturn(List.of(payment));
+        when(paymentRepository.findAllByIdWithLock(Set.of(1L))).thenReturn(List.of(payment));
+        when(paymentGateway.refund(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("Connection reset")));
+
+        SweepPage page = bulkRefundService.retryStalledRefunds(0L, 50);
+        commit();
+
+        assertThat(page.rows()).isEqualTo(1);
+        assertThat(payment.getRefundStatus()).isEqualTo(RefundStatus.PENDING);
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should keep at most max-parallel refunds in flight")
+    void shouldBoundParallelism() {
+        List<Payment> payments = List.of(completedPayment(1L), completedPayment(2L), completedPayment(3L));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(paymentGateway.refund(any(), any(), any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                sleep();
+                inFlight.decrementAndGet();
+                return GatewayResult.approved("REF", "{}");
+            });
+        });
+        when(paymentRepository.findAllByIdWithLock(any())).thenReturn(payments);
+
+        bulkRefundService.executeRefunds(payments.stream()
+                .map(p -> new BulkRefundService.RefundCall(p.getId(), p.getTransactionReference(), p.getAmount()))
+                .toList());
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Payment completedPayment(Long id) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setBookingId(100L + id);
+        payment.setUserId(200L);
+        payment.setAmount(new BigDecimal("50.00"));
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setTransactionReference("TXN-" + id);
+        return payment;
+    }
+}
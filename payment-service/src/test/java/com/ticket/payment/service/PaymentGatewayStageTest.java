@@ -0,0 +1,203 @@
+package com.ticket.payment.service;
+
+import com.ticket.common.kafka.KafkaTopics;
+import com.ticket.common.kafka.OutboxPublisher;
+import com.ticket.common.tenant.SweepPage;
+import com.ticket.common.tenant.TenantContext;
+import com.ticket.common.tenant.TenantSweeper;
+import com.ticket.payment.entity.Payment;
+import com.ticket.payment.entity.PaymentMethod;
+import com.ticket.payment.entity.PaymentStatus;
+import com.ticket.payment.gateway.AuthorizationRequest;
+import com.ticket.payment.gateway.GatewayResult;
+import com.ticket.payment.gateway.PaymentGateway;
+import com.ticket.payment.gateway.PaymentGatewayException;
+import com.ticket.payment.repository.PaymentRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Payment Gateway Stage Unit Tests")
+class PaymentGatewayStageTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TenantSweeper tenantSweeper;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private PaymentGatewayStage stage;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        stage = new PaymentGatewayStage(paymentRepository, paymentGateway, outboxPublisher, transactionManager,
+                tenantSweeper, circuitBreakerRegistry, Runnable::run, 10);
+        ReflectionTestUtils.setField(stage, "timeoutMs", 1000L);
+        ReflectionTestUtils.setField(stage, "maxAttempts", 2);
+        ReflectionTestUtils.setField(stage, "stallSeconds", 60L);
+        ReflectionTestUtils.setField(stage, "retryBackoffMs", 0L);
+
+        payment = new Payment();
+        payment.setId(1L);
+        payment.setBookingId(100L);
+        payment.setUserId(200L);
+        payment.setAmount(new BigDecimal("150.00"));
+        payment.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        payment.setStatus(PaymentStatus.PROCESSING);
+        lenient().when(paymentRepository.findByIdWithLock(1L)).thenReturn(Optional.of(payment));
+    }
+
+    @Test
+    @DisplayName("Should capture and complete an approved payment and publish PaymentCompleted")
+    void shouldCompleteApprovedPayment() {
+        payment.setTotalAmount(new BigDecimal("153.75"));
+        approveAll();
+
+        stage.dispatch("tenant1", AuthorizationRequest.of(payment));
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(payment.getTransactionReference()).isEqualTo("TXN-1");
+        verify(paymentGateway).capture("TXN-1", new BigDecimal("153.75"));
+        verify(outboxPublisher).publish(eq(KafkaTopics.PAYMENT_COMPLETED), eq("100"), any());
+        assertThat(TenantContext.getCurrentTenant()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fail a declined payment and publish PaymentFailed")
+    void shouldFailDeclinedPayment() {
+        when(paymentGateway.authorize(any()))
+                .thenReturn(CompletableFuture.completedFuture(GatewayResult.declined("Card declined")));
+
+        stage.dispatch("tenant1", AuthorizationRequest.of(payment));
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(payment.getFailureReason()).isEqualTo("Card declined");
+        verify(paymentGateway, never()).capture(any(), any());
+        verify(outboxPublisher).publish(eq(KafkaTopics.PAYMENT_FAILED), eq("100"), any());
+    }
+
+    @Test
+    @DisplayName("Should retry gateway errors, then void the authorization before failing the payment")
+    void shouldRetryGatewayErrors() {
+        when(paymentGateway.authorize(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("Connection reset")));
+        when(paymentGateway.voidAuthorization("PAY-1"))
+                .thenReturn(CompletableFuture.completedFuture(GatewayResult.approved(null, "{}")));
+
+        stage.dispatch("tenant1", AuthorizationRequest.of(payment));
+
+        verify(paymentGateway, times(2)).authorize(any());
+        verify(paymentGateway).voidAuthorization("PAY-1");
+        assertThat(payment.getRetryCount()).isEqualTo(2);
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(outboxPublisher).publish(eq(KafkaTopics.PAYMENT_FAILED), eq("100"), any());
+    }
+
+    @Test
+    @DisplayName("Should complete a payment whose retry succeeds")
+    void shouldCompleteOnRetry() {
+        when(paymentGateway.authorize(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("Connection reset")),
+                        CompletableFuture.completedFuture(GatewayResult.approved("TXN-1", "{}")));
+        when(paymentGateway.capture(eq("TXN-1"), any()))
+                .thenReturn(CompletableFuture.completedFuture(GatewayResult.approved("TXN-1", "{}")));
+
+        stage.dispatch("tenant1", AuthorizationRequest.of(payment));
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(paymentGateway, never()).voidAuthorization(any());
+    }
+
+    @Test
+    @DisplayName("Should leave the payment processing when the void does not go through")
+    void shouldNotFailUnvoidedPayment() {
+        when(paymentGateway.authorize(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("Connection reset")));
+        when(paymentGateway.voidAuthorization("PAY-1"))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("Connection reset")));
+
+        stage.dispatch("tenant1", AuthorizationRequest.of(payment));
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+        verifyNoInteractions(outboxPublisher);
+    }
+
+    @Test
+    @DisplayName("Should leave payments that were already settled")
+    void shouldIgnoreSettledPayment() {
+        payment.setStatus(PaymentStatus.COMPLETED);
+        approveAll();
+
+        stage.dispatch("tenant1", AuthorizationRequest.of(payment));
+
+        verify(paymentRepository, never()).save(any());
+        verifyNoInteractions(outboxPublisher);
+    }
+
+    @Test
+    @DisplayName("Should dispatch stalled processing payments again")
+    void shouldRedispatchStalledPayments() {
+        approveAll();
+        when(paymentRepository.findStalledProcessing(any(Instant.class), eq(0L), eq(50)))
+                .thenReturn(List.of(payment));
+
+        SweepPage page;
+        TenantContext.setCurrentTenant("tenant1");
+        try {
+            page = stage.redispatchStalled(0L, 50);
+        } finally {
+            TenantContext.clear();
+        }
+
+        assertThat(page.rows()).isEqualTo(1);
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should not dispatch while the circuit breaker is open")
+    void shouldNotCallGatewayWhenBreakerIsOpen() {
+        circuitBreakerRegistry.circuitBreaker("paymentGateway").transitionToForcedOpenState();
+
+        stage.dispatch("tenant1", AuthorizationRequest.of(payment));
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+        assertThat(payment.getRetryCount()).isEqualTo(1);
+        verifyNoInteractions(paymentGateway);
+    }
+
+    private void approveAll() {
+        when(paymentGateway.authorize(any()))
+                .thenReturn(CompletableFuture.completedFuture(GatewayResult.approved("TXN-1", "{}")));
+        when(paymentGateway.capture(eq("TXN-1"), any()))
+                .thenReturn(CompletableFuture.completedFuture(GatewayResult.approved("TXN-1", "{}")));
+    }
+}
@@ -1,20 +1,25 @@
 package com.ticket.payment.service;
 
-import com.ticket.common.kafka.EventPublisher;
 import com.ticket.common.kafka.IdempotentConsumer;
+import com.ticket.common.exception.BusinessException;
+import com.ticket.payment.dto.PaymentResponse;
+import com.ticket.payment.dto.ProcessPaymentRequest;
 import com.ticket.payment.entity.Payment;
 import com.ticket.payment.entity.PaymentMethod;
 import com.ticket.payment.entity.PaymentStatus;
+import com.ticket.payment.entity.RefundStatus;
 import com.ticket.payment.repository.PaymentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -29,7 +34,10 @@ class PaymentServiceTest {
     private PaymentRepository paymentRepository;
 
     @Mock
-    private EventPublisher eventPublisher;
+    private PaymentGatewayStage gatewayStage;
+
+    @Mock
+    private BulkRefundService refundService;
 
     @Mock
     private IdempotentConsumer idempotentConsumer;
@@ -128,4 +136,51 @@ class PaymentServiceTest {
         assertThat(ref2).isNotBlank();
         assertThat(ref1).isNotEqualTo(ref2);
     }
+
+    @Test
+    @DisplayName("Should accept payment and hand it to the gateway stage")
+    void shouldAcceptPaymentForProcessing() {
+        when(paymentRepository.findByBookingIdWithLock(100L)).thenReturn(Optional.of(testPayment));
+
+        PaymentResponse response = paymentService.processPayment(request(), 200L);
+
+        assertThat(response.status()).isEqualTo(PaymentStatus.PROCESSING);
+        assertThat(testPayment.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+        verify(paymentRepository).save(testPayment);
+        verify(gatewayStage).dispatchAfterCommit(testPayment);
+    }
+
+    @Test
+    @DisplayName("Should not accept payment that is no longer pending")
+    void shouldRejectNonPendingPayment() {
+        testPayment.setStatus(PaymentStatus.PROCESSING);
+        when(paymentRepository.findByBookingIdWithLock(100L)).thenReturn(Optional.of(testPayment));
+
+        assertThatThrownBy(() -> paymentService.processPayment(request(), 200L))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("not in pending status");
+        verifyNoInteractions(gatewayStage);
+    }
+
+    @Test
+    @DisplayName("Should return a pending refund and leave the gateway call to the refund executor")
+    void shouldRefundAfterCommit() {
+        testPayment.setStatus(PaymentStatus.COMPLETED);
+        testPayment.setTransactionReference("TXN-1");
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+
+        PaymentResponse response = paymentService.initiateRefund(1L, 200L, null);
+
+        assertThat(response.status()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(response.refundStatus()).isEqualTo(RefundStatus.PENDING);
+        assertThat(testPayment.getRefundAmount()).isEqualByComparingTo("150.00");
+        InOrder inOrder = inOrder(paymentRepository, refundService);
+        inOrder.verify(paymentRepository).save(testPayment);
+        inOrder.verify(refundService).refundAfterCommit(List.of(testPayment));
+    }
+
+    private static ProcessPaymentRequest request() {
+        return new ProcessPaymentRequest(100L, PaymentMethod.CREDIT_CARD,
+            null, null, null, null, null, null, null, null, null, null);
+    }
 }
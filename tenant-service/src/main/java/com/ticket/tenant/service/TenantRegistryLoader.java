@@ -0,0 +1,65 @@
+package com.ticket.tenant.service;
+
+import com.ticket.common.tenant.RedisTenantRegistry;
+import com.ticket.common.tenant.TenantInfo;
+import com.ticket.tenant.entity.Tenant;
+import com.ticket.tenant.entity.Tenant.TenantStatus;
+import com.ticket.tenant.repository.TenantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the Redis tenant registry populated from the tenants table. Registry entries
+ * expire, and used to be written only when a tenant was created or edited, so an
+ * idle tenant or a Redis flush left real tenants unresolvable. All active tenants are
+ * loaded at startup and again well within the entry TTL, and schemas of tenants that
+ * are no longer active are dropped from the active set.
+ */
+@Service
+public class TenantRegistryLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantRegistryLoader.class);
+
+    private final TenantRepository repository;
+    private final RedisTenantRegistry tenantRegistry;
+
+    public TenantRegistryLoader(TenantRepository repository, RedisTenantRegistry tenantRegistry) {
+        this.repository = repository;
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tenant.registry.refresh-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void loadActiveTenants() {
+        try {
+            // Read before the query, so a tenant registered in between is not taken for a stale one
+            Set<String> registered = new HashSet<>(tenantRegistry.getActiveSchemas());
+            List<TenantInfo> tenants = repository.findByStatus(TenantStatus.ACTIVE).stream()
+                    .map(TenantRegistryLoader::toTenantInfo)
+                    .toList();
+            tenantRegistry.registerTenants(tenants);
+            tenants.forEach(tenant -> registered.remove(tenant.getSchemaName()));
+            tenantRegistry.deregisterSchemas(registered);
+            log.debug("Loaded {} active tenants into the registry, removed {}", tenants.size(), registered.size());
+        } catch (Exception e) {
+            log.error("Failed to load tenants into the registry: {}", e.getMessage());
+        }
+    }
+
+    private static TenantInfo toTenantInfo(Tenant tenant) {
+        return new TenantInfo(
+                tenant.getId(),
+                tenant.getName(),
+                tenant.getSchemaName(),
+                tenant.getStatus().name(),
+                tenant.getPlan()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+-- Tenant schema: Striped available-seat counters
+-- V10__Create_event_seat_counters_table.sql
+
+-- Pending seat-count changes per event, spread over a few slots so concurrent
+-- bookings rarely update the same row; folded into events.available_seats periodically
+CREATE TABLE event_seat_counters (
+    event_id BIGINT NOT NULL,
+    slot SMALLINT NOT NULL,
+    delta INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (event_id, slot)
+);
@@ -0,0 +1,35 @@
+-- Tenant schema: General-admission section inventory
+-- V11__Create_section_inventory_tables.sql
+
+-- One counter per (event, section) for sections sold by quantity rather than by seat
+CREATE TABLE section_inventories (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    section VARCHAR(50) NOT NULL,
+    type VARCHAR(20) NOT NULL DEFAULT 'REGULAR',
+    price DECIMAL(10,2) NOT NULL,
+    price_multiplier DECIMAL(5,2),
+    capacity INTEGER NOT NULL,
+    available INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uk_section_inventories_event_section UNIQUE (event_id, section),
+    CONSTRAINT chk_section_inventories_available CHECK (available >= 0 AND available <= capacity)
+);
+
+-- Quantities taken from a section until the booking confirms or the hold expires
+CREATE TABLE inventory_holds (
+    id BIGSERIAL PRIMARY KEY,
+    lock_id VARCHAR(36) NOT NULL UNIQUE,
+    inventory_id BIGINT NOT NULL REFERENCES section_inventories(id),
+    user_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'HELD',
+    booking_id BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_inventory_holds_booking ON inventory_holds(booking_id);
+CREATE INDEX idx_inventory_holds_status_expires ON inventory_holds(status, expires_at);
@@ -0,0 +1,19 @@
+-- Tenant schema: Checkpointed refund jobs for cancelled events
+-- V12__Create_refund_jobs_table.sql
+
+-- One job per cancelled event; the unique event_id backs the ON CONFLICT insert
+-- that lets repeated cancellation events start the job only once
+CREATE TABLE refund_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    reason VARCHAR(255),
+    refunds_required BOOLEAN NOT NULL DEFAULT TRUE,
+    last_booking_id BIGINT NOT NULL DEFAULT 0,
+    cancelled_bookings INTEGER NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uk_refund_jobs_event UNIQUE (event_id)
+);
+
+CREATE INDEX idx_refund_jobs_incomplete ON refund_jobs(id) WHERE completed_at IS NULL;
@@ -0,0 +1,9 @@
+-- Tenant schema: Index for the saga expiry sweep
+-- V13__Add_saga_expiry_index.sql
+
+-- The orchestrator pages through sagas by status and expires_at with SKIP LOCKED;
+-- without this index each page scans saga_state. expires_at is mapped by the saga
+-- entity but was never part of V7, so add it first where it is missing
+ALTER TABLE saga_state ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_saga_status_expires ON saga_state(status, expires_at);
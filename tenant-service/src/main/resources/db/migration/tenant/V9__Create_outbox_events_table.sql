@@ -0,0 +1,14 @@
+-- Tenant schema: Transactional outbox for Kafka events
+-- V9__Create_outbox_events_table.sql
+
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    tenant_id VARCHAR(100),
+    correlation_id VARCHAR(100),
+    event_type VARCHAR(100),
+    event_id VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
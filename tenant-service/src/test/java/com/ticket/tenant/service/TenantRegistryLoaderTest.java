@@ -0,0 +1,85 @@
+package com.ticket.tenant.service;
+
+import com.ticket.common.tenant.RedisTenantRegistry;
+import com.ticket.common.tenant.TenantInfo;
+import com.ticket.tenant.entity.Tenant;
+import com.ticket.tenant.entity.Tenant.TenantStatus;
+import com.ticket.tenant.repository.TenantRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tenant Registry Loader Unit Tests")
+class TenantRegistryLoaderTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private RedisTenantRegistry redisTenantRegistry;
+
+    @InjectMocks
+    private TenantRegistryLoader loader;
+
+    @Test
+    @DisplayName("Should register every active tenant in one call")
+    @SuppressWarnings("unchecked")
+    void shouldRegisterActiveTenants() {
+        when(tenantRepository.findByStatus(TenantStatus.ACTIVE))
+                .thenReturn(List.of(tenant("t1", "tenant_one"), tenant("t2", "tenant_two")));
+
+        loader.loadActiveTenants();
+
+        ArgumentCaptor<Collection<TenantInfo>> tenants = ArgumentCaptor.forClass(Collection.class);
+        verify(redisTenantRegistry).registerTenants(tenants.capture());
+        assertThat(tenants.getValue())
+                .extracting(TenantInfo::getSchemaName)
+                .containsExactly("tenant_one", "tenant_two");
+        assertThat(tenants.getValue()).allMatch(TenantInfo::isActive);
+    }
+
+    @Test
+    @DisplayName("Should drop schemas of tenants that are no longer active")
+    void shouldDeregisterInactiveSchemas() {
+        when(redisTenantRegistry.getActiveSchemas()).thenReturn(Set.of("tenant_one", "tenant_gone"));
+        when(tenantRepository.findByStatus(TenantStatus.ACTIVE))
+                .thenReturn(List.of(tenant("t1", "tenant_one"), tenant("t2", "tenant_two")));
+
+        loader.loadActiveTenants();
+
+        verify(redisTenantRegistry).deregisterSchemas(Set.of("tenant_gone"));
+    }
+
+    @Test
+    @DisplayName("Should keep running when the tenants cannot be loaded")
+    void shouldSurviveLoadFailure() {
+        when(tenantRepository.findByStatus(TenantStatus.ACTIVE)).thenThrow(new RuntimeException("Connection refused"));
+
+        assertThatCode(() -> loader.loadActiveTenants()).doesNotThrowAnyException();
+        verify(redisTenantRegistry, never()).registerTenants(any());
+    }
+
+    private static Tenant tenant(String id, String schemaName) {
+        Tenant tenant = new Tenant();
+        tenant.setId(id);
+        tenant.setName(id);
+        tenant.setSubdomain(id);
+        tenant.setSchemaName(schemaName);
+        tenant.setStatus(TenantStatus.ACTIVE);
+        tenant.setPlan("BASIC");
+        return tenant;
+    }
+}